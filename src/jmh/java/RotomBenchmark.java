@@ -0,0 +1,94 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import exception.RotomException;
+import model.SampleTasks;
+
+/**
+ * Measures {@link Rotom#getResponse(String)} end to end, from parsing to the formatted reply,
+ * including saving to the storage file for commands that change the list.
+ * Runs with the storage file rewritten on every change and with a journal.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RotomBenchmark {
+    @Param({"10", "1000", "100000", "1000000"})
+    private int size;
+
+    @Param({"0", "10000"})
+    private int journalCompactThreshold;
+
+    private Path file;
+    private Rotom rotom;
+
+    /**
+     * Writes a storage file and starts Rotom on it.
+     * @throws IOException If the file cannot be written.
+     * @throws RotomException If Rotom cannot load the file.
+     */
+    @Setup(Level.Trial)
+    public void startRotom() throws IOException, RotomException {
+        file = SampleTasks.writeTextFile(size);
+        rotom = new Rotom(file.toString(), journalCompactThreshold);
+    }
+
+    /**
+     * Deletes the storage file along with any journal segments, snapshots and undo log next to it.
+     * @throws IOException If the files cannot be deleted.
+     */
+    @TearDown(Level.Trial)
+    public void deleteFiles() throws IOException {
+        String prefix = file.getFileName().toString();
+        try (var files = Files.list(file.getParent())) {
+            for (Path path : (Iterable<Path>) files::iterator) {
+                if (path.getFileName().toString().startsWith(prefix)) {
+                    Files.deleteIfExists(path);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public String find() {
+        return rotom.getResponse("find meeting " + (size - 1));
+    }
+
+    @Benchmark
+    public String show() {
+        return rotom.getResponse("show 2025-12-12");
+    }
+
+    /**
+     * Marks and unmarks the first task, so every call leaves the list as it found it.
+     * @return The reply to the unmark command.
+     */
+    @Benchmark
+    public String markAndUnmark() {
+        rotom.getResponse("mark 1");
+        return rotom.getResponse("unmark 1");
+    }
+
+    /**
+     * Adds a todo and undoes it, so every call leaves the list as it found it.
+     * @return The reply to the undo command.
+     */
+    @Benchmark
+    public String addAndUndo() {
+        rotom.getResponse("todo Benchmark task");
+        return rotom.getResponse("undo");
+    }
+}
@@ -0,0 +1,113 @@
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import exception.RotomException;
+import model.SampleTasks;
+
+/**
+ * Generates load on a {@link RotomServer} from many concurrent local clients and measures the
+ * latency of each request. Sample-time mode reports the distribution, including p50 and p99.
+ * Reads, changes, and a mix of both are measured separately.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Dsun.net.httpserver.nodelay=true")
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RotomServerBenchmark {
+    private static final int CLIENTS = 16;
+
+    @Param({"10", "1000", "100000", "1000000"})
+    private int size;
+
+    private Path file;
+    private RotomServer server;
+    private HttpClient client;
+    private URI uri;
+
+    /**
+     * Writes a storage file, starts Rotom on it and serves it on a free loopback port.
+     * @throws IOException If the file cannot be written or the port cannot be bound.
+     * @throws RotomException If Rotom cannot load the file.
+     */
+    @Setup(Level.Trial)
+    public void startServer() throws IOException, RotomException {
+        file = SampleTasks.writeTextFile(size);
+        server = new RotomServer(new Rotom(file.toString()), 0);
+        server.start();
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        uri = URI.create("http://127.0.0.1:" + server.getPort() + "/");
+    }
+
+    /**
+     * Stops the server and deletes the storage file and its undo log.
+     * @throws IOException If the files cannot be deleted.
+     */
+    @TearDown(Level.Trial)
+    public void stopServer() throws IOException {
+        server.stop();
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(file.resolveSibling(file.getFileName() + ".undo"));
+    }
+
+    @Benchmark
+    @Threads(CLIENTS)
+    public String find() throws IOException, InterruptedException {
+        return send("find meeting " + (size - 1));
+    }
+
+    @Benchmark
+    @Threads(CLIENTS)
+    public String mark() throws IOException, InterruptedException {
+        return send("mark 1");
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(CLIENTS - 2)
+    public String mixedFind() throws IOException, InterruptedException {
+        return send("find meeting " + (size - 1));
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(2)
+    public String mixedMark() throws IOException, InterruptedException {
+        return send("mark 1");
+    }
+
+    /**
+     * Sends one command to the server and waits for the response.
+     * @param command The command to send.
+     * @return The response body.
+     * @throws IOException If the request fails.
+     * @throws InterruptedException If interrupted while waiting for the response.
+     */
+    private String send(String command) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .header(RotomServer.TOKEN_HEADER, server.getToken())
+                .POST(HttpRequest.BodyPublishers.ofString(command))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString()).body();
+    }
+}
@@ -0,0 +1,61 @@
+package logic;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import command.CommandHistory;
+import exception.RotomException;
+
+/**
+ * Measures {@link Parser#parse} on every command form.
+ * Parsing does not look at the task list, so unlike the other benchmarks this one has no list size.
+ * Run with {@code -PjmhIncludes=ParserBenchmark -PjmhProfilers=gc} to see the bytes allocated per parse,
+ * which should be no more than the command and the description and dates it holds.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ParserBenchmark {
+    @Param({
+        "list",
+        "help",
+        "sort",
+        "undo",
+        "redo",
+        "reset",
+        "bye",
+        "find project meeting",
+        "show 2025-12-12",
+        "show 2025-12-01..2025-12-31",
+        "mark 3",
+        "unmark 3",
+        "delete 3",
+        "todo Buy groceries",
+        "deadline Submit report /by 2025-12-12 12:00",
+        "event Project meeting /from 2025-12-12 15:00 /to 2025-12-12 22:00",
+        "deadline Submit report /by tomorrow"
+    })
+    private String input;
+
+    private final CommandHistory commandHistory = new CommandHistory();
+
+    /**
+     * Parses the input, returning the error instead of the command for inputs that do not parse.
+     * @return The command or the error.
+     */
+    @Benchmark
+    public Object parse() {
+        try {
+            return Parser.parse(input, commandHistory);
+        } catch (RotomException e) {
+            return e;
+        }
+    }
+}
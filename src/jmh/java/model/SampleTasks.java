@@ -0,0 +1,82 @@
+package model;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates task lists and storage files of a given size for the benchmarks.
+ * Every third task is a todo, a deadline or an event, spread over the days of December 2025,
+ * and every description ends in its index so that a keyword can match a single task.
+ */
+public final class SampleTasks {
+    /** Number of days the dated tasks are spread over. */
+    public static final int DAYS = 31;
+
+    private SampleTasks() {
+    }
+
+    /**
+     * Returns the storage file line of the task at the given index.
+     * @param index Index of the task.
+     * @return The line, without a line separator.
+     */
+    public static String line(int index) {
+        String day = String.format("2025-12-%02d", index % DAYS + 1);
+        return switch (index % 3) {
+        case 0 -> "T | " + (index % 2) + " | Buy groceries " + index + " |  | ";
+        case 1 -> "D | 0 | Submit report " + index + " | " + day + "T12:00 | ";
+        default -> "E | 1 | Project meeting " + index + " | " + day + "T15:00 | " + day + "T22:00";
+        };
+    }
+
+    /**
+     * Returns the task at the given index.
+     * @param index Index of the task.
+     * @return The task, matching {@link #line(int)}.
+     */
+    public static Task task(int index) {
+        LocalDateTime dateTime = LocalDateTime.of(2025, 12, index % DAYS + 1, 12, 0);
+        boolean isDone = index % 3 == 2 || (index % 3 == 0 && index % 2 == 1);
+        return switch (index % 3) {
+        case 0 -> new Todo("Buy groceries " + index, isDone);
+        case 1 -> new Deadline("Submit report " + index, dateTime, isDone);
+        default -> new Event("Project meeting " + index, dateTime.withHour(15), dateTime.withHour(22), isDone);
+        };
+    }
+
+    /**
+     * Returns a list of the first {@code count} tasks.
+     * @param count Number of tasks.
+     * @return The tasks in index order.
+     */
+    public static List<Task> tasks(int count) {
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tasks.add(task(i));
+        }
+        return tasks;
+    }
+
+    /**
+     * Writes a text storage file holding the first {@code count} tasks.
+     * @param count Number of tasks.
+     * @return Path of the new temporary file.
+     * @throws IOException If the file cannot be written.
+     */
+    public static Path writeTextFile(int count) throws IOException {
+        Path file = Files.createTempFile("rotom-bench", ".txt");
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < count; i++) {
+                writer.write(line(i));
+                writer.write('\n');
+            }
+        }
+        return file;
+    }
+}
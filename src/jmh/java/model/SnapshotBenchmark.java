@@ -0,0 +1,73 @@
+package model;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares the array-backed TaskList with the PersistentTaskList on snapshots, which back reset undo
+ * and background saves, and on the single-task changes that the persistent list makes slower.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SnapshotBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    @Param({"array", "persistent"})
+    private String list;
+
+    private TaskList tasks;
+
+    /**
+     * Fills the list being measured.
+     */
+    @Setup(Level.Trial)
+    public void fillList() {
+        tasks = "persistent".equals(list) ? new PersistentTaskList() : new TaskList();
+        tasks.addAll(SampleTasks.tasks(size));
+    }
+
+    @Benchmark
+    public List<Task> snapshot() {
+        return tasks.snapshot();
+    }
+
+    /**
+     * Resets the list and undoes the reset, as {@code reset} followed by {@code undo} does.
+     * @return The task list.
+     */
+    @Benchmark
+    public TaskList resetAndUndo() {
+        List<Task> snapshot = tasks.snapshot();
+        tasks.clear();
+        tasks.addAll(snapshot);
+        return tasks;
+    }
+
+    /**
+     * Inserts a task in the middle and deletes it again, so the list is the same for every call.
+     * @return The task list.
+     */
+    @Benchmark
+    public TaskList insertAndDeleteInMiddle() {
+        tasks.addAtIndex(SampleTasks.task(1), size / 2);
+        tasks.delete(size / 2);
+        return tasks;
+    }
+
+    @Benchmark
+    public Task getTaskInMiddle() {
+        return tasks.getTask(size / 2);
+    }
+}
@@ -0,0 +1,92 @@
+package model;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the queries behind {@code find}, {@code show} and {@code sort} on lists of increasing size.
+ * The indexes are built during setup, so the numbers are for repeated queries on a long-lived list.
+ * The {@code list} parameter compares the indexed TaskList with the ColumnarTaskList, which scans
+ * primitive arrays instead of keeping indexes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskListBenchmark {
+    @Param({"10", "1000", "100000", "1000000"})
+    private int size;
+
+    @Param({"indexed", "columnar"})
+    private String list;
+
+    private TaskList tasks;
+    private String singleMatch;
+    private LocalDate day;
+
+    /**
+     * Fills the list and warms up its indexes.
+     */
+    @Setup(Level.Trial)
+    public void fillList() {
+        tasks = "columnar".equals(list) ? new ColumnarTaskList() : new TaskList();
+        tasks.addAll(SampleTasks.tasks(size));
+        singleMatch = "meeting " + (size - 1);
+        day = LocalDate.of(2025, 12, 12);
+        tasks.filter(singleMatch);
+        tasks.filter(day);
+        tasks.sort();
+    }
+
+    @Benchmark
+    public TaskList filterByKeywordSingleMatch() {
+        return tasks.filter(singleMatch);
+    }
+
+    @Benchmark
+    public TaskList filterByKeywordManyMatches() {
+        return tasks.filter("report");
+    }
+
+    @Benchmark
+    public TaskList filterByShortKeyword() {
+        return tasks.filter("9");
+    }
+
+    @Benchmark
+    public TaskList filterByDate() {
+        return tasks.filter(day);
+    }
+
+    @Benchmark
+    public TaskList filterByDateRange() {
+        return tasks.filter(day, day.plusDays(6));
+    }
+
+    @Benchmark
+    public TaskList sort() {
+        tasks.sort();
+        return tasks;
+    }
+
+    /**
+     * Adds a dated task at the front, sorts, and removes it again, so the list is the same for every call.
+     * @return The task list.
+     */
+    @Benchmark
+    public TaskList addSortAndDelete() {
+        tasks.addAtIndex(SampleTasks.task(1), 0);
+        tasks.sort();
+        tasks.remove(tasks.getTask(0));
+        return tasks;
+    }
+}
@@ -0,0 +1,113 @@
+package storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Scanner;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import enums.TaskType;
+import exception.RotomException;
+import model.SampleTasks;
+import model.Task;
+import model.TaskList;
+import ui.Ui;
+
+/**
+ * Measures how long it takes to load a storage file on startup,
+ * comparing the memory-mapped reader, with and without parallel chunk parsing,
+ * and the binary format against the previous Scanner and regex loop.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ReadFileBenchmark {
+    @Param({"1000000"})
+    private int lines;
+
+    private Path file;
+    private Path binaryFile;
+
+    /**
+     * Writes a storage file with an even mix of todos, deadlines and events, and the same tasks in binary.
+     * @throws IOException If the file cannot be written.
+     */
+    @Setup(Level.Trial)
+    public void writeFile() throws IOException {
+        file = SampleTasks.writeTextFile(lines);
+        binaryFile = Files.createTempFile("rotom-bench", ".bin");
+        TaskList tasks = new TaskList();
+        new MappedTaskReader().read(file, tasks::addAll, e -> { });
+        BinaryTaskCodec.write(binaryFile, tasks.toList());
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFile() throws IOException {
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(binaryFile);
+    }
+
+    @Benchmark
+    public TaskList mappedReader() throws RotomException {
+        TaskList tasks = new TaskList();
+        new Storage(file.toString(), tasks, new Ui()).readFile();
+        return tasks;
+    }
+
+    @Benchmark
+    public TaskList binaryReader() throws RotomException {
+        TaskList tasks = new TaskList();
+        new Storage(binaryFile.toString(), tasks, new Ui()).readFile();
+        return tasks;
+    }
+
+    @Benchmark
+    public TaskList sequentialMappedReader() throws IOException {
+        TaskList tasks = new TaskList();
+        new MappedTaskReader(1).read(file, tasks::addAll, e -> { });
+        return tasks;
+    }
+
+    /**
+     * The loop {@link Storage#readFile()} used before the memory-mapped reader, kept as a baseline.
+     * @return The loaded tasks.
+     * @throws IOException If the file cannot be read.
+     */
+    @Benchmark
+    public TaskList scannerBaseline() throws IOException {
+        TaskList tasks = new TaskList();
+        try (Scanner scanner = new Scanner(new File(file.toString()), StandardCharsets.UTF_8)) {
+            while (scanner.hasNextLine()) {
+                String[] parts = scanner.nextLine().split("\\s*\\|\\s*");
+                for (int i = 0; i < parts.length; i++) {
+                    parts[i] = parts[i].trim();
+                }
+                try {
+                    boolean isDone = "1".equals(parts[1]);
+                    Task task = switch (parts[0]) {
+                    case "T" -> Task.makeTask(TaskType.TODO, isDone, parts[2]);
+                    case "D" -> Task.makeTask(TaskType.DEADLINE, isDone, parts[2], parts[3]);
+                    default -> Task.makeTask(TaskType.EVENT, isDone, parts[2], parts[3], parts[4]);
+                    };
+                    tasks.add(task);
+                } catch (RotomException e) {
+                    // the generated file has no bad lines
+                }
+            }
+        }
+        return tasks;
+    }
+}
@@ -0,0 +1,70 @@
+package storage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import exception.RotomException;
+import model.SampleTasks;
+import model.TaskList;
+import ui.Ui;
+
+/**
+ * Measures loading and saving the storage file on lists of increasing size.
+ * {@link ReadFileBenchmark} compares the available readers on a single large file.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StorageBenchmark {
+    @Param({"10", "1000", "100000", "1000000"})
+    private int size;
+
+    private Path file;
+    private Path saveFile;
+    private Storage saveStorage;
+
+    /**
+     * Writes the file to read and prepares a storage handler that saves a full list.
+     * @throws IOException If the files cannot be written.
+     */
+    @Setup(Level.Trial)
+    public void writeFiles() throws IOException {
+        file = SampleTasks.writeTextFile(size);
+        saveFile = Files.createTempFile("rotom-bench", ".txt");
+        TaskList tasks = new TaskList();
+        tasks.addAll(SampleTasks.tasks(size));
+        saveStorage = new Storage(saveFile.toString(), tasks, new Ui());
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFiles() throws IOException {
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(saveFile);
+    }
+
+    @Benchmark
+    public TaskList readFile() throws RotomException {
+        TaskList tasks = new TaskList();
+        new Storage(file.toString(), tasks, new Ui()).readFile();
+        return tasks;
+    }
+
+    @Benchmark
+    public Storage saveTasks() {
+        saveStorage.saveTasks();
+        return saveStorage;
+    }
+}
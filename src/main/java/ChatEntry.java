@@ -0,0 +1,8 @@
+/**
+ * Represents one message in the chat log, either typed by the user or replied by Rotom.
+ * Only these small records are kept for the history; the dialog boxes showing them are reused by the list.
+ * @param text Text of the message.
+ * @param isUser true if the user typed the message, false if it is Rotom's reply.
+ */
+public record ChatEntry(String text, boolean isUser) {
+}
@@ -0,0 +1,43 @@
+import javafx.scene.control.ContentDisplay;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.image.Image;
+
+/**
+ * Shows one chat log message in a ListView.
+ * The list creates only as many cells as fit on screen and reuses them while scrolling,
+ * so each cell loads its DialogBox once and only changes its text and image after that.
+ */
+public class ChatLogCell extends ListCell<ChatEntry> {
+    private static final double SCROLL_BAR_WIDTH = 20.0;
+    private final DialogBox dialogBox = DialogBox.getUserDialog("", null);
+    private final Image userImage;
+    private final Image rotomImage;
+
+    /**
+     * Constructs a cell for the given chat log.
+     * @param listView The chat log the cell belongs to.
+     * @param userImage Picture shown next to the user's messages.
+     * @param rotomImage Picture shown next to Rotom's replies.
+     */
+    public ChatLogCell(ListView<ChatEntry> listView, Image userImage, Image rotomImage) {
+        this.userImage = userImage;
+        this.rotomImage = rotomImage;
+        // Wrap the text to the width of the list instead of growing sideways
+        dialogBox.prefWidthProperty().bind(listView.widthProperty().subtract(SCROLL_BAR_WIDTH));
+        dialogBox.maxWidthProperty().bind(dialogBox.prefWidthProperty());
+        setContentDisplay(ContentDisplay.GRAPHIC_ONLY);
+    }
+
+    @Override
+    protected void updateItem(ChatEntry entry, boolean isEmpty) {
+        super.updateItem(entry, isEmpty);
+        setText(null);
+        if (isEmpty || entry == null) {
+            setGraphic(null);
+            return;
+        }
+        dialogBox.show(entry.text(), entry.isUser() ? userImage : rotomImage, !entry.isUser());
+        setGraphic(dialogBox);
+    }
+}
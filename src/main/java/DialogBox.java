@@ -1,12 +1,8 @@
 import java.io.IOException;
-import java.util.Collections;
 
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.geometry.Pos;
-import javafx.scene.Node;
 import javafx.scene.control.Label;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
@@ -17,6 +13,8 @@ import javafx.scene.layout.HBox;
  * and a label containing text from the speaker.
  */
 public class DialogBox extends HBox {
+    private static final String REPLY_STYLE_CLASS = "reply-label";
+
     // Assigned at runtime
     @SuppressWarnings("unused")
     @FXML
@@ -42,14 +40,26 @@ public class DialogBox extends HBox {
     }
 
     /**
-     * Flips the dialog box such that the ImageView is on the left and text on the right.
+     * Shows a message in the dialog box, so that a box can be reused for another message.
+     * Replies are flipped such that the ImageView is on the left and text on the right.
+     * @param text Text of the message.
+     * @param img Picture of the speaker.
+     * @param isReply true if the message is Rotom's reply.
      */
-    private void flip() {
-        ObservableList<Node> tmp = FXCollections.observableArrayList(this.getChildren());
-        Collections.reverse(tmp);
-        getChildren().setAll(tmp);
-        setAlignment(Pos.TOP_LEFT);
-        dialog.getStyleClass().add("reply-label");
+    public void show(String text, Image img, boolean isReply) {
+        dialog.setText(text);
+        displayPicture.setImage(img);
+        if (isReply) {
+            getChildren().setAll(displayPicture, dialog);
+            setAlignment(Pos.TOP_LEFT);
+            if (!dialog.getStyleClass().contains(REPLY_STYLE_CLASS)) {
+                dialog.getStyleClass().add(REPLY_STYLE_CLASS);
+            }
+        } else {
+            getChildren().setAll(dialog, displayPicture);
+            setAlignment(Pos.TOP_RIGHT);
+            dialog.getStyleClass().remove(REPLY_STYLE_CLASS);
+        }
     }
 
     public static DialogBox getUserDialog(String text, Image img) {
@@ -58,7 +68,7 @@ public class DialogBox extends HBox {
 
     public static DialogBox getRotomDialog(String text, Image img) {
         var db = new DialogBox(text, img);
-        db.flip();
+        db.show(text, img, true);
         return db;
     }
 }
@@ -11,11 +11,15 @@ import javafx.stage.Stage;
  * A GUI for Rotom/ using FXML.
  */
 public class Main extends Application {
+    private static final long MAX_UNSAVED_MILLIS = 1000;
+    private static final String PARAMETER_HISTORY = "history";
 
     @Override
     public void start(Stage stage) {
         try {
             Rotom rotom = new Rotom("./src/main/java/rotom.txt");
+            // Keep saves off the JavaFX thread so that the window stays responsive on slow disks
+            rotom.enableWriteBehind(MAX_UNSAVED_MILLIS);
             FXMLLoader fxmlLoader = new FXMLLoader(Main.class.getResource("/view/MainWindow.fxml"));
             AnchorPane ap = fxmlLoader.load();
             Scene scene = new Scene(ap);
@@ -24,10 +28,18 @@ public class Main extends Application {
             stage.setMinHeight(220);
             stage.setMinWidth(417);
             // stage.setMaxWidth(417); // Add this if you didn't automatically resize elements
-            fxmlLoader.<MainWindow>getController().setRotom(rotom); // inject the Rotom instance
+            MainWindow mainWindow = fxmlLoader.getController();
+            mainWindow.setRotom(rotom); // inject the Rotom instance
+            // --history=<messages> limits how many messages the chat log keeps
+            String historyLimit = getParameters().getNamed().get(PARAMETER_HISTORY);
+            if (historyLimit != null) {
+                mainWindow.setHistoryLimit(Integer.parseInt(historyLimit));
+            }
             stage.show();
         } catch (IOException e) {
             throw new RuntimeException("Failed to load MainWindow FXML", e);
+        } catch (NumberFormatException e) {
+            System.out.println("Error: --" + PARAMETER_HISTORY + " expects a number.");
         } catch (RotomException e) {
             System.out.println(e.getMessage());
         }
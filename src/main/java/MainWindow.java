@@ -1,28 +1,32 @@
 import java.util.Objects;
 
+import command.CommandResult;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
-import javafx.scene.control.ScrollPane;
+import javafx.scene.control.ListView;
 import javafx.scene.control.TextField;
 import javafx.scene.image.Image;
 import javafx.scene.layout.AnchorPane;
-import javafx.scene.layout.VBox;
 /**
  * Controller for the main GUI.
+ * The chat log is a ListView that only creates dialog boxes for the messages on screen,
+ * and it keeps at most a set number of messages, so memory stays flat over long sessions.
  */
 public class MainWindow extends AnchorPane {
+    /** Number of messages kept in the chat log unless another limit is set. */
+    public static final int DEFAULT_HISTORY_LIMIT = 1000;
     @FXML
-    private ScrollPane scrollPane;
-    @FXML
-    private VBox dialogContainer;
+    private ListView<ChatEntry> dialogList;
     @FXML
     private TextField userInput;
-    // Assigned at runtime
-    @SuppressWarnings("unused")
     @FXML
     private Button sendButton;
 
     private Rotom rotom;
+    private int historyLimit = DEFAULT_HISTORY_LIMIT;
+    private final ObservableList<ChatEntry> entries = FXCollections.observableArrayList();
 
     private final Image userImage = new Image(Objects.requireNonNull(
             this.getClass().getResourceAsStream("/images/DaUser.png")));
@@ -34,17 +38,16 @@ public class MainWindow extends AnchorPane {
      */
     @FXML
     public void initialize() {
-        scrollPane.vvalueProperty().bind(dialogContainer.heightProperty());
-        dialogContainer.getChildren().add(
-                DialogBox.getRotomDialog("""
+        dialogList.setItems(entries);
+        dialogList.setCellFactory(list -> new ChatLogCell(list, userImage, rotomImage));
+        addEntries(new ChatEntry("""
                 ____________________________________________________________
                  Hello! I'm Rotom,
                  your electrifying task helper! ⚡
                  What can I do for you?
                  Type 'help' for the list of commands I understand!
                 ____________________________________________________________
-                """, rotomImage)
-        );
+                """, false));
     }
 
     /** Injects the Rotom instance */
@@ -53,17 +56,43 @@ public class MainWindow extends AnchorPane {
     }
 
     /**
-     * Creates two dialog boxes, one echoing user input and the other containing Rotom's reply and then appends them to
-     * the dialog container. Clears the user input after processing.
+     * Sets how many messages the chat log keeps, dropping the oldest ones beyond it.
+     * @param limit Most messages kept, at least 2 so that the last input and its reply stay visible.
+     */
+    public void setHistoryLimit(int limit) {
+        historyLimit = Math.max(limit, 2);
+        trimHistory();
+    }
+
+    /**
+     * Adds the user input and Rotom's reply to the chat log. Clears the user input after processing,
+     * and stops taking input once the user says goodbye.
      */
     @FXML
     private void handleUserInput() {
         String input = userInput.getText();
-        String response = rotom.getResponse(input);
-        dialogContainer.getChildren().addAll(
-                DialogBox.getUserDialog(input, userImage),
-                DialogBox.getRotomDialog(response, rotomImage)
-        );
+        CommandResult result = rotom.getResult(input);
+        addEntries(new ChatEntry(input, true), new ChatEntry(result.getResponse(), false));
         userInput.clear();
+        if (result.isExit()) {
+            userInput.setDisable(true);
+            sendButton.setDisable(true);
+        }
+    }
+
+    /**
+     * Appends messages to the chat log and scrolls to the newest one.
+     * @param newEntries Messages to append.
+     */
+    private void addEntries(ChatEntry... newEntries) {
+        entries.addAll(newEntries);
+        trimHistory();
+        dialogList.scrollTo(entries.size() - 1);
+    }
+
+    private void trimHistory() {
+        if (entries.size() > historyLimit) {
+            entries.remove(0, entries.size() - historyLimit);
+        }
     }
 }
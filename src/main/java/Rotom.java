@@ -1,10 +1,31 @@
 import java.io.FileNotFoundException;
-import java.util.Set;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import command.Command;
 import command.CommandHistory;
+import command.CommandMetrics;
+import command.CommandResult;
+import command.ExecuteEvent;
+import enums.CommandPhase;
+import enums.FileFormat;
 import exception.RotomException;
 import logic.Parser;
+import model.ColumnarTaskList;
+import model.ConcurrentTaskList;
+import model.DescriptionPool;
+import model.PersistentTaskList;
 import model.TaskList;
 import storage.Storage;
 import ui.Ui;
@@ -13,23 +34,33 @@ import ui.Ui;
  * Main class for the Rotom chatbot.
  * Initializes the task list, storage, and user interface,
  * and runs the main command loop to process user input.
+ * Responses may be requested from several threads at once: commands that only read the
+ * task list run in parallel, while commands that change it run one at a time.
  */
 public class Rotom {
 
-    // Set of commands that should NOT be saved to history
-    private static final Set<Class<? extends Command>> EXCLUDED_COMMANDS = Set.of(
-            command.UndoCommand.class,
-            command.SortCommand.class,
-            command.ShowCommand.class,
-            command.ListCommand.class,
-            command.HelpCommand.class,
-            command.FindCommand.class,
-            command.ExitCommand.class
-    );
+    private static final String OPTION_JOURNAL = "--journal";
+    private static final String OPTION_FORMAT = "--format";
+    private static final String OPTION_BATCH = "--batch";
+    private static final String OPTION_WRITE_BEHIND = "--write-behind";
+    private static final String OPTION_SERVE = "--serve";
+    private static final String OPTION_UNDO_DEPTH = "--undo-depth";
+    private static final String OPTION_UNDO_MEMORY = "--undo-memory";
+    private static final String OPTION_PERSISTENT_LIST = "--persistent-list";
+    private static final String OPTION_COLUMNAR_LIST = "--columnar-list";
+    private static final String OPTION_MEMORY_REPORT = "--memory-report";
+    private static final String OPTION_SHARE_DESCRIPTIONS = "--share-descriptions";
+    private static final String OPTION_METRICS = "--metrics";
+    private static final int MAX_PORT = 65_535;
+    private static final String BATCH_METRICS_NAME = "batch";
+    private static final int BATCH_FLUSH_INTERVAL = 1000;
     private final TaskList tasks;
     private final Ui ui;
     private final Storage storage;
     private final CommandHistory commandHistory;
+    private final ReentrantReadWriteLock commandLock = new ReentrantReadWriteLock();
+    private final CommandMetrics metrics = new CommandMetrics();
+    private volatile Path metricsFile;
 
     /**
      * Constructs a new instance of the Rotom chatbot.
@@ -40,15 +71,106 @@ public class Rotom {
      * @throws RotomException if the task list cannot be initialized.
      */
     public Rotom(String filePath) throws FileNotFoundException, RotomException {
-        this.tasks = new TaskList();
+        this(filePath, 0);
+    }
+
+    /**
+     * Constructs a new instance of the Rotom chatbot that journals changes to its storage file.
+     * @param filePath the path of the file used for saving and loading tasks
+     * @param journalCompactThreshold number of journal records after which the journal is compacted,
+     *                                or 0 to rewrite the storage file on every change
+     * @throws FileNotFoundException if the storage file cannot be found
+     * @throws RotomException if the task list cannot be initialized.
+     */
+    public Rotom(String filePath, int journalCompactThreshold) throws FileNotFoundException, RotomException {
+        this(filePath, journalCompactThreshold, new ConcurrentTaskList());
+    }
+
+    /**
+     * Constructs a new instance of the Rotom chatbot that loads its tasks into the given list.
+     * @param filePath the path of the file used for saving and loading tasks
+     * @param journalCompactThreshold number of journal records after which the journal is compacted,
+     *                                or 0 to rewrite the storage file on every change
+     * @param tasks the empty task list to load tasks into, which must be safe to read from several threads
+     * @throws FileNotFoundException if the storage file cannot be found
+     * @throws RotomException if the task list cannot be initialized.
+     */
+    public Rotom(String filePath, int journalCompactThreshold, TaskList tasks)
+            throws FileNotFoundException, RotomException {
+        this(filePath, journalCompactThreshold, tasks, CommandHistory.DEFAULT_DEPTH,
+                CommandHistory.DEFAULT_MEMORY_BUDGET);
+    }
+
+    /**
+     * Constructs a new instance of the Rotom chatbot with the given limits on its undo history.
+     * The limits apply before the history is restored from the undo log, so a history deeper than the
+     * default depth survives a restart.
+     * @param filePath the path of the file used for saving and loading tasks
+     * @param journalCompactThreshold number of journal records after which the journal is compacted,
+     *                                or 0 to rewrite the storage file on every change
+     * @param tasks the empty task list to load tasks into, which must be safe to read from several threads
+     * @param undoDepth most commands kept for undo
+     * @param undoMemoryBudget most bytes of estimated memory kept for undo
+     * @throws FileNotFoundException if the storage file cannot be found
+     * @throws RotomException if the task list cannot be initialized.
+     */
+    public Rotom(String filePath, int journalCompactThreshold, TaskList tasks, int undoDepth, long undoMemoryBudget)
+            throws FileNotFoundException, RotomException {
+        this.tasks = tasks;
         this.ui = new Ui();
-        this.storage = new Storage(filePath, tasks, ui);
-        this.commandHistory = new CommandHistory();
+        this.storage = new Storage(filePath, tasks, ui, journalCompactThreshold);
+        this.commandHistory = new CommandHistory(undoDepth, undoMemoryBudget);
         assert tasks != null : "TaskList should be initialized";
         assert ui != null : "Ui should be initialized";
         assert storage != null : "Storage should be initialized";
         assert commandHistory != null : "CommandHistory should be initialized";
         storage.readFile();
+        commandHistory.restore(storage.openUndoLog());
+    }
+
+    /**
+     * Rewrites the storage file in the given format.
+     * @param format the format to store tasks in from now on
+     */
+    public void convertStorage(FileFormat format) {
+        storage.convertTo(format);
+    }
+
+    /**
+     * Saves changes on a background thread instead of making each command wait for the disk.
+     * @param maxStalenessMillis longest time in milliseconds a change may go unsaved
+     */
+    public void enableWriteBehind(long maxStalenessMillis) {
+        storage.enableWriteBehind(maxStalenessMillis, commandLock.readLock());
+    }
+
+    /**
+     * Starts timing how long each command takes to parse, execute and persist, for the stats command.
+     * @param dumpFile file to write the timings to as CSV when {@link #writeMetrics()} is called, or null for none
+     */
+    public void enableMetrics(Path dumpFile) {
+        commandLock.writeLock().lock();
+        try {
+            storage.enablePersistTiming();
+            metricsFile = dumpFile;
+            metrics.setEnabled(true);
+        } finally {
+            commandLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Writes the recorded timings as CSV to the file given to {@link #enableMetrics(Path)}, if there is one.
+     * @throws IOException if the file cannot be written
+     */
+    public void writeMetrics() throws IOException {
+        Path file = metricsFile;
+        if (file == null) {
+            return;
+        }
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            metrics.writeCsv(writer);
+        }
     }
 
     /**
@@ -61,40 +183,364 @@ public class Rotom {
      * @return Rotom's response to the input
      */
     public String getResponse(String input) {
+        return getResult(input).getResponse();
+    }
+
+    /**
+     * Processes a single user input string and returns the result of its command.
+     * The input is parsed and executed once, and the result tells the caller whether to exit.
+     * @param input the user input string to process
+     * @return the result, whose response is Rotom's response to the input
+     */
+    public CommandResult getResult(String input) {
         assert input != null : "Input should not be null";
         try {
-            Command c = Parser.parse(input, commandHistory);
-            String response = c.execute(tasks, ui, storage);
-            if (shouldSaveToHistory(c)) {
-                commandHistory.push(c);
-            }
-            return response;
+            return execute(parse(input));
+        } catch (RotomException e) {
+            return CommandResult.unchanged(getErrorResponse(e));
+        }
+    }
+
+    /**
+     * Returns a report of the memory saved by sharing task descriptions, as after loading a large task file.
+     * @return the memory report
+     */
+    public String getMemoryReport() {
+        commandLock.readLock().lock();
+        try {
+            return ui.showMemoryReport(tasks.getCount(), DescriptionPool.size(),
+                    DescriptionPool.getSharedCount(), DescriptionPool.getSavedBytes(),
+                    DescriptionPool.getNetSavedBytes());
+        } finally {
+            commandLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Limits how many commands can be undone and how much memory is kept for undoing them.
+     * The oldest commands are dropped from the history when either limit is exceeded.
+     * @param depth most commands kept for undo
+     * @param memoryBudget most bytes of estimated memory kept for undo
+     */
+    public void setHistoryLimits(int depth, long memoryBudget) {
+        commandLock.writeLock().lock();
+        try {
+            commandHistory.setLimits(depth, memoryBudget);
+        } finally {
+            commandLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Parses a user input into a command that can be run with {@link #execute(Command)}.
+     * @param input the user input string to parse
+     * @return the parsed command
+     * @throws RotomException if the input is not a valid command
+     */
+    public Command parse(String input) throws RotomException {
+        assert input != null : "Input should not be null";
+        if (!metrics.isEnabled()) {
+            return Parser.parse(input, commandHistory, metrics);
+        }
+        long start = System.nanoTime();
+        try {
+            Command c = Parser.parse(input, commandHistory, metrics);
+            metrics.record(CommandMetrics.getName(c), CommandPhase.PARSE, System.nanoTime() - start);
+            return c;
+        } catch (RotomException e) {
+            metrics.record(CommandMetrics.INVALID_INPUT, CommandPhase.PARSE, System.nanoTime() - start);
+            throw e;
+        }
+    }
+
+    /**
+     * Processes a single user input string and writes Rotom's response to the given output as it is produced.
+     * @param input the user input string to process
+     * @param out where to write Rotom's response
+     * @return the result of the command
+     * @throws IOException if the response cannot be written
+     */
+    public CommandResult getResult(String input, Appendable out) throws IOException {
+        assert input != null : "Input should not be null";
+        Command c;
+        try {
+            c = parse(input);
         } catch (RotomException e) {
-            return ui.showError(e);
+            CommandResult result = CommandResult.unchanged(getErrorResponse(e));
+            result.writeTo(out);
+            return result;
+        }
+        return execute(c, out);
+    }
+
+    /**
+     * Returns Rotom's response to an input that could not be parsed, as {@link #getResponse(String)} shows it.
+     * @param e the error from {@link #parse(String)}
+     * @return the error message
+     */
+    public String getErrorResponse(RotomException e) {
+        return ui.showError(e);
+    }
+
+    /**
+     * Processes a batch of user inputs in order and returns Rotom's response to each.
+     * Changes are written to storage every {@value #BATCH_FLUSH_INTERVAL} commands that change the task list
+     * and at the end of the batch, instead of after every command.
+     * Processing stops after an exit command, like the interactive loop.
+     * Other threads cannot change the task list while the batch runs.
+     * @param inputs the user input strings to process
+     * @return Rotom's responses, one for each processed input
+     */
+    public List<String> getResponses(List<String> inputs) {
+        assert inputs != null : "Inputs should not be null";
+        List<String> responses = new ArrayList<>(inputs.size());
+        int unflushedChanges = 0;
+        commandLock.writeLock().lock();
+        storage.beginBatch();
+        try {
+            for (String input : inputs) {
+                CommandResult result = getResult(input);
+                responses.add(result.getResponse());
+                if (result.isExit()) {
+                    break;
+                }
+                if (result.isMutated() && ++unflushedChanges == BATCH_FLUSH_INTERVAL) {
+                    storage.flushBatch();
+                    recordBatchPersist();
+                    unflushedChanges = 0;
+                }
+            }
+        } finally {
+            storage.endBatch();
+            recordBatchPersist();
+            commandLock.writeLock().unlock();
+        }
+        return responses;
+    }
+
+    /**
+     * Executes parsed commands in order as one batch, writing their changes to storage once at the end.
+     * Unlike {@link #getResponses(List)}, an exit command does not stop the batch.
+     * Other threads cannot change the task list while the batch runs.
+     * @param commands the commands to execute
+     * @return Rotom's responses, one for each command
+     */
+    public List<String> executeAll(List<Command> commands) {
+        List<String> responses = new ArrayList<>(commands.size());
+        commandLock.writeLock().lock();
+        storage.beginBatch();
+        try {
+            for (Command c : commands) {
+                responses.add(execute(c).getResponse());
+            }
+        } finally {
+            storage.endBatch();
+            recordBatchPersist();
+            commandLock.writeLock().unlock();
+        }
+        return responses;
+    }
+
+    /**
+     * Executes a parsed command and adds it to the command history if it can be undone.
+     * Read-only commands share the command lock, while other commands hold it exclusively, so that
+     * each change is applied and recorded as a whole and a background save never copies the list
+     * halfway through one. Execution is recorded as an {@link ExecuteEvent} when Flight Recorder is running.
+     * @param c the command to execute
+     * @return the result of the command, with Rotom's response
+     */
+    public CommandResult execute(Command c) {
+        Lock lock = c.isReadOnly() ? commandLock.readLock() : commandLock.writeLock();
+        lock.lock();
+        try {
+            long start = metrics.isEnabled() ? System.nanoTime() : 0;
+            ExecuteEvent event = new ExecuteEvent(c);
+            CommandResult result = record(c, c.execute(tasks, ui, storage)).render();
+            event.end(result);
+            recordExecution(c, start);
+            return result;
+        } finally {
+            lock.unlock();
         }
     }
 
     /**
-     * Checks the given command if it should be added to the command history.
-     * @param command Command to check.
-     * @return True if command executed can be undone.
+     * Executes a parsed command like {@link #execute(Command)}, and writes its response to the given output
+     * while still holding the command lock, so that long listings are streamed instead of built as one string.
+     * @param c the command to execute
+     * @param out where to write Rotom's response
+     * @return the result of the command
+     * @throws IOException if the response cannot be written
      */
-    private boolean shouldSaveToHistory(Command command) {
-        return !EXCLUDED_COMMANDS.contains(command.getClass());
+    public CommandResult execute(Command c, Appendable out) throws IOException {
+        Lock lock = c.isReadOnly() ? commandLock.readLock() : commandLock.writeLock();
+        lock.lock();
+        try {
+            long start = metrics.isEnabled() ? System.nanoTime() : 0;
+            ExecuteEvent event = new ExecuteEvent(c);
+            CommandResult result = record(c, c.execute(tasks, ui, storage));
+            event.end(result);
+            recordExecution(c, start);
+            result.writeTo(out);
+            return result;
+        } finally {
+            lock.unlock();
+        }
     }
+
+    /**
+     * Adds a command to the command history if its result says it can be undone.
+     * @param c the executed command
+     * @param result the result of the command
+     * @return the result
+     */
+    private CommandResult record(Command c, CommandResult result) {
+        if (result.isUndoable()) {
+            commandHistory.push(c);
+        }
+        return result;
+    }
+
+    /**
+     * Records how long a command took to execute and, for a command that may change the task list,
+     * how much of that time was spent writing to storage.
+     * Must be called while still holding the command lock the command ran under.
+     * @param c the executed command
+     * @param start time the command started, from {@link System#nanoTime()}
+     */
+    private void recordExecution(Command c, long start) {
+        if (!metrics.isEnabled()) {
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+        String name = CommandMetrics.getName(c);
+        if (c.isReadOnly()) {
+            metrics.record(name, CommandPhase.EXECUTE, elapsed);
+            return;
+        }
+        long persistNanos = storage.takePersistNanos();
+        metrics.record(name, CommandPhase.EXECUTE, elapsed - persistNanos);
+        metrics.record(name, CommandPhase.PERSIST, persistNanos);
+    }
+
+    /**
+     * Records the time spent writing the changes of a batch to storage, which no single command waited for.
+     * Must be called while holding the exclusive command lock.
+     */
+    private void recordBatchPersist() {
+        if (metrics.isEnabled()) {
+            metrics.record(BATCH_METRICS_NAME, CommandPhase.PERSIST, storage.takePersistNanos());
+        }
+    }
+
     /**
      * Entry point for the Rotom chatbot application.
      * Initializes storage, reads tasks from the file, and runs the chatbot.
-     * @param args Command-line arguments, optionally containing the file path for task storage.
+     * @param args Command-line arguments, optionally containing the file path for task storage,
+     *             {@code --journal <records>} to journal changes instead of rewriting the file,
+     *             {@code --format <text|binary>} to convert the storage file,
+     *             {@code --batch <file>} to run the commands in a file instead of reading them interactively,
+     *             {@code --write-behind <millis>} to save changes in the background,
+     *             {@code --undo-depth <commands>} and {@code --undo-memory <bytes>} to limit the undo history,
+     *             {@code --persistent-list} to keep tasks in a list whose snapshots are not copied,
+     *             {@code --columnar-list} to keep tasks in primitive arrays instead of one object per task,
+     *             {@code --share-descriptions} to share one string between tasks with the same description,
+     *             {@code --memory-report} to share descriptions and print the memory saved after loading,
+     *             {@code --metrics <file>} to time each command and write the timings to a CSV file on exit,
+     *             and {@code --serve <port>} to serve commands over HTTP on the loopback interface.
      */
     public static void main(String[] args) {
         assert args != null : "Command line arguments should not be null";
-        String filePath = args.length > 0 ? args[0] : "./src/main/java/rotom.txt";
-        // Assuming no more than 100 tasks
+        String filePath = "./src/main/java/rotom.txt";
+        int journalCompactThreshold = 0;
+        FileFormat format = null;
+        String batchFile = null;
+        long maxStalenessMillis = 0;
+        int port = -1;
+        int undoDepth = CommandHistory.DEFAULT_DEPTH;
+        long undoMemory = CommandHistory.DEFAULT_MEMORY_BUDGET;
+        boolean isPersistentList = false;
+        boolean isColumnarList = false;
+        boolean isMemoryReport = false;
+        boolean isSharingDescriptions = false;
+        String metricsFile = null;
         try {
-            Rotom m = new Rotom(filePath);
-            m.run();
-        } catch (FileNotFoundException e) {
+            for (int i = 0; i < args.length; i++) {
+                if (OPTION_JOURNAL.equals(args[i]) && i + 1 < args.length) {
+                    journalCompactThreshold = Integer.parseInt(args[++i]);
+                } else if (OPTION_FORMAT.equals(args[i]) && i + 1 < args.length) {
+                    String formatName = args[++i];
+                    try {
+                        format = FileFormat.valueOf(formatName.toUpperCase(Locale.ROOT));
+                    } catch (IllegalArgumentException e) {
+                        System.out.println("Error: " + OPTION_FORMAT + " expects text or binary.");
+                        return;
+                    }
+                } else if (OPTION_WRITE_BEHIND.equals(args[i]) && i + 1 < args.length) {
+                    maxStalenessMillis = Long.parseLong(args[++i]);
+                } else if (OPTION_UNDO_DEPTH.equals(args[i]) && i + 1 < args.length) {
+                    undoDepth = Integer.parseInt(args[++i]);
+                } else if (OPTION_UNDO_MEMORY.equals(args[i]) && i + 1 < args.length) {
+                    undoMemory = Long.parseLong(args[++i]);
+                } else if (OPTION_PERSISTENT_LIST.equals(args[i])) {
+                    isPersistentList = true;
+                } else if (OPTION_COLUMNAR_LIST.equals(args[i])) {
+                    isColumnarList = true;
+                } else if (OPTION_MEMORY_REPORT.equals(args[i])) {
+                    isMemoryReport = true;
+                    isSharingDescriptions = true;
+                } else if (OPTION_SHARE_DESCRIPTIONS.equals(args[i])) {
+                    isSharingDescriptions = true;
+                } else if (OPTION_METRICS.equals(args[i]) && i + 1 < args.length) {
+                    metricsFile = args[++i];
+                } else if (OPTION_SERVE.equals(args[i]) && i + 1 < args.length) {
+                    port = Integer.parseInt(args[++i]);
+                    if (port < 0 || port > MAX_PORT) {
+                        System.out.println("Error: " + OPTION_SERVE + " expects a port from 0 to " + MAX_PORT + ".");
+                        return;
+                    }
+                } else if (OPTION_BATCH.equals(args[i]) && i + 1 < args.length) {
+                    batchFile = args[++i];
+                } else {
+                    filePath = args[i];
+                }
+            }
+        } catch (NumberFormatException e) {
+            System.out.println("Error: " + OPTION_JOURNAL + ", " + OPTION_WRITE_BEHIND + ", " + OPTION_SERVE + ", "
+                    + OPTION_UNDO_DEPTH + " and " + OPTION_UNDO_MEMORY + " expect a number.");
+            return;
+        }
+        try {
+            if (isSharingDescriptions) {
+                DescriptionPool.enable();
+            }
+            TaskList tasks = isPersistentList ? new PersistentTaskList()
+                    : isColumnarList ? new ColumnarTaskList()
+                    : new ConcurrentTaskList();
+            Rotom m = new Rotom(filePath, journalCompactThreshold, tasks, Math.max(undoDepth, 0),
+                    Math.max(undoMemory, 0));
+            if (isMemoryReport) {
+                System.out.println(m.getMemoryReport());
+            }
+            if (metricsFile != null) {
+                m.enableMetrics(Paths.get(metricsFile));
+            }
+            if (maxStalenessMillis > 0) {
+                m.enableWriteBehind(maxStalenessMillis);
+            }
+            if (format != null) {
+                m.convertStorage(format);
+            }
+            if (batchFile != null) {
+                m.runBatch(batchFile);
+                m.writeMetrics();
+            } else if (port >= 0) {
+                m.serve(port);
+            } else {
+                m.run();
+                m.writeMetrics();
+            }
+        } catch (IOException | InvalidPathException e) {
             System.out.println("File error: " + e.getMessage());
         } catch (RotomException e) {
             System.out.println("Error: " + e.getMessage());
@@ -112,14 +558,48 @@ public class Rotom {
         while (!isExit) {
             String fullCommand = ui.readCommand();
             assert fullCommand != null : "Command should not be null";
-            String response = getResponse(fullCommand);
-            System.out.println(response);
             try {
-                Command c = Parser.parse(fullCommand, commandHistory);
-                isExit = c.isExit();
-            } catch (RotomException e) {
-                // ignore, since getResponse already handled it.
+                // Write straight to the console so that long listings are not built as one string
+                isExit = getResult(fullCommand, System.out).isExit();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e); // PrintStream reports errors through checkError() instead
             }
+            System.out.println();
+        }
+    }
+
+    /**
+     * Serves commands over HTTP on the loopback interface until the process is stopped.
+     * Changes that were accepted before the process stops are applied before it exits.
+     * The token that requests must carry is printed with the address.
+     * @param port the port to listen on, or 0 to pick a free one
+     * @throws IOException if the port cannot be bound
+     */
+    public void serve(int port) throws IOException {
+        RotomServer server = new RotomServer(this, port);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop();
+            try {
+                writeMetrics();
+            } catch (IOException e) {
+                System.out.println("File error: " + e.getMessage());
+            }
+        }, "rotom-server-shutdown"));
+        server.start();
+        System.out.println("Rotom is listening on http://127.0.0.1:" + server.getPort() + "/");
+        System.out.println("Send the header " + RotomServer.TOKEN_HEADER + ": " + server.getToken()
+                + " with every request.");
+    }
+
+    /**
+     * Runs every command in the given file as one batch and prints each response.
+     * @param batchFile path of a file with one command per line
+     * @throws IOException if the file cannot be read
+     */
+    public void runBatch(String batchFile) throws IOException {
+        List<String> inputs = Files.readAllLines(Paths.get(batchFile), StandardCharsets.UTF_8);
+        for (String response : getResponses(inputs)) {
+            System.out.println(response);
         }
     }
 }
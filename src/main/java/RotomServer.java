@@ -0,0 +1,326 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import command.Command;
+import exception.RotomException;
+
+/**
+ * Serves Rotom's commands over HTTP on the loopback interface, so that several local clients
+ * can share one task list.
+ * Each request is a POST whose body is one command, and the reply body is Rotom's response.
+ * Requests are handled on virtual threads when the runtime supports them, and on a pool of
+ * platform threads otherwise. Commands that only read the task list run on the request's thread,
+ * in parallel with each other. Commands that change it are queued for a single writer thread,
+ * which runs everything queued so far as one batch, so a burst of changes is saved once.
+ * Since any web page open in a local browser can also reach the loopback interface, every request must
+ * carry the token printed at startup in the {@value #TOKEN_HEADER} header, must name the server's own
+ * address in its Host header, and must not carry an Origin header, which browsers add to cross-origin
+ * requests. This also rejects pages that use DNS rebinding to reach the port under another name.
+ * Replies on kept-alive connections are faster when the JVM is started with
+ * {@code -Dsun.net.httpserver.nodelay=true}, which turns off Nagle's algorithm for the server's sockets.
+ */
+public class RotomServer {
+    private static final int MAX_BATCH_SIZE = 1000;
+    private static final int HTTP_OK = 200;
+    private static final int HTTP_UNAUTHORIZED = 401;
+    private static final int HTTP_FORBIDDEN = 403;
+    private static final int HTTP_METHOD_NOT_ALLOWED = 405;
+    private static final int HTTP_INTERNAL_ERROR = 500;
+    /** Request header that must hold the server's token. */
+    public static final String TOKEN_HEADER = "X-Rotom-Token";
+    private static final int TOKEN_BYTES = 32;
+    private static final String[] ALLOWED_HOSTS = {"127.0.0.1", "localhost"};
+    private static final PendingCommand STOP = new PendingCommand(null);
+    private final Rotom rotom;
+    private final String token;
+    private final HttpServer server;
+    private final ExecutorService requestExecutor;
+    private final BlockingQueue<PendingCommand> writeQueue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    private boolean isRunning; // guarded by writeQueue
+
+    /**
+     * Creates a server for the given Rotom on a loopback port. The server does not accept
+     * requests until {@link #start()} is called.
+     * @param rotom the Rotom instance whose task list is served
+     * @param port the port to listen on, or 0 to pick a free one
+     * @throws IOException if the port cannot be bound
+     */
+    public RotomServer(Rotom rotom, int port) throws IOException {
+        this.rotom = rotom;
+        this.token = newToken();
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.requestExecutor = newRequestExecutor();
+        this.writer = new Thread(this::writeLoop, "rotom-writer");
+        server.setExecutor(requestExecutor);
+        server.createContext("/", this::handle);
+    }
+
+    /**
+     * Starts accepting requests.
+     */
+    public void start() {
+        synchronized (writeQueue) {
+            isRunning = true;
+        }
+        writer.start();
+        server.start();
+    }
+
+    /**
+     * Stops accepting requests, waits for queued changes to be applied, and stops the writer thread.
+     */
+    public void stop() {
+        server.stop(0);
+        synchronized (writeQueue) {
+            isRunning = false;
+            writeQueue.add(STOP);
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        requestExecutor.shutdown();
+    }
+
+    /**
+     * Returns the port the server listens on.
+     * @return the port number
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Returns the token that every request must carry in the {@value #TOKEN_HEADER} header.
+     * @return the token, which is different every time the server is created
+     */
+    public String getToken() {
+        return token;
+    }
+
+    /**
+     * Answers one HTTP request.
+     * @param exchange the request and its response
+     * @throws IOException if the response cannot be sent
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "POST");
+                exchange.sendResponseHeaders(HTTP_METHOD_NOT_ALLOWED, -1);
+                return;
+            }
+            if (!isLocalRequest(exchange)) {
+                exchange.sendResponseHeaders(HTTP_FORBIDDEN, -1);
+                return;
+            }
+            if (!hasToken(exchange)) {
+                exchange.sendResponseHeaders(HTTP_UNAUTHORIZED, -1);
+                return;
+            }
+            String input;
+            try (InputStream body = exchange.getRequestBody()) {
+                input = new String(body.readAllBytes(), StandardCharsets.UTF_8);
+            }
+            int status = HTTP_OK;
+            String response;
+            try {
+                response = respond(input);
+            } catch (ExecutionException e) {
+                status = HTTP_INTERNAL_ERROR;
+                response = "Error: " + e.getCause();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                status = HTTP_INTERNAL_ERROR;
+                response = "Error: request interrupted";
+            }
+            byte[] bytes = response.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+    }
+
+    /**
+     * Checks that a request does not come from a web page and names this server in its Host header.
+     * @param exchange the request
+     * @return true if the request has no Origin header and its Host is this server's loopback address
+     */
+    private boolean isLocalRequest(HttpExchange exchange) {
+        if (exchange.getRequestHeaders().containsKey("Origin")) {
+            return false;
+        }
+        String host = exchange.getRequestHeaders().getFirst("Host");
+        if (host == null) {
+            return false;
+        }
+        String hostName = host.toLowerCase(Locale.ROOT);
+        for (String allowed : ALLOWED_HOSTS) {
+            if (hostName.equals(allowed + ":" + getPort())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks that a request carries the server's token, comparing in constant time.
+     * @param exchange the request
+     * @return true if the {@value #TOKEN_HEADER} header holds the token
+     */
+    private boolean hasToken(HttpExchange exchange) {
+        String given = exchange.getRequestHeaders().getFirst(TOKEN_HEADER);
+        return given != null && MessageDigest.isEqual(given.getBytes(StandardCharsets.UTF_8),
+                token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Runs a command and returns Rotom's response. Read-only commands run on the calling thread,
+     * and the rest are handed to the writer thread.
+     * @param input the user input string to process
+     * @return Rotom's response to the input
+     * @throws ExecutionException if running the command failed
+     * @throws InterruptedException if interrupted while waiting for the writer thread
+     */
+    private String respond(String input) throws ExecutionException, InterruptedException {
+        Command c;
+        try {
+            c = rotom.parse(input);
+        } catch (RotomException e) {
+            return rotom.getErrorResponse(e);
+        }
+        if (c.isReadOnly()) {
+            return rotom.execute(c).getResponse();
+        }
+        PendingCommand pending = new PendingCommand(c);
+        synchronized (writeQueue) {
+            if (!isRunning) {
+                throw new ExecutionException(new IllegalStateException("server is stopping"));
+            }
+            writeQueue.add(pending);
+        }
+        return pending.response.get();
+    }
+
+    /**
+     * Runs queued changes until the server stops, taking everything queued so far as one batch.
+     * Nothing is queued after the stop marker, so every change accepted before {@link #stop()}
+     * is applied before the thread ends. If the thread is interrupted instead, the changes still queued
+     * are failed, so that no request waits for them forever.
+     */
+    private void writeLoop() {
+        List<PendingCommand> batch = new ArrayList<>();
+        boolean isStopping = false;
+        while (!isStopping) {
+            try {
+                batch.add(writeQueue.take());
+            } catch (InterruptedException e) {
+                failQueued(batch);
+                return;
+            }
+            writeQueue.drainTo(batch, MAX_BATCH_SIZE - 1);
+            if (batch.get(batch.size() - 1) == STOP) {
+                batch.remove(batch.size() - 1);
+                isStopping = true;
+            }
+            runBatch(batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * Runs a batch of queued changes and hands each response back to the thread waiting for it.
+     * @param batch the queued changes, in the order they arrived
+     */
+    private void runBatch(List<PendingCommand> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<Command> commands = new ArrayList<>(batch.size());
+        batch.forEach(pending -> commands.add(pending.command));
+        try {
+            List<String> responses = rotom.executeAll(commands);
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).response.complete(responses.get(i));
+            }
+        } catch (RuntimeException e) {
+            batch.forEach(pending -> pending.response.completeExceptionally(e));
+        }
+    }
+
+    /**
+     * Stops queueing changes and fails every change that was taken or is still queued.
+     * @param batch changes taken from the queue but not yet run
+     */
+    private void failQueued(List<PendingCommand> batch) {
+        synchronized (writeQueue) {
+            isRunning = false;
+            writeQueue.drainTo(batch);
+        }
+        IllegalStateException stopped = new IllegalStateException("writer thread was interrupted");
+        for (PendingCommand pending : batch) {
+            if (pending != STOP) {
+                pending.response.completeExceptionally(stopped);
+            }
+        }
+        batch.clear();
+    }
+
+    /**
+     * Returns a random token that cannot be guessed.
+     * @return the token, in URL-safe Base64
+     */
+    private static String newToken() {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        new SecureRandom().nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * Returns an executor that runs each task on a new virtual thread if the runtime has them,
+     * or on a cached pool of platform threads otherwise.
+     * @return the executor for requests
+     */
+    private static ExecutorService newRequestExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    /**
+     * A change waiting for the writer thread, with the response it is answered with.
+     */
+    private static class PendingCommand {
+        private final Command command;
+        private final CompletableFuture<String> response = new CompletableFuture<>();
+
+        PendingCommand(Command command) {
+            this.command = command;
+        }
+    }
+}
@@ -12,7 +12,8 @@ import ui.Ui;
 /**
  * Represents an abstract command in the Rotom application.
  * Concrete commands are created using the factory {@code of()} methods
- * based on user input and executed with the {@code execute()} method.
+ * based on user input and executed with the {@code execute()} method,
+ * which reports what the command did in a {@link CommandResult}.
  */
 public abstract class Command {
     private static final String COMMAND_BYE = "bye";
@@ -29,6 +30,8 @@ public abstract class Command {
     private static final String COMMAND_EVENT = "event";
     private static final String COMMAND_FIND = "find";
     private static final String COMMAND_UNDO = "undo";
+    private static final String COMMAND_REDO = "redo";
+    private static final String COMMAND_STATS = "stats";
     private static final String ERROR_COMMAND_NOT_FOUND = "Command not found!";
     private static final String ERROR_DEADLINE_REQUIRES_ONE_DATE = "Deadline command requires exactly one date.";
     private static final String ERROR_EVENT_REQUIRES_TWO_DATES = "Event command requires exactly two dates.";
@@ -48,9 +51,25 @@ public abstract class Command {
         case COMMAND_RESET -> new ResetCommand();
         case COMMAND_LIST -> new ListCommand();
         case COMMAND_UNDO -> new UndoCommand(commandHistory);
+        case COMMAND_REDO -> new RedoCommand(commandHistory);
         default -> throw new RotomException(ERROR_COMMAND_NOT_FOUND);
         };
     }
+    /**
+     * Returns a command instance based on a keyword input and the metrics it reports.
+     * @param input The user input keyword.
+     * @param metrics The metrics recorded for this chatbot.
+     * @return The corresponding {@code Command} instance.
+     * @throws RotomException If the input does not match any valid command.
+     */
+    public static Command of(String input, CommandMetrics metrics) throws RotomException {
+        assert input != null : "Input string cannot be null";
+        assert metrics != null : "Metrics cannot be null";
+        if (COMMAND_STATS.equals(input)) {
+            return new StatsCommand(metrics);
+        }
+        throw new RotomException(ERROR_COMMAND_NOT_FOUND);
+    }
     /**
      * Returns a command instance based on a keyword input and a task index.
      * @param input The user input keyword.
@@ -68,6 +87,22 @@ public abstract class Command {
         default -> throw new RotomException(ERROR_COMMAND_NOT_FOUND);
         };
     }
+    /**
+     * Returns a command instance based on a keyword input and a page of results.
+     * @param input The user input keyword.
+     * @param page Number of the page to show, starting from 1.
+     * @param pageSize Number of tasks on each page.
+     * @return The corresponding {@code Command} instance.
+     * @throws RotomException If the input does not match any valid command.
+     */
+    public static Command of(String input, int page, int pageSize) throws RotomException {
+        assert input != null : "Input string cannot be null";
+        assert page > 0 && pageSize > 0 : "Page and page size must be positive";
+        if (COMMAND_LIST.equals(input)) {
+            return new ListCommand(page, pageSize);
+        }
+        throw new RotomException(ERROR_COMMAND_NOT_FOUND);
+    }
     /**
      * Returns a command instance based on a keyword input and a date.
      * @param input The user input keyword
@@ -83,10 +118,26 @@ public abstract class Command {
         }
         throw new RotomException(ERROR_COMMAND_NOT_FOUND);
     }
+    /**
+     * Returns a command instance based on a keyword input and a range of dates.
+     * @param input The user input keyword
+     * @param from The first date used to filter tasks.
+     * @param to The last date used to filter tasks, inclusive.
+     * @return The corresponding {@code Command} instance.
+     * @throws RotomException If the input does not match any valid command.
+     */
+    public static Command of(String input, LocalDate from, LocalDate to) throws RotomException {
+        assert input != null : "Input string cannot be null";
+        assert from != null && to != null : "Dates cannot be null";
+        if (COMMAND_SHOW.equals(input)) {
+            return new ShowCommand(from, to);
+        }
+        throw new RotomException(ERROR_COMMAND_NOT_FOUND);
+    }
     /**
      * Returns a command instance based on a keyword input and a string argument.
-     * @param input The user input keyword (currently only todo).
-     * @param description The task description or additional information.
+     * @param input The user input keyword (e.g. "todo", "find").
+     * @param description The task description, or the search query for find.
      * @return The corresponding {@code Command} instance.
      * @throws RotomException If the input does not match any valid command.
      */
@@ -94,8 +145,26 @@ public abstract class Command {
         assert input != null : "Input string cannot be null";
         assert description != null : "Description cannot be null";
         assert !description.isEmpty() : "Description cannot be empty";
-        if (COMMAND_TODO.equals(input)) {
-            return new TodoCommand(description);
+        return switch (input) {
+        case COMMAND_TODO -> new TodoCommand(description);
+        case COMMAND_FIND -> new FindCommand(description);
+        default -> throw new RotomException(ERROR_COMMAND_NOT_FOUND);
+        };
+    }
+    /**
+     * Returns a command instance based on a keyword input, a search query and a limit on the results.
+     * @param input The user input keyword.
+     * @param query The search query.
+     * @param limit Most results to show.
+     * @return The corresponding {@code Command} instance.
+     * @throws RotomException If the input does not match any valid command.
+     */
+    public static Command of(String input, String query, int limit) throws RotomException {
+        assert input != null : "Input string cannot be null";
+        assert query != null && !query.isEmpty() : "Query cannot be empty";
+        assert limit > 0 : "Limit must be positive";
+        if (COMMAND_FIND.equals(input)) {
+            return new FindCommand(query, limit);
         }
         throw new RotomException(ERROR_COMMAND_NOT_FOUND);
     }
@@ -176,11 +245,29 @@ public abstract class Command {
         return String.join(" ", searchKeywords);
     }
     /**
-     * Checks if this command is an exit command.
-     * @return {@code true} if the command is an instance of {@code ExitCommand}, otherwise {@code false}.
+     * Checks if this command only reads the task list.
+     * Read-only commands may run at the same time as each other, but not alongside a change.
+     * @return {@code true} if the command never changes the task list or storage, otherwise {@code false}.
+     */
+    public boolean isReadOnly() {
+        return false;
+    }
+
+    /**
+     * Returns a rough estimate of the heap memory this command keeps only so that it can be undone,
+     * such as tasks that are no longer in the list.
+     * @return Estimated size in bytes, which is 0 unless a command keeps such data.
+     */
+    public long estimateUndoSize() {
+        return 0;
+    }
+
+    /**
+     * Returns the record kept in the undo log so that this command can still be undone after a restart.
+     * @return The record, or null if the command cannot be undone from a record.
      */
-    public boolean isExit() {
-        return this instanceof ExitCommand;
+    public String toUndoRecord() {
+        return null;
     }
 
     /**
@@ -188,9 +275,9 @@ public abstract class Command {
      * @param tasks The task list to operate on.
      * @param ui The user interface for displaying results.
      * @param storage The storage handler for saving changes.
-     * @return String output message to the user after executing command.
+     * @return The result, with the output message to the user and whether the task list changed.
      */
-    public abstract String execute(TaskList tasks, Ui ui, Storage storage);
+    public abstract CommandResult execute(TaskList tasks, Ui ui, Storage storage);
 
     /**
      * Undo the command.
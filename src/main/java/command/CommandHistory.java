@@ -1,29 +1,346 @@
 package command;
 
-import java.util.Stack;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import exception.RotomException;
+import storage.UndoLog;
 
 /**
  * Manages the history of executed commands.
+ * The history is a ring buffer with a fixed depth, and it also keeps the estimated memory held
+ * for undo under a budget. When either limit is exceeded, the oldest commands are dropped and
+ * can no longer be undone.
+ * Undone commands are kept for redo until another command is pushed.
+ * Once restored from an {@link UndoLog}, every change to the history is appended to the log, so that
+ * it can be restored again after a restart.
+ * Callers must not push or pop from several threads at once.
  */
 public class CommandHistory {
-    private final Stack<Command> history = new Stack<>();
+    /** Number of commands kept when no depth is given. */
+    public static final int DEFAULT_DEPTH = 1000;
+    /** Memory budget in bytes when none is given. */
+    public static final long DEFAULT_MEMORY_BUDGET = 64L << 20;
+    // Rough heap size of a command and its slot in the buffer, on top of its undo data
+    private static final long COMMAND_SIZE = 32;
+    private static final String ENTRY_DO = "DO | ";
+    private static final String ENTRY_UNDO = "UNDO";
+    private static final String ENTRY_REDO = "REDO";
+    // Extra records the log may hold beyond twice the depth before it is compacted
+    private static final int COMPACT_MARGIN = 64;
+
+    private Command[] commands;
+    private long[] sizes;
+    private int head; // index of the oldest command
+    private int count;
+    private long memoryBudget;
+    private long retainedSize;
+    private long droppedCount;
+    private final Deque<Command> undone = new ArrayDeque<>(); // next command to redo first
+    private UndoLog log;
+
+    /**
+     * Constructs an empty history with the default depth and memory budget.
+     */
+    public CommandHistory() {
+        this(DEFAULT_DEPTH, DEFAULT_MEMORY_BUDGET);
+    }
+
+    /**
+     * Constructs an empty history with the given limits.
+     * @param depth Most commands kept for undo.
+     * @param memoryBudget Most bytes of estimated memory kept for undo.
+     */
+    public CommandHistory(int depth, long memoryBudget) {
+        assert depth >= 0 : "Depth cannot be negative";
+        assert memoryBudget >= 0 : "Memory budget cannot be negative";
+        this.commands = new Command[depth];
+        this.sizes = new long[depth];
+        this.memoryBudget = memoryBudget;
+    }
+
+    /**
+     * Changes the limits of the history, dropping the oldest commands if they no longer fit.
+     * @param depth Most commands kept for undo.
+     * @param memoryBudget Most bytes of estimated memory kept for undo.
+     */
+    public void setLimits(int depth, long memoryBudget) {
+        assert depth >= 0 : "Depth cannot be negative";
+        assert memoryBudget >= 0 : "Memory budget cannot be negative";
+        while (count > depth) {
+            dropOldest();
+        }
+        while (count + undone.size() > depth) {
+            undone.removeLast();
+        }
+        Command[] newCommands = new Command[depth];
+        long[] newSizes = new long[depth];
+        for (int i = 0; i < count; i++) {
+            newCommands[i] = commands[slot(i)];
+            newSizes[i] = sizes[slot(i)];
+        }
+        this.commands = newCommands;
+        this.sizes = newSizes;
+        this.head = 0;
+        this.memoryBudget = memoryBudget;
+        trimToBudget();
+    }
 
     /**
-     * Pushes a command into the history stack.
+     * Restores the history kept in an undo log by an earlier session, and appends every later change to it.
+     * Commands are restored from their records, so they can be undone and redone but not inspected.
+     * A record that cannot be read is restored as a command that cannot be undone, and a log that cannot
+     * be read leaves the history empty.
+     * @param log The undo log to restore from and append to.
+     */
+    public void restore(UndoLog log) {
+        Deque<String> doneRecords = new ArrayDeque<>();
+        Deque<String> undoneRecords = new ArrayDeque<>();
+        try {
+            replay(log.readRecords(), doneRecords, undoneRecords);
+        } catch (IOException e) {
+            doneRecords.clear();
+            undoneRecords.clear();
+        }
+        for (String record : doneRecords) {
+            add(restoreCommand(record, log));
+        }
+        undone.clear();
+        for (String record : undoneRecords) {
+            undone.addLast(restoreCommand(record, log));
+        }
+        this.log = log;
+    }
+
+    /**
+     * Pushes a command into the history, dropping the oldest commands if the history is full.
+     * Commands that were undone can no longer be redone.
      * @param command The command to push.
      */
     public void push(Command command) {
-        history.push(command);
+        undone.clear();
+        add(command);
+        String record = command.toUndoRecord();
+        writeLog(ENTRY_DO + (record == null ? RestoredCommand.RECORD_NONE : record));
+    }
+
+    /**
+     * Returns the last command in the history without removing it.
+     * @return The last command or null if empty.
+     */
+    public Command peek() {
+        return count == 0 ? null : commands[slot(count - 1)];
     }
 
     /**
-     * Pops the last command from the history stack.
+     * Pops the last command from the history, keeping it so that it can be redone.
      * @return The last command or null if empty.
      */
     public Command pop() {
-        if (history.isEmpty()) {
+        if (count == 0) {
             return null;
         }
-        return history.pop();
+        int slot = slot(count - 1);
+        Command command = commands[slot];
+        commands[slot] = null;
+        retainedSize -= sizes[slot];
+        count--;
+        undone.addFirst(command);
+        writeLog(ENTRY_UNDO);
+        return command;
+    }
+
+    /**
+     * Pops the most recently undone command so that it can be executed again.
+     * The command should be passed back to {@link #pushRedone(Command)} once it has run.
+     * @return The most recently undone command, or null if there is none.
+     */
+    public Command popUndone() {
+        return undone.pollFirst();
+    }
+
+    /**
+     * Puts a redone command back into the history, without dropping the commands that can still be redone.
+     * @param command The command returned by {@link #popUndone()}, after it was executed again.
+     */
+    public void pushRedone(Command command) {
+        add(command);
+        writeLog(ENTRY_REDO);
+    }
+
+    /**
+     * Returns the number of undone commands that can currently be redone.
+     * @return Number of commands that can be redone.
+     */
+    public int getUndoneSize() {
+        return undone.size();
+    }
+
+    /**
+     * Returns the number of commands that can currently be undone.
+     * @return Number of commands in the history.
+     */
+    public int getSize() {
+        return count;
+    }
+
+    /**
+     * Returns the most commands the history keeps.
+     * @return The depth of the history.
+     */
+    public int getDepth() {
+        return commands.length;
+    }
+
+    /**
+     * Returns the most memory the history keeps for undo.
+     * @return The memory budget in bytes.
+     */
+    public long getMemoryBudget() {
+        return memoryBudget;
+    }
+
+    /**
+     * Returns the estimated heap memory held by the commands in the history and their undo data.
+     * @return Estimated size in bytes.
+     */
+    public long getRetainedSize() {
+        return retainedSize;
+    }
+
+    /**
+     * Returns how many commands have been dropped to stay within the limits.
+     * @return Number of dropped commands.
+     */
+    public long getDroppedCount() {
+        return droppedCount;
+    }
+
+    /**
+     * Adds a command after the newest one, dropping the oldest commands if the history is full.
+     * @param command The command to add.
+     */
+    private void add(Command command) {
+        if (commands.length == 0) {
+            droppedCount++;
+            return;
+        }
+        if (count == commands.length) {
+            dropOldest();
+        }
+        int slot = slot(count);
+        commands[slot] = command;
+        sizes[slot] = COMMAND_SIZE + command.estimateUndoSize();
+        retainedSize += sizes[slot];
+        count++;
+        trimToBudget();
+    }
+
+    /**
+     * Appends an entry to the undo log, compacting the log once it holds well over the depth in records.
+     * Logging stops if the log cannot be written, leaving the history working for this session only.
+     * @param entry The entry to append.
+     */
+    private void writeLog(String entry) {
+        if (log == null) {
+            return;
+        }
+        try {
+            log.append(entry);
+            if (log.getRecordCount() > 2 * commands.length + COMPACT_MARGIN) {
+                compactLog();
+            }
+        } catch (IOException e) {
+            log = null;
+        }
+    }
+
+    /**
+     * Rewrites the undo log with only the entries needed to restore the current history.
+     * @throws IOException If the log cannot be read or written.
+     */
+    private void compactLog() throws IOException {
+        Deque<String> doneRecords = new ArrayDeque<>();
+        Deque<String> undoneRecords = new ArrayDeque<>();
+        replay(log.readRecords(), doneRecords, undoneRecords);
+        List<String> entries = new ArrayList<>(doneRecords.size() + 2 * undoneRecords.size());
+        for (String record : doneRecords) {
+            entries.add(ENTRY_DO + record);
+        }
+        for (String record : undoneRecords) {
+            entries.add(ENTRY_DO + record);
+        }
+        for (int i = 0; i < undoneRecords.size(); i++) {
+            entries.add(ENTRY_UNDO);
+        }
+        log.rewrite(entries);
+    }
+
+    /**
+     * Replays undo log entries into the records of the commands that can be undone and redone.
+     * @param entries The entries to replay, oldest first.
+     * @param doneRecords Receives the records of commands that can be undone, oldest first.
+     * @param undoneRecords Receives the records of commands that can be redone, next to redo first.
+     */
+    private void replay(List<String> entries, Deque<String> doneRecords, Deque<String> undoneRecords) {
+        for (String entry : entries) {
+            if (entry.startsWith(ENTRY_DO)) {
+                undoneRecords.clear();
+                doneRecords.addLast(entry.substring(ENTRY_DO.length()));
+                if (doneRecords.size() > commands.length) {
+                    doneRecords.removeFirst();
+                }
+            } else if (ENTRY_UNDO.equals(entry) && !doneRecords.isEmpty()) {
+                undoneRecords.addFirst(doneRecords.removeLast());
+            } else if (ENTRY_REDO.equals(entry) && !undoneRecords.isEmpty()) {
+                doneRecords.addLast(undoneRecords.removeFirst());
+            }
+        }
+    }
+
+    /**
+     * Rebuilds a command from its record, or a command that cannot be undone if the record is malformed.
+     * @param record The record to rebuild from.
+     * @param log The log the record was read from.
+     * @return The rebuilt command.
+     */
+    private static Command restoreCommand(String record, UndoLog log) {
+        try {
+            return RestoredCommand.parse(record, log);
+        } catch (RotomException e) {
+            return RestoredCommand.none();
+        }
+    }
+
+    /**
+     * Drops the oldest commands until the retained memory fits the budget.
+     */
+    private void trimToBudget() {
+        while (retainedSize > memoryBudget && count > 0) {
+            dropOldest();
+        }
+    }
+
+    /**
+     * Drops the oldest command, so it can no longer be undone.
+     */
+    private void dropOldest() {
+        commands[head] = null;
+        retainedSize -= sizes[head];
+        head = (head + 1) % commands.length;
+        count--;
+        droppedCount++;
+    }
+
+    /**
+     * Returns the buffer slot of the command at the given position, counting from the oldest.
+     * @param position Position of the command.
+     * @return Index into the buffer.
+     */
+    private int slot(int position) {
+        return (head + position) % commands.length;
     }
 }
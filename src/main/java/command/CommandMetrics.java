@@ -0,0 +1,163 @@
+package command;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import enums.CommandPhase;
+
+/**
+ * Records how long each type of command spends being parsed, executed and persisted.
+ * Each command name and phase has its own {@link LatencyHistogram}, so recording never takes a lock.
+ * Metrics start disabled, and while disabled recording returns at once, so callers only need to read
+ * the time when {@link #isEnabled()} is true.
+ */
+public class CommandMetrics {
+    /** Name under which input that could not be parsed is recorded. */
+    public static final String INVALID_INPUT = "invalid";
+    private static final String COMMAND_SUFFIX = "Command";
+    private static final double[] PERCENTILES = {0.5, 0.9, 0.99};
+    private static final ClassValue<String> NAMES = new ClassValue<>() {
+        @Override
+        protected String computeValue(Class<?> type) {
+            String name = type.getSimpleName();
+            if (name.endsWith(COMMAND_SUFFIX) && name.length() > COMMAND_SUFFIX.length()) {
+                name = name.substring(0, name.length() - COMMAND_SUFFIX.length());
+            }
+            return name.toLowerCase(Locale.ROOT);
+        }
+    };
+    private final ConcurrentMap<String, LatencyHistogram[]> histograms = new ConcurrentHashMap<>();
+    private volatile boolean isEnabled;
+    private volatile long enabledAt;
+
+    /**
+     * Starts or stops recording.
+     * @param isEnabled true to record timings from now on.
+     */
+    public void setEnabled(boolean isEnabled) {
+        if (isEnabled && !this.isEnabled) {
+            this.enabledAt = System.nanoTime();
+        }
+        this.isEnabled = isEnabled;
+    }
+
+    /**
+     * Checks if timings are being recorded.
+     * @return true if metrics are enabled.
+     */
+    public boolean isEnabled() {
+        return isEnabled;
+    }
+
+    /**
+     * Returns the name a command is recorded under, which is its class name without the
+     * {@code Command} suffix, in lower case.
+     * @param command The command.
+     * @return Name of the command type, such as {@code list}.
+     */
+    public static String getName(Command command) {
+        return NAMES.get(command.getClass());
+    }
+
+    /**
+     * Records how long one phase of a command took, if metrics are enabled.
+     * @param name Name of the command type.
+     * @param phase The phase that was timed.
+     * @param nanos Duration in nanoseconds.
+     */
+    public void record(String name, CommandPhase phase, long nanos) {
+        if (!isEnabled) {
+            return;
+        }
+        histograms.computeIfAbsent(name, key -> newHistograms())[phase.ordinal()].record(nanos);
+    }
+
+    /**
+     * Returns the histogram of one phase of a command type.
+     * @param name Name of the command type.
+     * @param phase The phase.
+     * @return The histogram, or null if nothing was recorded for the command type.
+     */
+    public LatencyHistogram getHistogram(String name, CommandPhase phase) {
+        LatencyHistogram[] phases = histograms.get(name);
+        return phases == null ? null : phases[phase.ordinal()];
+    }
+
+    /**
+     * Returns a readable report with one line for each command type, giving how often it was run
+     * and the 50th, 90th and 99th percentile of each phase in microseconds.
+     * @return The report, or a line saying that nothing was recorded.
+     */
+    public String toReport() {
+        Map<String, LatencyHistogram[]> sorted = new TreeMap<>(histograms);
+        if (sorted.isEmpty()) {
+            return "No commands recorded yet.";
+        }
+        StringBuilder sb = new StringBuilder("Times are p50/p90/p99 in microseconds.");
+        long commandCount = 0;
+        for (Map.Entry<String, LatencyHistogram[]> entry : sorted.entrySet()) {
+            LatencyHistogram[] phases = entry.getValue();
+            long runs = phases[CommandPhase.PARSE.ordinal()].getCount();
+            commandCount += runs;
+            sb.append('\n').append(entry.getKey()).append(": ").append(runs).append(" runs");
+            for (CommandPhase phase : CommandPhase.values()) {
+                LatencyHistogram histogram = phases[phase.ordinal()];
+                if (histogram.getCount() == 0) {
+                    continue;
+                }
+                sb.append(" | ").append(phase.name().toLowerCase(Locale.ROOT));
+                for (int i = 0; i < PERCENTILES.length; i++) {
+                    sb.append(i == 0 ? ' ' : '/').append(toMicros(histogram.getPercentile(PERCENTILES[i])));
+                }
+            }
+        }
+        double seconds = (System.nanoTime() - enabledAt) / 1e9;
+        sb.append('\n').append(commandCount).append(" commands in ")
+                .append(String.format(Locale.ROOT, "%.1f", seconds)).append(" s (")
+                .append(String.format(Locale.ROOT, "%.1f", seconds > 0 ? commandCount / seconds : 0))
+                .append(" per second).");
+        return sb.toString();
+    }
+
+    /**
+     * Writes every histogram as CSV, with a header line and one line for each command type and phase
+     * that was recorded. Durations are in nanoseconds.
+     * @param out Where to write the CSV.
+     * @throws IOException If the CSV cannot be written.
+     */
+    public void writeCsv(Appendable out) throws IOException {
+        out.append("command,phase,count,total_ns,mean_ns,p50_ns,p90_ns,p99_ns,max_ns\n");
+        for (Map.Entry<String, LatencyHistogram[]> entry : new TreeMap<>(histograms).entrySet()) {
+            for (CommandPhase phase : CommandPhase.values()) {
+                LatencyHistogram histogram = entry.getValue()[phase.ordinal()];
+                if (histogram.getCount() == 0) {
+                    continue;
+                }
+                out.append(entry.getKey()).append(',').append(phase.name().toLowerCase(Locale.ROOT))
+                        .append(',').append(Long.toString(histogram.getCount()))
+                        .append(',').append(Long.toString(histogram.getTotal()))
+                        .append(',').append(Long.toString(histogram.getMean()));
+                for (double percentile : PERCENTILES) {
+                    out.append(',').append(Long.toString(histogram.getPercentile(percentile)));
+                }
+                out.append(',').append(Long.toString(histogram.getMax())).append('\n');
+            }
+        }
+    }
+
+    private static LatencyHistogram[] newHistograms() {
+        LatencyHistogram[] phases = new LatencyHistogram[CommandPhase.values().length];
+        for (int i = 0; i < phases.length; i++) {
+            phases[i] = new LatencyHistogram();
+        }
+        return phases;
+    }
+
+    private static String toMicros(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1000.0);
+    }
+}
@@ -0,0 +1,153 @@
+package command;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Represents the outcome of executing a command: the response shown to the user and what the command did.
+ * Callers use the flags instead of checking the type of the command, so that each input is parsed and
+ * dispatched once.
+ * Listings may hold a {@link ResponseWriter} instead of the response text, which writes the response
+ * when it is needed and reads the task list as it does, so it must be written before the list changes.
+ */
+public final class CommandResult {
+    private final String response;
+    private final ResponseWriter writer;
+    private final boolean isExit;
+    private final boolean isMutated;
+    private final boolean isUndoable;
+
+    private CommandResult(String response, boolean isExit, boolean isMutated, boolean isUndoable) {
+        this(response, null, isExit, isMutated, isUndoable);
+    }
+
+    private CommandResult(String response, ResponseWriter writer, boolean isExit, boolean isMutated,
+            boolean isUndoable) {
+        assert response != null || writer != null : "Response cannot be null";
+        this.response = response;
+        this.writer = writer;
+        this.isExit = isExit;
+        this.isMutated = isMutated;
+        this.isUndoable = isUndoable;
+    }
+
+    /**
+     * Returns the result of a command that left the task list as it was and is not added to the history,
+     * such as a query or an undo with nothing to undo.
+     * @param response Response to the user.
+     * @return The result.
+     */
+    public static CommandResult unchanged(String response) {
+        return new CommandResult(response, false, false, false);
+    }
+
+    /**
+     * Returns the result of a query whose response is written only when it is needed.
+     * @param writer Writes the response to the user.
+     * @return The result.
+     */
+    public static CommandResult streamed(ResponseWriter writer) {
+        return new CommandResult(null, writer, false, false, false);
+    }
+
+    /**
+     * Returns the result of a command that changed the task list and can be undone.
+     * @param response Response to the user.
+     * @return The result.
+     */
+    public static CommandResult changed(String response) {
+        return changed(response, true);
+    }
+
+    /**
+     * Returns the result of a command that changed the task list.
+     * @param response Response to the user.
+     * @param isUndoable true if the command should be added to the command history.
+     * @return The result.
+     */
+    public static CommandResult changed(String response, boolean isUndoable) {
+        return new CommandResult(response, false, true, isUndoable);
+    }
+
+    /**
+     * Returns the result of a change that could not be applied, such as marking a task that does not exist.
+     * It is still added to the command history, where undoing it reports that there was nothing to undo,
+     * so that undo keeps stepping back through commands in the order they were typed.
+     * @param response Response to the user.
+     * @return The result.
+     */
+    public static CommandResult failed(String response) {
+        return new CommandResult(response, false, false, true);
+    }
+
+    /**
+     * Returns the result of a command that ends the session.
+     * @param response Response to the user.
+     * @return The result.
+     */
+    public static CommandResult exit(String response) {
+        return new CommandResult(response, true, false, false);
+    }
+
+    /**
+     * Returns the response shown to the user, writing it out first if it is streamed.
+     * @return The response.
+     */
+    public String getResponse() {
+        if (response != null) {
+            return response;
+        }
+        StringBuilder sb = new StringBuilder();
+        try {
+            writer.writeTo(sb);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // a StringBuilder never throws
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Writes the response shown to the user, without building it as one string if it is streamed.
+     * @param out Where to write the response.
+     * @throws IOException If the response cannot be written.
+     */
+    public void writeTo(Appendable out) throws IOException {
+        if (response != null) {
+            out.append(response);
+        } else {
+            writer.writeTo(out);
+        }
+    }
+
+    /**
+     * Returns this result with its response written out as text, so that it no longer reads the task list.
+     * @return This result if its response is already text, otherwise an equal result holding the text.
+     */
+    public CommandResult render() {
+        return response != null ? this : new CommandResult(getResponse(), isExit, isMutated, isUndoable);
+    }
+
+    /**
+     * Checks if the session should end after this command.
+     * @return true if the command was an exit command.
+     */
+    public boolean isExit() {
+        return isExit;
+    }
+
+    /**
+     * Checks if the command changed the task list, so that it has something to save.
+     * @return true if the task list was changed.
+     */
+    public boolean isMutated() {
+        return isMutated;
+    }
+
+    /**
+     * Checks if the command should be added to the command history so that it can be undone.
+     * @return true if the command can be undone.
+     */
+    public boolean isUndoable() {
+        return isUndoable;
+    }
+}
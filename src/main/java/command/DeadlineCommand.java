@@ -3,6 +3,7 @@ package command;
 import java.time.LocalDateTime;
 
 import model.Deadline;
+import model.DescriptionPool;
 import model.Task;
 import model.TaskList;
 import storage.Storage;
@@ -23,7 +24,7 @@ public class DeadlineCommand extends Command {
      * @param date Due date and time of the deadline task.
      */
     public DeadlineCommand(String desc, LocalDateTime date) {
-        this.t = new Deadline(desc, date);
+        this.t = new Deadline(DescriptionPool.intern(desc), date);
     }
 
     /**
@@ -33,13 +34,22 @@ public class DeadlineCommand extends Command {
      * @param tasks The task list to operate on.
      * @param ui The user interface for displaying results.
      * @param storage The storage handler for saving changes.
-     * @return String output message to the user after executing command.
+     * @return The result, with the output message to the user.
      */
     @Override
-    public String execute(TaskList tasks, Ui ui, Storage storage) {
+    public CommandResult execute(TaskList tasks, Ui ui, Storage storage) {
         tasks.add(t);
-        storage.saveTasks();
-        return ui.showAddTask(t, tasks.getCount());
+        storage.recordAdd(t);
+        return CommandResult.changed(ui.showAddTask(t, tasks.getCount()));
+    }
+
+    /**
+     * Returns the record of the added deadline task.
+     * @return The undo log record.
+     */
+    @Override
+    public String toUndoRecord() {
+        return RestoredCommand.addRecord(t);
     }
 
     /**
@@ -51,8 +61,11 @@ public class DeadlineCommand extends Command {
      */
     @Override
     public String undo(TaskList tasks, Ui ui, Storage storage) {
-        tasks.remove(t);
-        storage.saveTasks();
+        int index = tasks.lastIndexOf(t);
+        if (index >= 0) {
+            tasks.delete(index);
+            storage.recordDelete(index);
+        }
         return ui.showTaskRemoved(t, tasks.getCount());
     }
 }
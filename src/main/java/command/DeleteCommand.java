@@ -23,23 +23,41 @@ public class DeleteCommand extends Command {
         this.num = num;
     }
 
+    /**
+     * Returns the estimated size of the deleted task, which is kept only so that it can be added back.
+     * @return Estimated size in bytes, or 0 if nothing was deleted.
+     */
+    @Override
+    public long estimateUndoSize() {
+        return deletedTask == null ? 0 : deletedTask.estimateSize();
+    }
+
+    /**
+     * Returns the record of the deleted task and where it was.
+     * @return The undo log record, or null if nothing was deleted.
+     */
+    @Override
+    public String toUndoRecord() {
+        return deletedTask == null ? null : RestoredCommand.deleteRecord(num - 1, deletedTask);
+    }
+
     /**
      * Executes the command by deleting the task at the specified index,
      * updating the storage, and notifying the user through the UI.
      * @param tasks The task list to operate on.
      * @param ui The user interface for displaying results.
      * @param storage The storage handler for saving changes.
-     * @return String output message to the user after executing command.
+     * @return The result, with the output message to the user.
      */
     @Override
-    public String execute(TaskList tasks, Ui ui, Storage storage) {
+    public CommandResult execute(TaskList tasks, Ui ui, Storage storage) {
         if (num <= tasks.getCount()) {
             deletedTask = tasks.getTask(num - 1);
             tasks.delete(num - 1);
-            storage.saveTasks();
-            return ui.showTaskRemoved(deletedTask, tasks.getCount());
+            storage.recordDelete(num - 1);
+            return CommandResult.changed(ui.showTaskRemoved(deletedTask, tasks.getCount()));
         } else {
-            return ui.showError(new RotomException("Task number out of range!"));
+            return CommandResult.failed(ui.showError(new RotomException("Task number out of range!")));
         }
     }
 
@@ -55,7 +73,7 @@ public class DeleteCommand extends Command {
         if (num <= tasks.getCount()) {
             int index = num - 1;
             tasks.addAtIndex(deletedTask, index);
-            storage.saveTasks();
+            storage.recordInsert(deletedTask, index);
             return ui.showAddTask(deletedTask, tasks.getCount());
         } else {
             return ui.showError(new RotomException("Task number out of range to undo!"));
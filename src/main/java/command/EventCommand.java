@@ -2,6 +2,7 @@ package command;
 
 import java.time.LocalDateTime;
 
+import model.DescriptionPool;
 import model.Event;
 import model.Task;
 import model.TaskList;
@@ -22,7 +23,7 @@ public class EventCommand extends Command {
      * @param to the ending date and time of the event.
      */
     public EventCommand(String desc, LocalDateTime from, LocalDateTime to) {
-        this.t = new Event(desc, from, to);
+        this.t = new Event(DescriptionPool.intern(desc), from, to);
     }
 
     /**
@@ -32,13 +33,22 @@ public class EventCommand extends Command {
      * @param tasks The task list to operate on.
      * @param ui The user interface for displaying results.
      * @param storage The storage handler for saving changes.
-     * @return String output message to the user after executing command.
+     * @return The result, with the output message to the user.
      */
     @Override
-    public String execute(TaskList tasks, Ui ui, Storage storage) {
+    public CommandResult execute(TaskList tasks, Ui ui, Storage storage) {
         tasks.add(t);
-        storage.saveTasks();
-        return ui.showAddTask(t, tasks.getCount());
+        storage.recordAdd(t);
+        return CommandResult.changed(ui.showAddTask(t, tasks.getCount()));
+    }
+
+    /**
+     * Returns the record of the added event task.
+     * @return The undo log record.
+     */
+    @Override
+    public String toUndoRecord() {
+        return RestoredCommand.addRecord(t);
     }
 
     /**
@@ -50,8 +60,11 @@ public class EventCommand extends Command {
      */
     @Override
     public String undo(TaskList tasks, Ui ui, Storage storage) {
-        tasks.remove(t);
-        storage.saveTasks();
+        int index = tasks.lastIndexOf(t);
+        if (index >= 0) {
+            tasks.delete(index);
+            storage.recordDelete(index);
+        }
         return ui.showTaskRemoved(t, tasks.getCount());
     }
 }
@@ -0,0 +1,42 @@
+package command;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for executing one command, tagged with the class of the command.
+ * Storage events recorded on the same thread during this event were caused by the command.
+ */
+@Name("rotom.Execute")
+@Label("Execute Command")
+@Category("Rotom")
+@Description("Execution of one command against the task list, including writing its changes")
+@StackTrace(false)
+public final class ExecuteEvent extends jdk.jfr.Event {
+    @Label("Command Class")
+    private final Class<?> commandClass;
+    @Label("Mutated")
+    @Description("Whether the command changed the task list")
+    private boolean isMutated;
+
+    /**
+     * Constructs the event for a command and starts timing it.
+     * @param command The command about to be executed.
+     */
+    public ExecuteEvent(Command command) {
+        this.commandClass = command.getClass();
+        begin();
+    }
+
+    /**
+     * Ends the event after the command was executed, and records it if it is enabled.
+     * @param result The result of the command.
+     */
+    public void end(CommandResult result) {
+        this.isMutated = result.isMutated();
+        commit();
+    }
+}
@@ -12,16 +12,17 @@ import ui.Ui;
 public class ExitCommand extends Command {
 
     /**
-     * Executes the exit command by displaying a goodbye message
-     * to the user.
+     * Executes the exit command by writing any changes that are still pending
+     * and displaying a goodbye message to the user.
      * @param tasks The task list to operate on.
      * @param ui The user interface for displaying results.
      * @param storage The storage handler for saving changes.
-     * @return String output message to the user after executing command.
+     * @return The result, with the output message to the user.
      */
     @Override
-    public String execute(TaskList tasks, Ui ui, Storage storage) {
-        return ui.showGoodbye();
+    public CommandResult execute(TaskList tasks, Ui ui, Storage storage) {
+        storage.flush();
+        return CommandResult.exit(ui.showGoodbye());
     }
 
     /**
@@ -11,13 +11,34 @@ import ui.Ui;
  */
 public class FindCommand extends Command {
     private final String misc;
+    private final int limit;
 
     /**
      * Constructs a {@code FindCommand} with the specified search keyword or phrase.
      * @param misc Keyword or phrase to search for in task description.
      */
     public FindCommand(String misc) {
+        this(misc, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Constructs a {@code FindCommand} that shows at most the given number of matching tasks.
+     * @param misc Keyword or phrase to search for in task description.
+     * @param limit Most matching tasks to show.
+     */
+    public FindCommand(String misc, int limit) {
+        assert limit > 0 : "Limit must be positive";
         this.misc = misc;
+        this.limit = limit;
+    }
+
+    /**
+     * Returns true, since this command only reads the task list.
+     * @return {@code true}.
+     */
+    @Override
+    public boolean isReadOnly() {
+        return true;
     }
 
     /**
@@ -27,11 +48,12 @@ public class FindCommand extends Command {
      * @param tasks The task list to operate on.
      * @param ui The user interface for displaying results.
      * @param storage The storage handler for saving changes.
-     * @return String output message to the user after executing command.
+     * @return The result, with the output message to the user.
      */
     @Override
-    public String execute(TaskList tasks, Ui ui, Storage storage) {
-        return ui.showTaskSearched(tasks.filter(misc));
+    public CommandResult execute(TaskList tasks, Ui ui, Storage storage) {
+        TaskList res = tasks.filter(misc);
+        return CommandResult.streamed(out -> ui.writeTaskSearched(out, res, limit));
     }
 
     /**
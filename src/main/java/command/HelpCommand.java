@@ -11,17 +11,26 @@ import ui.Ui;
  */
 public class HelpCommand extends Command {
 
+    /**
+     * Returns true, since this command only reads the task list.
+     * @return {@code true}.
+     */
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
     /**
      * Executes the help command by displaying instructions
      * and commands to the user.
      * @param tasks The task list to operate on.
      * @param ui The user interface for displaying results.
      * @param storage The storage handler for saving changes.
-     * @return String output message to the user after executing command.
+     * @return The result, with the output message to the user.
      */
     @Override
-    public String execute(TaskList tasks, Ui ui, Storage storage) {
-        return ui.showHelp();
+    public CommandResult execute(TaskList tasks, Ui ui, Storage storage) {
+        return CommandResult.unchanged(ui.showHelp());
     }
 
     /**
@@ -6,22 +6,62 @@ import storage.Storage;
 import ui.Ui;
 
 /**
- * Represents a command to list all tasks in the task list.
- * Displays all tasks to the user when executed.
+ * Represents a command to list all tasks in the task list, or one page of them.
+ * Displays the tasks to the user when executed.
  */
 public class ListCommand extends Command {
+    /** Number of tasks on each page when only a page number is given. */
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int UNPAGED = 0;
+    private final int page;
+    private final int pageSize;
+
+    /**
+     * Constructs a {@code ListCommand} that lists every task.
+     */
+    public ListCommand() {
+        this(UNPAGED, UNPAGED);
+    }
+
+    /**
+     * Constructs a {@code ListCommand} that lists one page of tasks.
+     * @param page Number of the page, starting from 1.
+     * @param pageSize Number of tasks on each page.
+     */
+    public ListCommand(int page, int pageSize) {
+        assert page >= 0 && pageSize >= 0 : "Page and page size cannot be negative";
+        this.page = page;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Returns true, since this command only reads the task list.
+     * @return {@code true}.
+     */
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
 
     /**
      * Executes the list command by displaying all tasks
-     * currently stored in the task list.
+     * currently stored in the task list, or the requested page of them.
      * @param tasks The task list to operate on.
      * @param ui The user interface for displaying results.
      * @param storage The storage handler for saving changes.
-     * @return String output message to the user after executing command.
+     * @return The result, with the output message to the user.
      */
     @Override
-    public String execute(TaskList tasks, Ui ui, Storage storage) {
-        return ui.showList(tasks, null);
+    public CommandResult execute(TaskList tasks, Ui ui, Storage storage) {
+        if (pageSize == UNPAGED) {
+            return CommandResult.streamed(out -> ui.writeList(out, tasks, null));
+        }
+        int pageCount = Ui.getPageCount(tasks.getCount(), pageSize);
+        if (page > pageCount) {
+            return CommandResult.unchanged(ui.showError(new RotomException("Page " + page
+                    + " is out of range! There are " + pageCount + " pages.")));
+        }
+        return CommandResult.streamed(out -> ui.writePage(out, tasks, page, pageSize));
     }
 
     /**
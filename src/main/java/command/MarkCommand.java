@@ -20,6 +20,15 @@ public class MarkCommand extends Command {
         this.num = num;
     }
 
+    /**
+     * Returns the record of the marked task's index.
+     * @return The undo log record.
+     */
+    @Override
+    public String toUndoRecord() {
+        return RestoredCommand.markRecord(true, num - 1);
+    }
+
     /**
      * Executes the mark command by marking the specified task
      * as done and updating the storage. The task's updated status
@@ -27,16 +36,16 @@ public class MarkCommand extends Command {
      * @param tasks The task list to operate on.
      * @param ui The user interface for displaying results.
      * @param storage The storage handler for saving changes.
-     * @return String output message to the user after executing command.
+     * @return The result, with the output message to the user.
      */
     @Override
-    public String execute(TaskList tasks, Ui ui, Storage storage) {
+    public CommandResult execute(TaskList tasks, Ui ui, Storage storage) {
         if (num <= tasks.getCount()) {
             tasks.mark(num - 1);
-            storage.saveTasks();
-            return ui.showTaskMarked(tasks.getTask(num - 1));
+            storage.recordMark(num - 1);
+            return CommandResult.changed(ui.showTaskMarked(tasks.getTask(num - 1)));
         } else {
-            return ui.showError(new RotomException("Task number out of range!"));
+            return CommandResult.failed(ui.showError(new RotomException("Task number out of range!")));
         }
     }
 
@@ -51,7 +60,7 @@ public class MarkCommand extends Command {
     public String undo(TaskList tasks, Ui ui, Storage storage) {
         if (num <= tasks.getCount()) {
             tasks.unmark(num - 1);
-            storage.saveTasks();
+            storage.recordUnmark(num - 1);
             return ui.showTaskUnmarked(tasks.getTask(num - 1));
         } else {
             return ui.showError(new RotomException("Task number out of range to undo!"));
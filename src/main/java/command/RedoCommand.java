@@ -0,0 +1,47 @@
+package command;
+
+import exception.RotomException;
+import model.TaskList;
+import storage.Storage;
+import ui.Ui;
+
+/**
+ * Represents a command to redo the most recently undone command.
+ */
+public class RedoCommand extends Command {
+    private final CommandHistory history;
+
+    public RedoCommand(CommandHistory history) {
+        this.history = history;
+    }
+
+    /**
+     * Executes the most recently undone command again.
+     * @param tasks The task list to operate on.
+     * @param ui The user interface for displaying results.
+     * @param storage The storage handler for saving changes.
+     * @return The result, with the message of the redone command.
+     */
+    @Override
+    public CommandResult execute(TaskList tasks, Ui ui, Storage storage) {
+        Command undoneCommand = history.popUndone();
+        if (undoneCommand == null) {
+            return CommandResult.unchanged(ui.showError(new RotomException("Nothing to redo.")));
+        }
+        CommandResult result = undoneCommand.execute(tasks, ui, storage);
+        history.pushRedone(undoneCommand);
+        return CommandResult.changed(result.getResponse(), false);
+    }
+
+    /**
+     * Not applicable for this command.
+     * @param tasks The task list to operate on.
+     * @param ui The user interface for displaying results.
+     * @param storage The storage handler for saving changes.
+     * @return Not able to undo message.
+     */
+    @Override
+    public String undo(TaskList tasks, Ui ui, Storage storage) {
+        return ui.showError(new RotomException("Cannot undo 'redo' command."));
+    }
+}
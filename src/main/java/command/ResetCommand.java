@@ -1,5 +1,7 @@
 package command;
 
+import java.util.List;
+
 import model.Task;
 import model.TaskList;
 import storage.Storage;
@@ -11,7 +13,29 @@ import ui.Ui;
  */
 public class ResetCommand extends Command {
 
-    private TaskList originalTasks;
+    private static final long ARRAY_SIZE = 16;
+    private static final long REFERENCE_SIZE = 4;
+    // Snapshot of the cleared tasks, which shares the tasks themselves so that undo restores the same objects
+    private List<Task> originalTasks;
+    private long undoSize;
+
+    /**
+     * Returns the estimated size of the cleared tasks, which are kept only so that they can be restored.
+     * @return Estimated size in bytes, or 0 before the command runs.
+     */
+    @Override
+    public long estimateUndoSize() {
+        return undoSize;
+    }
+
+    /**
+     * Returns the record of the cleared tasks.
+     * @return The undo log record, or null before the command runs.
+     */
+    @Override
+    public String toUndoRecord() {
+        return originalTasks == null ? null : RestoredCommand.resetRecord(originalTasks);
+    }
 
     /**
      * Executes the reset command by clearing all tasks
@@ -20,18 +44,18 @@ public class ResetCommand extends Command {
      * @param tasks The task list to operate on.
      * @param ui The user interface for displaying results.
      * @param storage The storage handler for saving changes.
-     * @return String output message to the user after executing command.
+     * @return The result, with the output message to the user.
      */
     @Override
-    public String execute(TaskList tasks, Ui ui, Storage storage) {
-        this.originalTasks = new TaskList();
-        for (int i = 0; i < tasks.getCount(); i++) {
-            Task originalTask = tasks.getTask(i);
-            this.originalTasks.add(originalTask);
+    public CommandResult execute(TaskList tasks, Ui ui, Storage storage) {
+        this.originalTasks = tasks.snapshot();
+        this.undoSize = ARRAY_SIZE + REFERENCE_SIZE * originalTasks.size();
+        for (Task originalTask : originalTasks) {
+            this.undoSize += originalTask.estimateSize();
         }
-        storage.clearFile();
         tasks.clear();
-        return ui.showTaskCleared();
+        storage.recordReset();
+        return CommandResult.changed(ui.showTaskCleared());
     }
 
     /**
@@ -44,9 +68,7 @@ public class ResetCommand extends Command {
     @Override
     public String undo(TaskList tasks, Ui ui, Storage storage) {
         tasks.clear();
-        for (int i = 0; i < originalTasks.getCount(); i++) {
-            tasks.add(originalTasks.getTask(i));
-        }
+        tasks.addAll(originalTasks);
         storage.saveTasks();
         return ui.showTaskAllAdded();
     }
@@ -0,0 +1,17 @@
+package command;
+
+import java.io.IOException;
+
+/**
+ * Writes a response piece by piece, so that long listings can go straight to the console
+ * instead of being built as one string first.
+ */
+@FunctionalInterface
+public interface ResponseWriter {
+    /**
+     * Writes the response.
+     * @param out Where to write the response.
+     * @throws IOException If the response cannot be written.
+     */
+    void writeTo(Appendable out) throws IOException;
+}
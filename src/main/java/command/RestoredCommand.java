@@ -0,0 +1,251 @@
+package command;
+
+import java.util.Arrays;
+import java.util.List;
+
+import exception.RotomException;
+import model.Task;
+import model.TaskList;
+import storage.Storage;
+import storage.UndoLog;
+import ui.Ui;
+
+/**
+ * Represents a command from an earlier session, rebuilt from its undo log record so that it can
+ * still be undone and redone.
+ * Each record holds just enough to reverse the command: the task that was added, the index and
+ * task that were deleted, the index that was marked or unmarked, or the tasks that were reset.
+ */
+class RestoredCommand extends Command {
+    static final String RECORD_ADD = "ADD";
+    static final String RECORD_DELETE = "DELETE";
+    static final String RECORD_MARK = "MARK";
+    static final String RECORD_UNMARK = "UNMARK";
+    static final String RECORD_RESET = "RESET";
+    static final String RECORD_NONE = "NONE";
+    private static final String RECORD_DELIMITER = " | ";
+    private static final String ERROR_CANNOT_UNDO = "Cannot undo this command.";
+    private static final String ERROR_OUT_OF_RANGE = "Task number out of range to undo!";
+    private final String kind;
+    private final int index;
+    private final Task[] records;
+
+    private RestoredCommand(String kind, int index, Task... records) {
+        this.kind = kind;
+        this.index = index;
+        this.records = records;
+    }
+
+    /**
+     * Returns the record of a command that added a task to the end of the list.
+     * @param task The added task.
+     * @return The undo log record.
+     */
+    static String addRecord(Task task) {
+        return RECORD_ADD + RECORD_DELIMITER + UndoLog.formatTask(task);
+    }
+
+    /**
+     * Returns the record of a command that deleted a task.
+     * @param index Index the task was deleted from.
+     * @param task The deleted task.
+     * @return The undo log record.
+     */
+    static String deleteRecord(int index, Task task) {
+        return RECORD_DELETE + RECORD_DELIMITER + index + RECORD_DELIMITER + UndoLog.formatTask(task);
+    }
+
+    /**
+     * Returns the record of a command that marked or unmarked a task.
+     * @param isMark true if the task was marked as done.
+     * @param index Index of the task.
+     * @return The undo log record.
+     */
+    static String markRecord(boolean isMark, int index) {
+        return (isMark ? RECORD_MARK : RECORD_UNMARK) + RECORD_DELIMITER + index;
+    }
+
+    /**
+     * Returns the record of a command that cleared the list, with one line for each cleared task.
+     * @param tasks The cleared tasks.
+     * @return The undo log record.
+     */
+    static String resetRecord(List<Task> tasks) {
+        StringBuilder sb = new StringBuilder(RECORD_RESET);
+        for (Task task : tasks) {
+            sb.append('\n').append(UndoLog.formatTask(task));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Rebuilds a command from its undo log record.
+     * @param record The record, as returned by {@link Command#toUndoRecord()}.
+     * @param log The log the record was read from, used to read its tasks.
+     * @return The rebuilt command.
+     * @throws RotomException If the record is malformed.
+     */
+    static RestoredCommand parse(String record, UndoLog log) throws RotomException {
+        String[] lines = record.split("\n");
+        String[] parts = lines[0].split(" \\| ", 3);
+        try {
+            return switch (parts[0].trim()) {
+            case RECORD_ADD -> new RestoredCommand(RECORD_ADD, -1,
+                    log.parseTask(lines[0].substring(lines[0].indexOf('|') + 1)));
+            case RECORD_DELETE -> new RestoredCommand(RECORD_DELETE, Integer.parseInt(parts[1].trim()),
+                    log.parseTask(parts[2]));
+            case RECORD_MARK, RECORD_UNMARK -> new RestoredCommand(parts[0].trim(),
+                    Integer.parseInt(parts[1].trim()));
+            case RECORD_RESET -> {
+                Task[] tasks = new Task[lines.length - 1];
+                for (int i = 1; i < lines.length; i++) {
+                    tasks[i - 1] = log.parseTask(lines[i]);
+                }
+                yield new RestoredCommand(RECORD_RESET, -1, tasks);
+            }
+            case RECORD_NONE -> new RestoredCommand(RECORD_NONE, -1);
+            default -> throw new RotomException("Unknown undo record: " + lines[0]);
+            };
+        } catch (IndexOutOfBoundsException | NumberFormatException e) {
+            throw new RotomException("Invalid undo record: " + lines[0]);
+        }
+    }
+
+    /**
+     * Returns a command that cannot be undone, standing in for a record that could not be read.
+     * @return The placeholder command.
+     */
+    static RestoredCommand none() {
+        return new RestoredCommand(RECORD_NONE, -1);
+    }
+
+    @Override
+    public String toUndoRecord() {
+        return switch (kind) {
+        case RECORD_ADD -> addRecord(records[0]);
+        case RECORD_DELETE -> deleteRecord(index, records[0]);
+        case RECORD_MARK, RECORD_UNMARK -> markRecord(RECORD_MARK.equals(kind), index);
+        case RECORD_RESET -> resetRecord(Arrays.asList(records));
+        default -> RECORD_NONE;
+        };
+    }
+
+    @Override
+    public long estimateUndoSize() {
+        long size = 0;
+        for (Task task : records) {
+            size += task.estimateSize();
+        }
+        return size;
+    }
+
+    /**
+     * Applies the command again, as when it is redone.
+     * @param tasks The task list to operate on.
+     * @param ui The user interface for displaying results.
+     * @param storage The storage handler for saving changes.
+     * @return The result, with the output message to the user.
+     */
+    @Override
+    public CommandResult execute(TaskList tasks, Ui ui, Storage storage) {
+        return switch (kind) {
+        case RECORD_ADD -> {
+            tasks.add(records[0]);
+            storage.recordAdd(records[0]);
+            yield CommandResult.changed(ui.showAddTask(records[0], tasks.getCount()));
+        }
+        case RECORD_DELETE -> {
+            if (index >= tasks.getCount()) {
+                yield CommandResult.failed(ui.showError(new RotomException("Task number out of range!")));
+            }
+            Task deleted = tasks.getTask(index);
+            tasks.delete(index);
+            storage.recordDelete(index);
+            yield CommandResult.changed(ui.showTaskRemoved(deleted, tasks.getCount()));
+        }
+        case RECORD_MARK, RECORD_UNMARK -> {
+            boolean isInRange = index < tasks.getCount();
+            String response = setDone(tasks, ui, storage, RECORD_MARK.equals(kind), "Task number out of range!");
+            yield isInRange ? CommandResult.changed(response) : CommandResult.failed(response);
+        }
+        case RECORD_RESET -> {
+            tasks.clear();
+            storage.recordReset();
+            yield CommandResult.changed(ui.showTaskCleared());
+        }
+        default -> CommandResult.failed(ui.showError(new RotomException("Cannot redo this command.")));
+        };
+    }
+
+    /**
+     * Reverses the command.
+     * @param tasks The task list to operate on.
+     * @param ui The user interface for displaying results.
+     * @param storage The storage handler for saving changes.
+     * @return String output message to the user after executing command.
+     */
+    @Override
+    public String undo(TaskList tasks, Ui ui, Storage storage) {
+        return switch (kind) {
+        case RECORD_ADD -> {
+            int added = findAdded(tasks);
+            if (added < 0) {
+                yield ui.showError(new RotomException(ERROR_CANNOT_UNDO));
+            }
+            Task task = tasks.getTask(added);
+            tasks.delete(added);
+            storage.recordDelete(added);
+            yield ui.showTaskRemoved(task, tasks.getCount());
+        }
+        case RECORD_DELETE -> {
+            if (index > tasks.getCount()) {
+                yield ui.showError(new RotomException(ERROR_OUT_OF_RANGE));
+            }
+            tasks.addAtIndex(records[0], index);
+            storage.recordInsert(records[0], index);
+            yield ui.showAddTask(records[0], tasks.getCount());
+        }
+        case RECORD_MARK, RECORD_UNMARK ->
+                setDone(tasks, ui, storage, !RECORD_MARK.equals(kind), ERROR_OUT_OF_RANGE);
+        case RECORD_RESET -> {
+            tasks.clear();
+            tasks.addAll(Arrays.asList(records));
+            storage.saveTasks();
+            yield ui.showTaskAllAdded();
+        }
+        default -> ui.showError(new RotomException(ERROR_CANNOT_UNDO));
+        };
+    }
+
+    /**
+     * Marks or unmarks the task at this command's index.
+     * @param tasks The task list to operate on.
+     * @param ui The user interface for displaying results.
+     * @param storage The storage handler for saving changes.
+     * @param isDone true to mark the task as done, false to mark it as not done.
+     * @param outOfRangeMessage Error shown if the index is not in the list.
+     * @return String output message to the user.
+     */
+    private String setDone(TaskList tasks, Ui ui, Storage storage, boolean isDone, String outOfRangeMessage) {
+        if (index >= tasks.getCount()) {
+            return ui.showError(new RotomException(outOfRangeMessage));
+        }
+        if (isDone) {
+            tasks.mark(index);
+            storage.recordMark(index);
+            return ui.showTaskMarked(tasks.getTask(index));
+        }
+        tasks.unmark(index);
+        storage.recordUnmark(index);
+        return ui.showTaskUnmarked(tasks.getTask(index));
+    }
+
+    /**
+     * Finds the task this command added, which is normally the last one unless the list was sorted since.
+     * @param tasks The task list to search.
+     * @return Index of the last task equal to the added one, or -1 if there is none.
+     */
+    private int findAdded(TaskList tasks) {
+        return tasks.lastIndexOf(records[0]);
+    }
+}
@@ -8,33 +8,56 @@ import storage.Storage;
 import ui.Ui;
 
 /**
- * Represents a command to show tasks for a specific date.
- * Filters tasks based on the provided date.
+ * Represents a command to show tasks for a specific date or range of dates.
+ * Filters tasks based on the provided dates.
  */
 public class ShowCommand extends Command {
 
-    private final LocalDate date;
+    private final LocalDate from;
+    private final LocalDate to;
 
     /**
      * Constructs a {@code ShowCommand} with the specified date.
      * @param date the date to filter tasks by.
      */
     public ShowCommand(LocalDate date) {
-        this.date = date;
+        this(date, date);
     }
 
     /**
-     * Executes the show command by filtering tasks for the specified date
+     * Constructs a {@code ShowCommand} with the specified range of dates.
+     * @param from the first date to filter tasks by.
+     * @param to the last date to filter tasks by, inclusive.
+     */
+    public ShowCommand(LocalDate from, LocalDate to) {
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Returns true, since this command only reads the task list.
+     * @return {@code true}.
+     */
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
+    /**
+     * Executes the show command by filtering tasks for the specified dates
      * and displaying them to the user.
      * @param tasks The task list to operate on.
      * @param ui The user interface for displaying results.
      * @param storage The storage handler for saving changes.
-     * @return String output message to the user after executing command.
+     * @return The result, with the output message to the user.
      */
     @Override
-    public String execute(TaskList tasks, Ui ui, Storage storage) {
-        TaskList res = tasks.filter(date);
-        return ui.showList(res, date);
+    public CommandResult execute(TaskList tasks, Ui ui, Storage storage) {
+        TaskList res = tasks.filter(from, to);
+        if (from.equals(to)) {
+            return CommandResult.streamed(out -> ui.writeList(out, res, from));
+        }
+        return CommandResult.streamed(out -> ui.writeList(out, res, from, to));
     }
 
     /**
@@ -17,12 +17,13 @@ public class SortCommand extends Command {
      * @param tasks The task list to operate on.
      * @param ui The user interface for displaying results.
      * @param storage The storage handler for saving changes.
-     * @return String output message to the user after executing command.
+     * @return The result, with the output message to the user.
      */
     @Override
-    public String execute(TaskList tasks, Ui ui, Storage storage) {
+    public CommandResult execute(TaskList tasks, Ui ui, Storage storage) {
         tasks.sort();
-        return ui.showTaskSorted();
+        storage.recordSort();
+        return CommandResult.changed(ui.showTaskSorted(), false);
     }
 
     /**
@@ -0,0 +1,58 @@
+package command;
+
+import exception.RotomException;
+import model.TaskList;
+import storage.Storage;
+import ui.Ui;
+
+/**
+ * Represents a command to display how long commands have taken to parse, execute and persist.
+ */
+public class StatsCommand extends Command {
+    private final CommandMetrics metrics;
+
+    /**
+     * Constructs a StatsCommand that reports the given metrics.
+     * @param metrics The metrics recorded for this chatbot.
+     */
+    public StatsCommand(CommandMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Returns true, since this command only reads the task list.
+     * @return {@code true}.
+     */
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
+    /**
+     * Executes the stats command by displaying the recorded metrics, or how to enable them.
+     * @param tasks The task list to operate on.
+     * @param ui The user interface for displaying results.
+     * @param storage The storage handler for saving changes.
+     * @return The result, with the output message to the user.
+     */
+    @Override
+    public CommandResult execute(TaskList tasks, Ui ui, Storage storage) {
+        if (!metrics.isEnabled()) {
+            return CommandResult.unchanged(ui.showError(
+                    new RotomException("Stats are off! Start Rotom with --metrics <file> to record them.")));
+        }
+        return CommandResult.unchanged(ui.showStats(metrics.toReport()));
+    }
+
+    /**
+     * Not applicable for this command.
+     * @param tasks The task list to operate on.
+     * @param ui The user interface for displaying results.
+     * @param storage The storage handler for saving changes.
+     * @return Not able to undo message.
+     */
+    @Override
+    public String undo(TaskList tasks, Ui ui, Storage storage) {
+        return ui.showError(new RotomException("Cannot undo 'stats' command."));
+    }
+}
@@ -1,5 +1,6 @@
 package command;
 
+import model.DescriptionPool;
 import model.Task;
 import model.TaskList;
 import model.Todo;
@@ -17,7 +18,7 @@ public class TodoCommand extends Command {
      * @param misc the description of the todo task.
      */
     public TodoCommand(String misc) {
-        this.t = new Todo(misc);
+        this.t = new Todo(DescriptionPool.intern(misc));
     }
 
     /**
@@ -27,13 +28,22 @@ public class TodoCommand extends Command {
      * @param tasks The task list to operate on.
      * @param ui The user interface for displaying results.
      * @param storage The storage handler for saving changes.
-     * @return String output message to the user after executing command.
+     * @return The result, with the output message to the user.
      */
     @Override
-    public String execute(TaskList tasks, Ui ui, Storage storage) {
+    public CommandResult execute(TaskList tasks, Ui ui, Storage storage) {
         tasks.add(t);
-        storage.saveTasks();
-        return ui.showAddTask(t, tasks.getCount());
+        storage.recordAdd(t);
+        return CommandResult.changed(ui.showAddTask(t, tasks.getCount()));
+    }
+
+    /**
+     * Returns the record of the added todo task.
+     * @return The undo log record.
+     */
+    @Override
+    public String toUndoRecord() {
+        return RestoredCommand.addRecord(t);
     }
 
     /**
@@ -45,8 +55,11 @@ public class TodoCommand extends Command {
      */
     @Override
     public String undo(TaskList tasks, Ui ui, Storage storage) {
-        tasks.remove(t);
-        storage.saveTasks();
+        int index = tasks.lastIndexOf(t);
+        if (index >= 0) {
+            tasks.delete(index);
+            storage.recordDelete(index);
+        }
         return ui.showTaskRemoved(t, tasks.getCount());
     }
 }
@@ -19,15 +19,18 @@ public class UndoCommand extends Command {
      * @param tasks The task list to operate on.
      * @param ui The user interface for displaying results.
      * @param storage The storage handler for saving changes.
-     * @return The string message opposite of the previous command.
+     * @return The result, with the message opposite of the previous command.
      */
     @Override
-    public String execute(TaskList tasks, Ui ui, Storage storage) {
-        Command lastCommand = history.pop();
+    public CommandResult execute(TaskList tasks, Ui ui, Storage storage) {
+        Command lastCommand = history.peek();
         if (lastCommand != null) {
-            return lastCommand.undo(tasks, ui, storage);
+            // Undo before popping, so the undo log entry follows the change it records
+            String message = lastCommand.undo(tasks, ui, storage);
+            history.pop();
+            return CommandResult.changed(message, false);
         } else {
-            return ui.showError(new RotomException("Nothing to undo."));
+            return CommandResult.unchanged(ui.showError(new RotomException("Nothing to undo.")));
         }
     }
 
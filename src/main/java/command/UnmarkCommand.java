@@ -19,22 +19,31 @@ public class UnmarkCommand extends Command {
         this.num = num;
     }
 
+    /**
+     * Returns the record of the unmarked task's index.
+     * @return The undo log record.
+     */
+    @Override
+    public String toUndoRecord() {
+        return RestoredCommand.markRecord(false, num - 1);
+    }
+
     /**
      * Executes the unmark command by marking the specified task as incomplete,
      * saving the updated task list, and displaying a confirmation message to the user.
      * @param tasks The task list to operate on.
      * @param ui The user interface for displaying results.
      * @param storage The storage handler for saving changes.
-     * @return String output message to the user after executing command.
+     * @return The result, with the output message to the user.
      */
     @Override
-    public String execute(TaskList tasks, Ui ui, Storage storage) {
+    public CommandResult execute(TaskList tasks, Ui ui, Storage storage) {
         if (num <= tasks.getCount()) {
             tasks.unmark(num - 1);
-            storage.saveTasks();
-            return ui.showTaskUnmarked(tasks.getTask(num - 1));
+            storage.recordUnmark(num - 1);
+            return CommandResult.changed(ui.showTaskUnmarked(tasks.getTask(num - 1)));
         } else {
-            return ui.showError(new RotomException("Task number out of range!"));
+            return CommandResult.failed(ui.showError(new RotomException("Task number out of range!")));
         }
     }
 
@@ -49,7 +58,7 @@ public class UnmarkCommand extends Command {
     public String undo(TaskList tasks, Ui ui, Storage storage) {
         if (num <= tasks.getCount()) {
             tasks.mark(num - 1);
-            storage.saveTasks();
+            storage.recordMark(num - 1);
             return ui.showTaskMarked(tasks.getTask(num - 1));
         } else {
             return ui.showError(new RotomException("Task number out of range!"));
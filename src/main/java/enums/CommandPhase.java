@@ -0,0 +1,10 @@
+package enums;
+
+/**
+ * Enumerations for the phases of handling a command that are timed separately.
+ */
+public enum CommandPhase {
+    PARSE,
+    EXECUTE,
+    PERSIST
+}
@@ -0,0 +1,70 @@
+package enums;
+
+/**
+ * Enumerations for the keywords that start a command.
+ */
+public enum CommandWord {
+    BYE("bye"),
+    HELP("help"),
+    SORT("sort"),
+    RESET("reset"),
+    LIST("list"),
+    UNDO("undo"),
+    REDO("redo"),
+    STATS("stats"),
+    FIND("find"),
+    SHOW("show"),
+    MARK("mark"),
+    UNMARK("unmark"),
+    DELETE("delete"),
+    TODO("todo"),
+    DEADLINE("deadline"),
+    EVENT("event");
+
+    private static final CommandWord[] ALL = values();
+    private final String word;
+
+    CommandWord(String word) {
+        this.word = word;
+    }
+
+    /**
+     * Returns the keyword as typed by the user, in lower case.
+     * @return The keyword.
+     */
+    public String getWord() {
+        return word;
+    }
+
+    /**
+     * Returns the command word spelled by part of the input, ignoring the case of ASCII letters.
+     * @param input Text holding the word.
+     * @param from Index of the first character of the word.
+     * @param to Index just past the last character of the word.
+     * @return The matching command word, or null if there is none.
+     */
+    public static CommandWord match(CharSequence input, int from, int to) {
+        for (CommandWord commandWord : ALL) {
+            if (commandWord.matches(input, from, to)) {
+                return commandWord;
+            }
+        }
+        return null;
+    }
+
+    private boolean matches(CharSequence input, int from, int to) {
+        if (to - from != word.length()) {
+            return false;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            char c = input.charAt(from + i);
+            if (c >= 'A' && c <= 'Z') {
+                c = (char) (c + ('a' - 'A'));
+            }
+            if (c != word.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
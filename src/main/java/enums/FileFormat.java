@@ -0,0 +1,9 @@
+package enums;
+
+/**
+ * Enumerations for the on-disk formats of the storage file.
+ */
+public enum FileFormat {
+    TEXT,
+    BINARY
+}
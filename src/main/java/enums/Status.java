@@ -1,9 +0,0 @@
-package enums;
-
-/**
- * Enumerations for status types.
- */
-public enum Status {
-    DONE,
-    NOT_DONE
-}
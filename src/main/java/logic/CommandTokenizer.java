@@ -0,0 +1,212 @@
+package logic;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.Year;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+
+/**
+ * Scans the parts of a command in place, using index ranges into the input instead of
+ * splitting it into new strings.
+ * Numbers and dates in their usual form ({@code 12}, {@code 2025-12-12}, {@code 2025-12-12 15:00})
+ * are read digit by digit and rejected by returning a sentinel rather than by throwing,
+ * so a well-formed command allocates nothing but the values the command keeps.
+ * Less common forms, such as signed numbers or years, are handed to the library parsers
+ * so that exactly the same inputs are accepted as before.
+ */
+final class CommandTokenizer {
+    /** Value returned by {@link #parseInt} for text that is not an int. */
+    static final long NOT_A_NUMBER = Long.MIN_VALUE;
+    private static final DateTimeFormatter DATE_TIME_FORMATTER =
+            DateTimeFormatter.ofPattern("uuuu-MM-dd HH:mm").withResolverStyle(ResolverStyle.STRICT);
+    private static final int DATE_LENGTH = 10; // uuuu-MM-dd
+    private static final int DATE_TIME_LENGTH = 16; // uuuu-MM-dd HH:mm
+    private static final int MAX_PLAIN_DIGITS = 9; // fits in an int without overflow checks
+
+    private CommandTokenizer() {
+    }
+
+    /**
+     * Returns the index of the first character at or after {@code from} that is not whitespace
+     * in the sense of {@link String#trim()}.
+     * @param input Text to scan.
+     * @param from Index to start at.
+     * @param to Index to stop at.
+     * @return Index of the first non-whitespace character, or {@code to} if there is none.
+     */
+    static int skipWhitespace(CharSequence input, int from, int to) {
+        int i = from;
+        while (i < to && input.charAt(i) <= ' ') {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Returns the index just past the last character before {@code to} that is not whitespace.
+     * @param input Text to scan.
+     * @param from Index to stop at.
+     * @param to Index to start at.
+     * @return Index just past the last non-whitespace character, or {@code from} if there is none.
+     */
+    static int trimEnd(CharSequence input, int from, int to) {
+        int i = to;
+        while (i > from && input.charAt(i - 1) <= ' ') {
+            i--;
+        }
+        return i;
+    }
+
+    /**
+     * Returns the text between two indices with surrounding whitespace removed.
+     * @param input Text holding the range.
+     * @param from Index of the first character.
+     * @param to Index just past the last character.
+     * @return The trimmed text.
+     */
+    static String trimmed(CharSequence input, int from, int to) {
+        int start = skipWhitespace(input, from, to);
+        return input.subSequence(start, trimEnd(input, start, to)).toString();
+    }
+
+    /**
+     * Returns the index of the first occurrence of a character in a range.
+     * @param input Text to scan.
+     * @param c Character to look for.
+     * @param from Index to start at.
+     * @param to Index to stop at.
+     * @return Index of the character, or -1 if it is not in the range.
+     */
+    static int indexOf(CharSequence input, char c, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (input.charAt(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the index of the first occurrence of a marker such as {@code /by} at or after an index.
+     * @param input Text to scan.
+     * @param marker Marker to look for.
+     * @param from Index to start at.
+     * @return Index of the marker, or -1 if it does not occur.
+     */
+    static int indexOf(CharSequence input, String marker, int from) {
+        int last = input.length() - marker.length();
+        for (int i = from; i <= last; i++) {
+            if (regionEquals(input, i, marker)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Reads an int the way {@link Integer#parseInt(String)} does.
+     * @param input Text holding the number.
+     * @param from Index of the first character.
+     * @param to Index just past the last character.
+     * @return The number, or {@link #NOT_A_NUMBER} if the range is not an int.
+     */
+    static long parseInt(CharSequence input, int from, int to) {
+        if (to - from > 0 && to - from <= MAX_PLAIN_DIGITS && isDigits(input, from, to)) {
+            return readDigits(input, from, to);
+        }
+        try {
+            return Integer.parseInt(input, from, to, 10);
+        } catch (NumberFormatException e) {
+            return NOT_A_NUMBER;
+        }
+    }
+
+    /**
+     * Reads a date the way {@link LocalDate#parse(CharSequence)} does.
+     * @param input Text holding the date.
+     * @param from Index of the first character.
+     * @param to Index just past the last character.
+     * @return The date, or null if the range is not a valid date.
+     */
+    static LocalDate parseDate(CharSequence input, int from, int to) {
+        if (to - from == DATE_LENGTH && isPlainDate(input, from)) {
+            int year = readDigits(input, from, from + 4);
+            int month = readDigits(input, from + 5, from + 7);
+            int day = readDigits(input, from + 8, from + 10);
+            return isValidDate(year, month, day) ? LocalDate.of(year, month, day) : null;
+        }
+        try {
+            return LocalDate.parse(input.subSequence(from, to));
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Reads a date and time in the {@code uuuu-MM-dd HH:mm} format.
+     * @param input Text holding the date and time.
+     * @param from Index of the first character.
+     * @param to Index just past the last character.
+     * @return The date and time, or null if the range is not a valid date and time.
+     */
+    static LocalDateTime parseDateTime(CharSequence input, int from, int to) {
+        if (to - from == DATE_TIME_LENGTH && isPlainDate(input, from) && input.charAt(from + 10) == ' '
+                && input.charAt(from + 13) == ':' && isDigits(input, from + 11, from + 13)
+                && isDigits(input, from + 14, from + 16)) {
+            int year = readDigits(input, from, from + 4);
+            int month = readDigits(input, from + 5, from + 7);
+            int day = readDigits(input, from + 8, from + 10);
+            int hour = readDigits(input, from + 11, from + 13);
+            int minute = readDigits(input, from + 14, from + 16);
+            if (!isValidDate(year, month, day) || hour > 23 || minute > 59) {
+                return null;
+            }
+            return LocalDateTime.of(year, month, day, hour, minute);
+        }
+        try {
+            return LocalDateTime.parse(input.subSequence(from, to), DATE_TIME_FORMATTER);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static boolean regionEquals(CharSequence input, int from, String marker) {
+        for (int i = 0; i < marker.length(); i++) {
+            if (input.charAt(from + i) != marker.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isPlainDate(CharSequence input, int from) {
+        return input.charAt(from + 4) == '-' && input.charAt(from + 7) == '-'
+                && isDigits(input, from, from + 4) && isDigits(input, from + 5, from + 7)
+                && isDigits(input, from + 8, from + 10);
+    }
+
+    private static boolean isDigits(CharSequence input, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = input.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int readDigits(CharSequence input, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            value = value * 10 + (input.charAt(i) - '0');
+        }
+        return value;
+    }
+
+    private static boolean isValidDate(int year, int month, int day) {
+        return month >= 1 && month <= 12 && day >= 1 && day <= Month.of(month).length(Year.isLeap(year));
+    }
+}
@@ -0,0 +1,36 @@
+package logic;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for parsing one user input into a command.
+ */
+@Name("rotom.Parse")
+@Label("Parse Command")
+@Category("Rotom")
+@Description("Parsing of one user input into a command")
+@StackTrace(false)
+final class ParseEvent extends jdk.jfr.Event {
+    @Label("Command Class")
+    private Class<?> commandClass;
+
+    /**
+     * Constructs the event and starts timing it.
+     */
+    ParseEvent() {
+        begin();
+    }
+
+    /**
+     * Ends the event after the input was parsed, and records it if it is enabled.
+     * @param commandClass Class of the parsed command, or null if the input was not valid.
+     */
+    void end(Class<?> commandClass) {
+        this.commandClass = commandClass;
+        commit();
+    }
+}
@@ -2,26 +2,37 @@ package logic;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
-import java.time.format.ResolverStyle;
-import java.util.regex.PatternSyntaxException;
 
 import command.Command;
 import command.CommandHistory;
+import command.CommandMetrics;
+import command.ListCommand;
+import enums.CommandWord;
 import exception.RotomException;
 
 /**
  * Provides parsing functionality for user input commands.
  * Converts string input into corresponding Command objects.
+ * Input is read in place with {@link CommandTokenizer}, without regular expressions,
+ * intermediate strings or exceptions for the usual forms of each command.
  */
 public class Parser {
 
-    private static final DateTimeFormatter DATE_TIME_FORMATTER =
-            DateTimeFormatter.ofPattern("uuuu-MM-dd HH:mm").withResolverStyle(ResolverStyle.STRICT);
     private static final String ERROR_INVALID_COMMAND = "I'm sorry, I don't know what that means...";
     private static final String ERROR_INVALID_FIND = "Invalid find command.";
-    private static final String ERROR_INVALID_SHOW = "Invalid show command. Use: show <yyyy-MM-dd>";
+    private static final String ERROR_INVALID_FIND_LIMIT = "Invalid find command. Use: find <desc> --limit <number>";
+    private static final String ERROR_INVALID_LIST = "Invalid list command. Use: list --page <number> "
+            + "--size <number>";
+    private static final String ERROR_INVALID_SHOW = "Invalid show command. Use: show <yyyy-MM-dd> "
+            + "or show <yyyy-MM-dd>..<yyyy-MM-dd>";
+    private static final String ERROR_SHOW_RANGE_ORDER = "Invalid show range! The first date cannot be after the last.";
+    private static final String DATE_RANGE_SEPARATOR = "..";
+    private static final String MARKER_BY = "/by";
+    private static final String MARKER_FROM = "/from";
+    private static final String MARKER_TO = "/to";
+    private static final String OPTION_PAGE = "--page";
+    private static final String OPTION_SIZE = "--size";
+    private static final String OPTION_LIMIT = "--limit";
     private static final String ERROR_INVALID_MARK_UNMARK_DELETE = "Invalid mark/delete command. "
             + "Use: mark <number> or unmark <number> or delete <number>.";
     private static final String ERROR_NUMBER_OUT_OF_RANGE = "Number out of range! Task number does not exist.";
@@ -34,6 +45,8 @@ public class Parser {
     private static final String ERROR_EVENT_FORMAT = "Invalid event format! Use: event <desc> /from <yyyy-MM-dd HH:mm>"
             + " /to <yyyy-MM-dd HH:mm>";
     private static final String ERROR_GENERIC_PARSE = "I couldn't understand that command. Please check the format.";
+    // Never enabled, so stats parsed without a chatbot's metrics report that they are off
+    private static final CommandMetrics NO_METRICS = new CommandMetrics();
 
     /**
      * Parses the given user input and returns the corresponding Command object.
@@ -43,22 +56,63 @@ public class Parser {
      * @throws RotomException If the input is invalid or cannot be parsed.
      */
     public static Command parse(String input, CommandHistory commandHistory) throws RotomException {
+        return parse(input, commandHistory, NO_METRICS);
+    }
+
+    /**
+     * Parses the given user input and returns the corresponding Command object,
+     * giving the stats command the metrics it reports.
+     * Parsing is recorded as a {@link ParseEvent} when Flight Recorder is running.
+     * @param input User input string to parse.
+     * @param commandHistory History of executed commands.
+     * @param metrics The metrics recorded for this chatbot.
+     * @return Corresponding Command object for the input.
+     * @throws RotomException If the input is invalid or cannot be parsed.
+     */
+    public static Command parse(String input, CommandHistory commandHistory, CommandMetrics metrics)
+            throws RotomException {
+        ParseEvent event = new ParseEvent();
+        Command command = null;
+        try {
+            command = parseCommand(input, commandHistory, metrics);
+            return command;
+        } finally {
+            event.end(command == null ? null : command.getClass());
+        }
+    }
+
+    /**
+     * Parses the given user input into a command, as {@link #parse(String, CommandHistory, CommandMetrics)} does,
+     * without recording a Flight Recorder event.
+     * @param input User input string to parse.
+     * @param commandHistory History of executed commands.
+     * @param metrics The metrics recorded for this chatbot.
+     * @return Corresponding Command object for the input.
+     * @throws RotomException If the input is invalid or cannot be parsed.
+     */
+    private static Command parseCommand(String input, CommandHistory commandHistory, CommandMetrics metrics)
+            throws RotomException {
         assert input != null : "Input string cannot be null";
-        if (input == null || input.trim().isEmpty()) {
+        if (input == null || CommandTokenizer.skipWhitespace(input, 0, input.length()) == input.length()) {
             throw new RotomException("Please enter a command. Type 'help' to see available commands.");
         }
         String trimmedInput = input.trim();
-        String commandWord = getCommandWord(trimmedInput);
+        int wordEnd = getCommandWordEnd(trimmedInput);
+        CommandWord commandWord = CommandWord.match(trimmedInput, 0, wordEnd);
+        if (commandWord == null) {
+            throw new RotomException(ERROR_INVALID_COMMAND);
+        }
         try {
             return switch (commandWord) {
-            case "find" -> parseFindCommand(trimmedInput);
-            case "show" -> parseShowCommand(trimmedInput);
-            case "mark", "unmark", "delete" -> parseMarkUnmarkDeleteCommand(trimmedInput);
-            case "todo" -> parseTodoCommand(trimmedInput);
-            case "deadline" -> parseDeadlineCommand(trimmedInput);
-            case "event" -> parseEventCommand(trimmedInput);
-            case "bye", "help", "sort", "reset", "list", "undo" -> Command.of(commandWord, commandHistory);
-            default -> throw new RotomException(ERROR_INVALID_COMMAND);
+            case FIND -> parseFindCommand(trimmedInput, wordEnd);
+            case SHOW -> parseShowCommand(trimmedInput, wordEnd);
+            case MARK, UNMARK, DELETE -> parseMarkUnmarkDeleteCommand(trimmedInput, commandWord, wordEnd);
+            case TODO -> parseTodoCommand(trimmedInput);
+            case DEADLINE -> parseDeadlineCommand(trimmedInput);
+            case EVENT -> parseEventCommand(trimmedInput);
+            case LIST -> parseListCommand(trimmedInput, wordEnd, commandHistory);
+            case BYE, HELP, SORT, RESET, UNDO, REDO -> Command.of(commandWord.getWord(), commandHistory);
+            case STATS -> Command.of(commandWord.getWord(), metrics);
             };
         } catch (RotomException e) {
             // Re-throw custom exceptions
@@ -70,73 +124,167 @@ public class Parser {
     }
 
     /**
-     * Extracts the command word from the input string.
-     * @param input The user input string.
-     * @return The first word of the input, converted to lowercase.
+     * Returns the end of the command word, which runs up to the first space.
+     * @param input The trimmed user input string.
+     * @return Index just past the command word.
      */
-    private static String getCommandWord(String input) {
-        int firstSpaceIndex = input.indexOf(' ');
-        if (firstSpaceIndex == -1) {
-            return input.toLowerCase();
-        }
-        return input.substring(0, firstSpaceIndex).toLowerCase();
+    private static int getCommandWordEnd(String input) {
+        int firstSpaceIndex = CommandTokenizer.indexOf(input, ' ', 0, input.length());
+        return firstSpaceIndex == -1 ? input.length() : firstSpaceIndex;
+    }
+
+    /**
+     * Returns the end of the argument that follows the command word, which runs up to the next space.
+     * @param input The trimmed user input string.
+     * @param wordEnd Index just past the command word.
+     * @return Index just past the argument.
+     */
+    private static int getArgumentEnd(String input, int wordEnd) {
+        int nextSpaceIndex = CommandTokenizer.indexOf(input, ' ', wordEnd + 1, input.length());
+        return nextSpaceIndex == -1 ? input.length() : nextSpaceIndex;
     }
 
     /**
      * Parses a find command from user input.
+     * A trailing {@code --limit <n>} shows only the first n matching tasks. Anywhere else, or followed by
+     * anything but digits, {@code --limit} is part of the search query.
      * @param input User input string starting with "find".
+     * @param wordEnd Index just past the command word.
      * @return FindCommand with the search query.
      * @throws RotomException If the input is malformed or missing the search query.
      */
-    private static Command parseFindCommand(String input) throws RotomException {
-        try {
-            String[] parts = input.split(" ", 2);
-            validateArgumentCount(parts, ERROR_INVALID_FIND);
-            return Command.of("find", parts);
-        } catch (PatternSyntaxException e) {
-            throw new RotomException(ERROR_INVALID_FIND);
+    private static Command parseFindCommand(String input, int wordEnd) throws RotomException {
+        validateArgumentPresent(input, wordEnd, ERROR_INVALID_FIND);
+        int limitIndex = findTrailingLimit(input, wordEnd);
+        if (limitIndex == -1) {
+            return Command.of(CommandWord.FIND.getWord(), input.substring(wordEnd + 1));
         }
+        String query = limitIndex > wordEnd ? CommandTokenizer.trimmed(input, wordEnd + 1, limitIndex) : "";
+        validateFormat(!query.isEmpty(), ERROR_INVALID_FIND);
+        int limit = parseOptionValue(input, limitIndex + 1 + OPTION_LIMIT.length(), input.length(),
+                ERROR_INVALID_FIND_LIMIT);
+        return Command.of(CommandWord.FIND.getWord(), query, limit);
+    }
+
+    /**
+     * Returns where a {@code --limit} option followed only by digits ends the input.
+     * @param input The trimmed user input string.
+     * @param wordEnd Index just past the command word.
+     * @return Index of the space before the option, or -1 if the input does not end with one.
+     */
+    private static int findTrailingLimit(String input, int wordEnd) {
+        int digitsStart = input.length();
+        while (digitsStart > wordEnd && Character.isDigit(input.charAt(digitsStart - 1))) {
+            digitsStart--;
+        }
+        int optionEnd = digitsStart;
+        while (optionEnd > wordEnd && input.charAt(optionEnd - 1) == ' ') {
+            optionEnd--;
+        }
+        int limitIndex = optionEnd - OPTION_LIMIT.length() - 1;
+        boolean isLimit = digitsStart < input.length() && optionEnd < digitsStart && limitIndex >= wordEnd
+                && input.charAt(limitIndex) == ' ' && input.startsWith(OPTION_LIMIT, limitIndex + 1);
+        return isLimit ? limitIndex : -1;
+    }
+
+    /**
+     * Parses a list command from user input.
+     * {@code --page <n>} shows one page of the list and {@code --size <m>} sets the number of tasks on it.
+     * Without either option, the whole list is shown and anything after the command word is ignored.
+     * @param input User input string starting with "list".
+     * @param wordEnd Index just past the command word.
+     * @param commandHistory History of executed commands.
+     * @return ListCommand for the whole list or for the requested page.
+     * @throws RotomException If an option is not followed by a positive number.
+     */
+    private static Command parseListCommand(String input, int wordEnd, CommandHistory commandHistory)
+            throws RotomException {
+        int pageIndex = CommandTokenizer.indexOf(input, OPTION_PAGE, wordEnd);
+        int sizeIndex = CommandTokenizer.indexOf(input, OPTION_SIZE, wordEnd);
+        if (pageIndex == -1 && sizeIndex == -1) {
+            return Command.of(CommandWord.LIST.getWord(), commandHistory);
+        }
+        int page = 1;
+        int pageSize = ListCommand.DEFAULT_PAGE_SIZE;
+        if (pageIndex != -1) {
+            int start = pageIndex + OPTION_PAGE.length();
+            page = parseOptionValue(input, start, getOptionEnd(input, start), ERROR_INVALID_LIST);
+        }
+        if (sizeIndex != -1) {
+            int start = sizeIndex + OPTION_SIZE.length();
+            pageSize = parseOptionValue(input, start, getOptionEnd(input, start), ERROR_INVALID_LIST);
+        }
+        return Command.of(CommandWord.LIST.getWord(), page, pageSize);
+    }
+
+    /**
+     * Returns the end of an option's value, which runs up to the next option or the end of the input.
+     * @param input The trimmed user input string.
+     * @param start Index just past the option name.
+     * @return Index just past the value.
+     */
+    private static int getOptionEnd(String input, int start) {
+        int nextOption = CommandTokenizer.indexOf(input, " --", start);
+        return nextOption == -1 ? input.length() : nextOption;
+    }
+
+    /**
+     * Reads the positive number given to an option such as {@code --page}, ignoring surrounding whitespace.
+     * @param input The trimmed user input string.
+     * @param from Index just past the option name.
+     * @param to Index just past the value.
+     * @param errorMessage The error message to use if the value is not a positive number.
+     * @return The number.
+     * @throws RotomException If the value is not a positive number.
+     */
+    private static int parseOptionValue(String input, int from, int to, String errorMessage) throws RotomException {
+        validateFormat(from < to && input.charAt(from) == ' ', errorMessage);
+        int start = CommandTokenizer.skipWhitespace(input, from, to);
+        long value = CommandTokenizer.parseInt(input, start, CommandTokenizer.trimEnd(input, start, to));
+        validateFormat(value != CommandTokenizer.NOT_A_NUMBER && value > 0, errorMessage);
+        return (int) value;
     }
 
     /**
      * Parses a show command from user input.
+     * Accepts a single date or an inclusive range written as {@code <from>..<to>}.
      * @param input User input string starting with "show"
-     * @return ShowCommand with the specified date.
-     * @throws RotomException If the input is malformed or contains an invalid date format.
+     * @param wordEnd Index just past the command word.
+     * @return ShowCommand with the specified date or range.
+     * @throws RotomException If the input is malformed, contains an invalid date format or an inverted range.
      */
-    private static Command parseShowCommand(String input) throws RotomException {
-        String[] parts = input.split(" ");
-        validateArgumentCount(parts, ERROR_INVALID_SHOW);
-        try {
-            LocalDate reqDate = LocalDate.parse(parts[1]);
-            return Command.of("show", reqDate);
-        } catch (DateTimeParseException e) {
-            throw new RotomException(ERROR_INVALID_SHOW);
+    private static Command parseShowCommand(String input, int wordEnd) throws RotomException {
+        validateArgumentPresent(input, wordEnd, ERROR_INVALID_SHOW);
+        int start = wordEnd + 1;
+        int end = getArgumentEnd(input, wordEnd);
+        int separatorIndex = CommandTokenizer.indexOf(input, DATE_RANGE_SEPARATOR, start);
+        if (separatorIndex == -1 || separatorIndex >= end) {
+            LocalDate reqDate = CommandTokenizer.parseDate(input, start, end);
+            validateFormat(reqDate != null, ERROR_INVALID_SHOW);
+            return Command.of(CommandWord.SHOW.getWord(), reqDate);
         }
+        LocalDate from = CommandTokenizer.parseDate(input, start, separatorIndex);
+        LocalDate to = CommandTokenizer.parseDate(input, separatorIndex + DATE_RANGE_SEPARATOR.length(), end);
+        validateFormat(from != null && to != null, ERROR_INVALID_SHOW);
+        validateFormat(!from.isAfter(to), ERROR_SHOW_RANGE_ORDER);
+        return Command.of(CommandWord.SHOW.getWord(), from, to);
     }
 
     /**
      * Parses mark, unmark or delete commands from user input.
      * @param input User input string starting with "mark", "unmark", or "delete".
+     * @param commandWord The command word at the start of the input.
+     * @param wordEnd Index just past the command word.
      * @return Corresponding MarkCommand, UnmarkCommand, or DeleteCommand.
      * @throws RotomException If the input is malformed or contains an invalid task number.
      */
-    private static Command parseMarkUnmarkDeleteCommand(String input) throws RotomException {
-        String[] parts = input.split(" ");
-        validateArgumentCount(parts, ERROR_INVALID_MARK_UNMARK_DELETE);
-        try {
-            int taskNumber = Integer.parseInt(parts[1]);
-            validateTaskNumber(taskNumber);
-            if (input.startsWith("mark")) {
-                return Command.of("mark", taskNumber);
-            } else if (input.startsWith("unmark")) {
-                return Command.of("unmark", taskNumber);
-            } else {
-                return Command.of("delete", taskNumber);
-            }
-        } catch (NumberFormatException e) {
-            throw new RotomException(ERROR_INVALID_MARK_UNMARK_DELETE);
-        }
+    private static Command parseMarkUnmarkDeleteCommand(String input, CommandWord commandWord, int wordEnd)
+            throws RotomException {
+        validateArgumentPresent(input, wordEnd, ERROR_INVALID_MARK_UNMARK_DELETE);
+        long taskNumber = CommandTokenizer.parseInt(input, wordEnd + 1, getArgumentEnd(input, wordEnd));
+        validateFormat(taskNumber != CommandTokenizer.NOT_A_NUMBER, ERROR_INVALID_MARK_UNMARK_DELETE);
+        validateTaskNumber(taskNumber);
+        return Command.of(commandWord.getWord(), (int) taskNumber);
     }
 
     /**
@@ -144,7 +292,7 @@ public class Parser {
      * @param taskNumber The task number to validate.
      * @throws RotomException If the task number is not positive.
      */
-    private static void validateTaskNumber(int taskNumber) throws RotomException {
+    private static void validateTaskNumber(long taskNumber) throws RotomException {
         if (taskNumber <= 0) {
             throw new RotomException(ERROR_NUMBER_OUT_OF_RANGE);
         }
@@ -159,27 +307,29 @@ public class Parser {
     private static Command parseTodoCommand(String input) throws RotomException {
         validateInputLength(input, 5, ERROR_TODO_EMPTY_DESCRIPTION);
         validateFormat(input.charAt(4) == ' ', ERROR_TODO_FORMAT);
-        String description = input.substring(5).trim();
-        return Command.of("todo", description);
+        String description = CommandTokenizer.trimmed(input, 5, input.length());
+        return Command.of(CommandWord.TODO.getWord(), description);
     }
 
     /**
      * Parses a deadline command from user input.
+     * The deadline is the text between the first {@code /by} and the next one, if any.
      * @param input User input string starting with "deadline".
      * @return DeadlineCommand with the task description and deadline.
      * @throws RotomException If the input is malformed, missing required parts, or contains an invalid date format.
      */
     private static Command parseDeadlineCommand(String input) throws RotomException {
         validateInputLength(input, 9, ERROR_DEADLINE_EMPTY_DESCRIPTION);
-        String content = input.substring(9);
-        String[] parts = content.split("/by");
-        validateArgumentCount(parts, ERROR_DEADLINE_FORMAT);
-        try {
-            LocalDateTime deadline = LocalDateTime.parse(parts[1].trim(), DATE_TIME_FORMATTER);
-            return Command.of("deadline", parts[0].trim(), deadline);
-        } catch (DateTimeParseException e) {
-            throw new RotomException(ERROR_DEADLINE_FORMAT);
-        }
+        int byIndex = CommandTokenizer.indexOf(input, MARKER_BY, 9);
+        validateFormat(byIndex != -1, ERROR_DEADLINE_FORMAT);
+        int dateStart = byIndex + MARKER_BY.length();
+        int nextByIndex = CommandTokenizer.indexOf(input, MARKER_BY, dateStart);
+        int dateEnd = nextByIndex == -1 ? input.length() : nextByIndex;
+        dateStart = CommandTokenizer.skipWhitespace(input, dateStart, dateEnd);
+        LocalDateTime deadline = CommandTokenizer.parseDateTime(input, dateStart,
+                CommandTokenizer.trimEnd(input, dateStart, dateEnd));
+        validateFormat(deadline != null, ERROR_DEADLINE_FORMAT);
+        return Command.of(CommandWord.DEADLINE.getWord(), CommandTokenizer.trimmed(input, 9, byIndex), deadline);
     }
 
     /**
@@ -190,30 +340,40 @@ public class Parser {
      */
     private static Command parseEventCommand(String input) throws RotomException {
         validateInputLength(input, 6, ERROR_EVENT_EMPTY_DESCRIPTION);
-        String content = input.substring(6);
-        int fromIndex = content.indexOf("/from");
-        int toIndex = content.indexOf("/to");
+        int fromIndex = CommandTokenizer.indexOf(input, MARKER_FROM, 6);
+        int toIndex = CommandTokenizer.indexOf(input, MARKER_TO, 6);
         validateFormat(fromIndex != -1 && toIndex != -1, ERROR_EVENT_FORMAT);
-        try {
-            String dateTimeFrom = content.substring(fromIndex + 5, toIndex).trim();
-            String dateTimeTo = content.substring(toIndex + 3).trim();
-            LocalDateTime eventFrom = LocalDateTime.parse(dateTimeFrom, DATE_TIME_FORMATTER);
-            LocalDateTime eventTo = LocalDateTime.parse(dateTimeTo, DATE_TIME_FORMATTER);
-            return Command.of("event", content.substring(0, fromIndex).trim(), eventFrom, eventTo);
-        } catch (DateTimeParseException e) {
-            throw new RotomException(ERROR_EVENT_FORMAT);
-        }
+        int fromStart = fromIndex + MARKER_FROM.length();
+        validateFormat(toIndex >= fromStart, ERROR_GENERIC_PARSE);
+        LocalDateTime eventFrom = parseTrimmedDateTime(input, fromStart, toIndex);
+        LocalDateTime eventTo = parseTrimmedDateTime(input, toIndex + MARKER_TO.length(), input.length());
+        validateFormat(eventFrom != null && eventTo != null, ERROR_EVENT_FORMAT);
+        return Command.of(CommandWord.EVENT.getWord(), CommandTokenizer.trimmed(input, 6, fromIndex),
+                eventFrom, eventTo);
+    }
+
+    /**
+     * Reads a date and time from a range of the input, ignoring surrounding whitespace.
+     * @param input Text holding the date and time.
+     * @param from Index of the first character.
+     * @param to Index just past the last character.
+     * @return The date and time, or null if the range is not a valid date and time.
+     */
+    private static LocalDateTime parseTrimmedDateTime(String input, int from, int to) {
+        int start = CommandTokenizer.skipWhitespace(input, from, to);
+        return CommandTokenizer.parseDateTime(input, start, CommandTokenizer.trimEnd(input, start, to));
     }
 
     /**
-     * Validates that an array has at least the expected number of elements.
-     *
-     * @param parts        The array to validate.
+     * Validates that the command word is followed by an argument.
+     * @param input The trimmed user input string.
+     * @param wordEnd Index just past the command word.
      * @param errorMessage The error message to use if validation fails.
-     * @throws RotomException If the array has fewer elements than expected.
+     * @throws RotomException If the input ends after the command word.
      */
-    private static void validateArgumentCount(String[] parts, String errorMessage) throws RotomException {
-        if (parts.length < 2) {
+    private static void validateArgumentPresent(String input, int wordEnd, String errorMessage)
+            throws RotomException {
+        if (wordEnd == input.length()) {
             throw new RotomException(errorMessage);
         }
     }
@@ -0,0 +1,431 @@
+package model;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+import enums.TaskType;
+
+/**
+ * Represents a task list that stores each field of its tasks in its own primitive array instead of
+ * keeping a Task object per task.
+ * Types and status flags take a byte each, dates are epoch seconds in two long arrays, and the
+ * descriptions are UTF-8 bytes in one shared arena, found by offset and length. This costs about
+ * 26 bytes per task on top of its description, and date filters and sorting read only the arrays.
+ * Task objects are created only when a task is read, so {@link #getTask(int)} returns a new but
+ * equal task on every call.
+ * Like TaskList, this class is not safe to change from several threads, but it builds nothing
+ * lazily, so reads may run in parallel while nothing changes it.
+ */
+public class ColumnarTaskList extends TaskList {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final TaskType[] TYPES = TaskType.values();
+    private static final byte FLAG_DONE = 1;
+    private static final byte FLAG_NON_ASCII = 2; // the description has bytes outside ASCII
+    private byte[] types;
+    private byte[] flags;
+    private long[] starts; // epoch seconds, or Task.NO_DATE for todos
+    private long[] ends; // epoch seconds of an event's end, otherwise the same as the start
+    private int[] offsets; // where each description starts in the arena
+    private int[] lengths; // length of each description in bytes
+    private byte[] arena;
+    private int arenaSize;
+    private int garbageSize; // bytes in the arena left behind by deleted tasks
+    private int count;
+
+    /**
+     * Constructs an empty ColumnarTaskList.
+     */
+    public ColumnarTaskList() {
+        super();
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Sorts tasks in ascending order based on their date and time.
+     * Tasks without a date are placed at the end, and tasks with the same date keep their order.
+     * Only the start times are compared, and each column is then rearranged once.
+     */
+    @Override
+    public void sort() {
+        int[] order = new int[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        mergeSort(order, new int[count], 0, count);
+        types = permute(types, order);
+        flags = permute(flags, order);
+        starts = permute(starts, order);
+        ends = permute(ends, order);
+        offsets = permute(offsets, order);
+        lengths = permute(lengths, order);
+    }
+
+    @Override
+    public TaskList filter(LocalDate date) {
+        return filter(date, date);
+    }
+
+    /**
+     * Filters tasks to return only those occurring on any day in the specified range.
+     * Events are included if any day from their start to their end falls in the range.
+     * The range is turned into epoch seconds once, so each task is checked with two comparisons.
+     * @param from First date of the range.
+     * @param to Last date of the range, inclusive.
+     * @return A new TaskList containing tasks that occur in the range, in list order.
+     */
+    @Override
+    public TaskList filter(LocalDate from, LocalDate to) {
+        long rangeStart = Task.toEpochSecond(from.atStartOfDay());
+        long rangeEnd = Task.toEpochSecond(to.plusDays(1).atStartOfDay());
+        TaskList res = new TaskList();
+        for (int i = 0; i < count; i++) {
+            if (starts[i] != Task.NO_DATE && starts[i] < rangeEnd && Math.max(starts[i], ends[i]) >= rangeStart) {
+                res.add(materialize(i));
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Returns a new TaskList containing all tasks whose descriptions contain the specified keyword or phrase,
+     * ignoring case.
+     * ASCII descriptions are searched in the arena without creating strings.
+     * @param desc Keyword or phrase to search for in task description.
+     * @return TaskList of tasks that contain the specified keyword.
+     */
+    @Override
+    public TaskList filter(String desc) {
+        TaskList res = new TaskList();
+        if (desc == null || (desc.trim().isEmpty() && !desc.isEmpty())) {
+            return res;
+        }
+        String needle = desc.toLowerCase(Locale.ROOT);
+        byte[] needleBytes = needle.getBytes(StandardCharsets.UTF_8);
+        boolean isAsciiNeedle = isAscii(needleBytes);
+        for (int i = 0; i < count; i++) {
+            boolean isMatch = isAsciiNeedle && (flags[i] & FLAG_NON_ASCII) == 0
+                    ? containsIgnoreCase(i, needleBytes)
+                    : description(i).toLowerCase(Locale.ROOT).contains(needle);
+            if (isMatch) {
+                res.add(materialize(i));
+            }
+        }
+        return res;
+    }
+
+    @Override
+    public void clear() {
+        allocate(INITIAL_CAPACITY);
+        count = 0;
+        arenaSize = 0;
+        garbageSize = 0;
+    }
+
+    @Override
+    public void add(Task task) {
+        insert(count, task);
+    }
+
+    @Override
+    public void addAll(List<Task> tasksToAdd) {
+        ensureCapacity(count + tasksToAdd.size());
+        tasksToAdd.forEach(task -> insert(count, task));
+    }
+
+    @Override
+    public void addAtIndex(Task task, int index) {
+        Objects.checkIndex(index, count + 1);
+        insert(index, task);
+    }
+
+    @Override
+    public void delete(int index) {
+        Objects.checkIndex(index, count);
+        garbageSize += lengths[index];
+        int moved = count - index - 1;
+        System.arraycopy(types, index + 1, types, index, moved);
+        System.arraycopy(flags, index + 1, flags, index, moved);
+        System.arraycopy(starts, index + 1, starts, index, moved);
+        System.arraycopy(ends, index + 1, ends, index, moved);
+        System.arraycopy(offsets, index + 1, offsets, index, moved);
+        System.arraycopy(lengths, index + 1, lengths, index, moved);
+        count--;
+        if (garbageSize > arenaSize / 2) {
+            compactArena();
+        }
+    }
+
+    @Override
+    public void remove(Task task) {
+        int index = indexOf(task);
+        if (index >= 0) {
+            delete(index);
+        }
+    }
+
+    @Override
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Retrieves the task at the specified index, creating it from the columns.
+     * @param index Index of the task to retrieve.
+     * @return A task equal to the one at the specified index.
+     */
+    @Override
+    public Task getTask(int index) {
+        Objects.checkIndex(index, count);
+        return materialize(index);
+    }
+
+    @Override
+    public int indexOf(Task task) {
+        byte[] description = task.getDescription().getBytes(StandardCharsets.UTF_8);
+        for (int i = 0; i < count; i++) {
+            if (matches(i, task, description)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(Task task) {
+        byte[] description = task.getDescription().getBytes(StandardCharsets.UTF_8);
+        for (int i = count - 1; i >= 0; i--) {
+            if (matches(i, task, description)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public List<Task> toList() {
+        List<Task> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(materialize(i));
+        }
+        return result;
+    }
+
+    @Override
+    public void mark(int index) {
+        Objects.checkIndex(index, count);
+        flags[index] |= FLAG_DONE;
+    }
+
+    @Override
+    public void unmark(int index) {
+        Objects.checkIndex(index, count);
+        flags[index] &= ~FLAG_DONE;
+    }
+
+    /**
+     * Inserts a task at the given index, copying its fields into the columns.
+     * @param index Index to insert at.
+     * @param task Task to insert.
+     */
+    private void insert(int index, Task task) {
+        ensureCapacity(count + 1);
+        int moved = count - index;
+        System.arraycopy(types, index, types, index + 1, moved);
+        System.arraycopy(flags, index, flags, index + 1, moved);
+        System.arraycopy(starts, index, starts, index + 1, moved);
+        System.arraycopy(ends, index, ends, index + 1, moved);
+        System.arraycopy(offsets, index, offsets, index + 1, moved);
+        System.arraycopy(lengths, index, lengths, index + 1, moved);
+        byte[] description = task.getDescription().getBytes(StandardCharsets.UTF_8);
+        types[index] = (byte) task.getType().ordinal();
+        flags[index] = (byte) ((task.isDone() ? FLAG_DONE : 0) | (isAscii(description) ? 0 : FLAG_NON_ASCII));
+        starts[index] = task.getEpochSecond();
+        ends[index] = task instanceof Event event ? event.getEndEpochSecond() : task.getEpochSecond();
+        offsets[index] = appendToArena(description);
+        lengths[index] = description.length;
+        count++;
+    }
+
+    /**
+     * Creates the task at the given index from the columns.
+     * @param index Index of the task.
+     * @return The task.
+     */
+    private Task materialize(int index) {
+        String description = description(index);
+        boolean isDone = (flags[index] & FLAG_DONE) != 0;
+        return switch (TYPES[types[index]]) {
+        case TODO -> new Todo(description, isDone);
+        case DEADLINE -> new Deadline(description, starts[index], isDone);
+        case EVENT -> new Event(description, starts[index], ends[index], isDone);
+        };
+    }
+
+    private String description(int index) {
+        return new String(arena, offsets[index], lengths[index], StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Checks if the task at the given index is equal to the given task, without creating it.
+     * @param index Index of the task.
+     * @param task Task to compare with.
+     * @param description The task's description in UTF-8.
+     * @return true if the tasks are equal.
+     */
+    private boolean matches(int index, Task task, byte[] description) {
+        if (types[index] != task.getType().ordinal() || ((flags[index] & FLAG_DONE) != 0) != task.isDone()
+                || starts[index] != task.getEpochSecond()) {
+            return false;
+        }
+        if (task instanceof Event event && ends[index] != event.getEndEpochSecond()) {
+            return false;
+        }
+        int offset = offsets[index];
+        return Arrays.equals(arena, offset, offset + lengths[index], description, 0, description.length);
+    }
+
+    /**
+     * Checks if the ASCII description at the given index contains the needle, ignoring case.
+     * @param index Index of the task.
+     * @param needle Lower-case ASCII bytes to look for.
+     * @return true if the description contains the needle.
+     */
+    private boolean containsIgnoreCase(int index, byte[] needle) {
+        int last = offsets[index] + lengths[index] - needle.length;
+        search:
+        for (int start = offsets[index]; start <= last; start++) {
+            for (int j = 0; j < needle.length; j++) {
+                byte b = arena[start + j];
+                if (b >= 'A' && b <= 'Z') {
+                    b += 'a' - 'A';
+                }
+                if (b != needle[j]) {
+                    continue search;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Copies a description to the end of the arena, growing it if needed.
+     * @param description The description in UTF-8.
+     * @return Offset of the description in the arena.
+     */
+    private int appendToArena(byte[] description) {
+        if (arenaSize + description.length > arena.length) {
+            arena = Arrays.copyOf(arena, Math.max(arena.length + (arena.length >> 1), arenaSize + description.length));
+        }
+        System.arraycopy(description, 0, arena, arenaSize, description.length);
+        int offset = arenaSize;
+        arenaSize += description.length;
+        return offset;
+    }
+
+    /**
+     * Copies the descriptions still in use to a new arena, in list order, dropping those of deleted tasks.
+     */
+    private void compactArena() {
+        byte[] compacted = new byte[Math.max(INITIAL_CAPACITY, arenaSize - garbageSize)];
+        int size = 0;
+        for (int i = 0; i < count; i++) {
+            System.arraycopy(arena, offsets[i], compacted, size, lengths[i]);
+            offsets[i] = size;
+            size += lengths[i];
+        }
+        arena = compacted;
+        arenaSize = size;
+        garbageSize = 0;
+    }
+
+    private void allocate(int capacity) {
+        types = new byte[capacity];
+        flags = new byte[capacity];
+        starts = new long[capacity];
+        ends = new long[capacity];
+        offsets = new int[capacity];
+        lengths = new int[capacity];
+        arena = new byte[capacity * INITIAL_CAPACITY];
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= types.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, types.length + (types.length >> 1));
+        types = Arrays.copyOf(types, newCapacity);
+        flags = Arrays.copyOf(flags, newCapacity);
+        starts = Arrays.copyOf(starts, newCapacity);
+        ends = Arrays.copyOf(ends, newCapacity);
+        offsets = Arrays.copyOf(offsets, newCapacity);
+        lengths = Arrays.copyOf(lengths, newCapacity);
+    }
+
+    /**
+     * Sorts part of a list of task indexes by start time, keeping the order of equal start times.
+     * @param order Task indexes to sort.
+     * @param buffer Scratch space as long as the indexes.
+     * @param from Index of the first element to sort.
+     * @param to Index just past the last element to sort.
+     */
+    private void mergeSort(int[] order, int[] buffer, int from, int to) {
+        if (to - from < 2) {
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSort(order, buffer, from, mid);
+        mergeSort(order, buffer, mid, to);
+        if (starts[order[mid - 1]] <= starts[order[mid]]) {
+            return;
+        }
+        System.arraycopy(order, from, buffer, from, to - from);
+        int left = from;
+        int right = mid;
+        for (int i = from; i < to; i++) {
+            if (right >= to || (left < mid && starts[buffer[left]] <= starts[buffer[right]])) {
+                order[i] = buffer[left++];
+            } else {
+                order[i] = buffer[right++];
+            }
+        }
+    }
+
+    private byte[] permute(byte[] column, int[] order) {
+        byte[] result = new byte[column.length];
+        for (int i = 0; i < order.length; i++) {
+            result[i] = column[order[i]];
+        }
+        return result;
+    }
+
+    private long[] permute(long[] column, int[] order) {
+        long[] result = new long[column.length];
+        for (int i = 0; i < order.length; i++) {
+            result[i] = column[order[i]];
+        }
+        return result;
+    }
+
+    private int[] permute(int[] column, int[] order) {
+        int[] result = new int[column.length];
+        for (int i = 0; i < order.length; i++) {
+            result[i] = column[order[i]];
+        }
+        return result;
+    }
+
+    private static boolean isAscii(byte[] bytes) {
+        for (byte b : bytes) {
+            if (b < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,176 @@
+package model;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
+
+/**
+ * Represents a task list that can be read and changed from several threads at once.
+ * Every operation is atomic: changes take an exclusive lock, while searches and date
+ * filters share a read lock and run in parallel. Looking up a single task or the count
+ * uses an optimistic read that takes no lock at all unless a change happens at the same time.
+ * The indexes are built under the exclusive lock before the first search, so that
+ * searches only read them.
+ */
+public class ConcurrentTaskList extends TaskList {
+    private final StampedLock lock = new StampedLock();
+    private volatile boolean isIndexed;
+
+    /**
+     * Constructs an empty ConcurrentTaskList.
+     */
+    public ConcurrentTaskList() {
+        super();
+    }
+
+    @Override
+    public void sort() {
+        write(super::sort);
+    }
+
+    @Override
+    public TaskList filter(LocalDate date) {
+        ensureIndexed();
+        return read(() -> super.filter(date));
+    }
+
+    @Override
+    public TaskList filter(LocalDate from, LocalDate to) {
+        ensureIndexed();
+        return read(() -> super.filter(from, to));
+    }
+
+    @Override
+    public TaskList filter(String desc) {
+        ensureIndexed();
+        return read(() -> super.filter(desc));
+    }
+
+    @Override
+    public void clear() {
+        write(super::clear);
+    }
+
+    @Override
+    public void add(Task task) {
+        write(() -> super.add(task));
+    }
+
+    @Override
+    public void addAll(List<Task> tasksToAdd) {
+        write(() -> super.addAll(tasksToAdd));
+    }
+
+    @Override
+    public void addAtIndex(Task task, int index) {
+        write(() -> super.addAtIndex(task, index));
+    }
+
+    @Override
+    public void delete(int index) {
+        write(() -> super.delete(index));
+    }
+
+    @Override
+    public void remove(Task task) {
+        write(() -> super.remove(task));
+    }
+
+    @Override
+    public int getCount() {
+        return readOptimistically(super::getCount);
+    }
+
+    @Override
+    public Task getTask(int index) {
+        return readOptimistically(() -> super.getTask(index));
+    }
+
+    @Override
+    public int indexOf(Task task) {
+        return read(() -> super.indexOf(task));
+    }
+
+    @Override
+    public int lastIndexOf(Task task) {
+        return read(() -> super.lastIndexOf(task));
+    }
+
+    @Override
+    public List<Task> toList() {
+        return read(super::toList);
+    }
+
+    @Override
+    public void mark(int index) {
+        write(() -> super.mark(index));
+    }
+
+    @Override
+    public void unmark(int index) {
+        write(() -> super.unmark(index));
+    }
+
+    /**
+     * Builds the indexes the first time a search needs them.
+     */
+    private void ensureIndexed() {
+        if (isIndexed) {
+            return;
+        }
+        write(() -> {
+            buildIndexes();
+            isIndexed = true;
+        });
+    }
+
+    /**
+     * Runs a change while holding the exclusive lock.
+     * @param change Change to run.
+     */
+    private void write(Runnable change) {
+        long stamp = lock.writeLock();
+        try {
+            change.run();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Runs a read while holding the shared lock.
+     * @param reader Read to run.
+     * @return The result of the read.
+     */
+    private <T> T read(Supplier<T> reader) {
+        long stamp = lock.readLock();
+        try {
+            return reader.get();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Runs a short read without locking, and runs it again under the shared lock if a change
+     * happened in the meantime. A read that overlaps a change may see the list half updated
+     * and fail, so its exceptions are only trusted once the retry under the lock fails too.
+     * @param reader Read to run.
+     * @return The result of the read.
+     */
+    private <T> T readOptimistically(Supplier<T> reader) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                T result = reader.get();
+                if (lock.validate(stamp)) {
+                    return result;
+                }
+            } catch (RuntimeException e) {
+                // Retried below under the lock, which gives the real answer
+            }
+        }
+        return read(reader);
+    }
+}
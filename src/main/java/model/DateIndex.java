@@ -0,0 +1,160 @@
+package model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Index of dated tasks by the day they start on.
+ * Each task is filed once, under its start day, in one of several span classes: tasks that fall on a
+ * single day, then tasks spanning up to 1, 3, 7, 15 and so on more days. A task in a class that falls on a
+ * day in a range must start no more than the longest span of its class before the range, so each class is
+ * scanned only from that point to the end of the range. A long event therefore only widens the scan of
+ * its own class, which holds few tasks, and a query visits about as many entries as it returns.
+ * Tasks without a date are not indexed.
+ */
+class DateIndex {
+    private static final long SECONDS_PER_DAY = 86_400;
+    // Span class c holds the tasks that fall on up to 2^c - 1 days after their start day
+    private final List<NavigableMap<Long, Set<TaskEntry>>> spanClasses = new ArrayList<>();
+    private long visitedCount;
+
+    /**
+     * Adds an entry to the index.
+     * @param entry Entry to add.
+     */
+    void add(TaskEntry entry) {
+        if (entry.task.getEpochSecond() == Task.NO_DATE) {
+            return;
+        }
+        int spanClass = spanClassOf(entry.task);
+        while (spanClasses.size() <= spanClass) {
+            spanClasses.add(new TreeMap<>());
+        }
+        spanClasses.get(spanClass).computeIfAbsent(startDayOf(entry.task), k -> new HashSet<>()).add(entry);
+    }
+
+    /**
+     * Removes an entry from the index.
+     * @param entry Entry to remove.
+     */
+    void remove(TaskEntry entry) {
+        if (entry.task.getEpochSecond() == Task.NO_DATE) {
+            return;
+        }
+        int spanClass = spanClassOf(entry.task);
+        if (spanClass >= spanClasses.size()) {
+            return;
+        }
+        NavigableMap<Long, Set<TaskEntry>> startDays = spanClasses.get(spanClass);
+        long startDay = startDayOf(entry.task);
+        Set<TaskEntry> bucket = startDays.get(startDay);
+        if (bucket != null && bucket.remove(entry) && bucket.isEmpty()) {
+            startDays.remove(startDay);
+        }
+    }
+
+    /**
+     * Removes every entry from the index.
+     */
+    void clear() {
+        spanClasses.clear();
+    }
+
+    /**
+     * Returns the entries that fall on any day in the given range, in list order.
+     * @param from First day of the range.
+     * @param to Last day of the range, inclusive.
+     * @return Matching entries in list order, each appearing once.
+     */
+    List<TaskEntry> find(LocalDate from, LocalDate to) {
+        List<TaskEntry> result = new ArrayList<>();
+        long fromDay = from.toEpochDay();
+        long toDay = to.toEpochDay();
+        for (int spanClass = 0; spanClass < spanClasses.size(); spanClass++) {
+            long earliestStart = fromDay - getMaxSpan(spanClass);
+            NavigableMap<Long, Set<TaskEntry>> days = spanClasses.get(spanClass).subMap(earliestStart, true,
+                    toDay, true);
+            for (Map.Entry<Long, Set<TaskEntry>> day : days.entrySet()) {
+                boolean isWithin = day.getKey() >= fromDay;
+                for (TaskEntry entry : day.getValue()) {
+                    visitedCount++;
+                    if (isWithin || lastDayOf(entry.task) >= fromDay) {
+                        result.add(entry);
+                    }
+                }
+            }
+        }
+        result.sort(Comparator.comparingLong(entry -> entry.order));
+        return result;
+    }
+
+    /**
+     * Returns the number of entries looked at by {@link #find(LocalDate, LocalDate)} so far,
+     * including those that turned out not to fall in the range.
+     * @return Number of entries visited.
+     */
+    long getVisitedCount() {
+        return visitedCount;
+    }
+
+    /**
+     * Checks if a task falls on any day in the given range, without looking it up in an index.
+     * @param task Task to check.
+     * @param from First day of the range.
+     * @param to Last day of the range, inclusive.
+     * @return true if the task has a date and falls on a day in the range.
+     */
+    static boolean fallsWithin(Task task, LocalDate from, LocalDate to) {
+        return task.getEpochSecond() != Task.NO_DATE && startDayOf(task) <= to.toEpochDay()
+                && lastDayOf(task) >= from.toEpochDay();
+    }
+
+    /**
+     * Returns the day a task starts on.
+     * @param task A task with a date.
+     * @return The start day, as days since the epoch.
+     */
+    private static long startDayOf(Task task) {
+        return Math.floorDiv(task.getEpochSecond(), SECONDS_PER_DAY);
+    }
+
+    /**
+     * Returns the last day a task falls on.
+     * Events that end before they start fall on their start day only.
+     * @param task A task with a date.
+     * @return The last day, as days since the epoch.
+     */
+    private static long lastDayOf(Task task) {
+        long start = startDayOf(task);
+        if (task instanceof Event event) {
+            return Math.max(start, Math.floorDiv(event.getEndEpochSecond(), SECONDS_PER_DAY));
+        }
+        return start;
+    }
+
+    /**
+     * Returns the span class a task is filed in.
+     * @param task A task with a date.
+     * @return The smallest class whose longest span is at least the number of days the task spans.
+     */
+    private static int spanClassOf(Task task) {
+        long span = lastDayOf(task) - startDayOf(task);
+        return Long.SIZE - Long.numberOfLeadingZeros(span);
+    }
+
+    /**
+     * Returns how many days after its start day a task in the given span class may still fall on.
+     * @param spanClass A span class.
+     * @return The longest span of the class, in days.
+     */
+    private static long getMaxSpan(int spanClass) {
+        return spanClass == 0 ? 0 : (1L << spanClass) - 1;
+    }
+}
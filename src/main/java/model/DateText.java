@@ -0,0 +1,48 @@
+package model;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.ResolverStyle;
+
+/**
+ * Formats task dates for display and keeps the most recent results in a small fixed-size cache,
+ * so tasks with the same date share one formatted string instead of formatting it again.
+ * Each date maps to one slot of the cache and a new date replaces whatever was in its slot,
+ * so the cache never holds more than {@link #CAPACITY} strings.
+ */
+public final class DateText {
+    /** Number of formatted dates the cache holds. */
+    public static final int CAPACITY = 1 << 10;
+    private static final int SLOT_BITS = Integer.numberOfTrailingZeros(CAPACITY);
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+    private static final DateTimeFormatter FORMATTER =
+            DateTimeFormatter.ofPattern("MMM dd yyyy HH:mm").withResolverStyle(ResolverStyle.STRICT);
+    // Entries are immutable, so a thread that reads a slot sees either a whole entry or a miss.
+    private static final Entry[] entries = new Entry[CAPACITY];
+
+    private DateText() {
+    }
+
+    /**
+     * Returns a date and time given as epoch seconds in UTC formatted as {@code MMM dd yyyy HH:mm}.
+     * @param epochSecond Epoch seconds of the date and time.
+     * @return The formatted date, shared with other callers of the same date while it is cached.
+     */
+    public static String format(long epochSecond) {
+        int slot = (int) ((epochSecond * HASH_MULTIPLIER) >>> (Long.SIZE - SLOT_BITS));
+        Entry entry = entries[slot];
+        if (entry != null && entry.epochSecond == epochSecond) {
+            return entry.text;
+        }
+        String text = LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC).format(FORMATTER);
+        entries[slot] = new Entry(epochSecond, text);
+        return text;
+    }
+
+    /**
+     * A formatted date held in one slot of the cache.
+     */
+    private record Entry(long epochSecond, String text) {
+    }
+}
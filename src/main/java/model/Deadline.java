@@ -1,16 +1,14 @@
 package model;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.ResolverStyle;
+
+import enums.TaskType;
 
 /**
  * Represents a deadline task with a description and a due date.
  */
 public class Deadline extends Task {
-    private static final DateTimeFormatter formatter =
-            DateTimeFormatter.ofPattern("MMM dd yyyy HH:mm").withResolverStyle(ResolverStyle.STRICT);
-    private final LocalDateTime by;
+    private final long by; // epoch seconds in UTC
 
     /**
      * Constructs a {@code Deadline} task with the specified description and due date.
@@ -18,27 +16,54 @@ public class Deadline extends Task {
      * @param by Due date and time of the deadline task,
      */
     public Deadline(String description, LocalDateTime by) {
-        super(description);
+        this(description, by, false);
+    }
+
+    /**
+     * Constructs a {@code Deadline} task with the specified description, due date and status.
+     * @param description Description of the deadline task.
+     * @param by Due date and time of the deadline task, kept to the second.
+     * @param isDone true if the task is done.
+     */
+    public Deadline(String description, LocalDateTime by, boolean isDone) {
+        this(description, toEpochSecond(by), isDone);
+    }
+
+    /**
+     * Constructs a {@code Deadline} task with a due date given as epoch seconds in UTC, as it is stored.
+     * @param description Description of the deadline task.
+     * @param by Epoch seconds of the due date and time.
+     * @param isDone true if the task is done.
+     */
+    public Deadline(String description, long by, boolean isDone) {
+        super(description, isDone);
         this.by = by;
     }
+
     /**
      * Returns the due date and time of the deadline task.
      * @return Due date and time.
      */
     public LocalDateTime getBy() {
-        return this.by;
+        return toDateTime(this.by);
     }
 
     /**
-     * Returns an array of strings representing the task for storage in a file.
-     * @return String array suitable for file input.
+     * Returns the type of the deadline task.
+     * @return {@code TaskType.DEADLINE}.
      */
     @Override
-    public String[] getFileInput() {
-        String[] s = super.getFileInput();
-        s[0] = "D";
-        s[3] = this.by.toString();
-        return s;
+    public TaskType getType() {
+        return TaskType.DEADLINE;
+    }
+
+    /**
+     * Returns a rough estimate of the heap memory held by this task, including its due date.
+     * @return Estimated size in bytes.
+     */
+    @Override
+    public long estimateSize() {
+        return super.estimateSize() + EPOCH_SIZE;
     }
 
     /**
@@ -47,16 +72,39 @@ public class Deadline extends Task {
      */
     @Override
     public LocalDateTime getDateTime() {
+        return getBy();
+    }
+
+    /**
+     * Returns the due date and time as epoch seconds in UTC.
+     * @return Epoch seconds of the due date.
+     */
+    @Override
+    public long getEpochSecond() {
         return this.by;
     }
 
+    @Override
+    protected Task copyWithDone(boolean isDone) {
+        return new Deadline(getDescription(), this.by, isDone);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return super.equals(obj) && by == ((Deadline) obj).by;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * super.hashCode() + Long.hashCode(by);
+    }
+
     /**
-     * Returns a string representation of the deadline task, including type, description, and due date.
+     * Builds a string representation of the deadline task, including type, description, and due date.
      * @return Formatted string representing the task.
      */
     @Override
-    public String toString() {
-        return "[D]" + super.toString() + " (by: " + this.by.format(formatter) + ")";
+    protected String render() {
+        return "[D]" + super.render() + " (by: " + DateText.format(this.by) + ")";
     }
 }
-
@@ -0,0 +1,144 @@
+package model;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Shares one String between all tasks with the same description.
+ * Recurring chores and templated deadlines repeat the same descriptions many times, and without
+ * the pool every task loaded or added would hold its own copy. The pool only refers to its strings
+ * weakly, so a description is dropped from it once no task uses it any more.
+ * Each pooled description costs an entry of its own, so a task file whose descriptions are mostly
+ * unique takes more memory with the pool than without it; the pool is therefore off until it is enabled.
+ * Descriptions are spread over several independently locked stripes, so threads loading a file in
+ * parallel rarely wait for each other.
+ */
+public final class DescriptionPool {
+    // Rough heap cost of one pooled description: the map entry, its weak reference and its table slot
+    static final long ENTRY_SIZE = 80;
+    private static final int STRIPE_COUNT = 64;
+    private static final Stripe[] stripes = new Stripe[STRIPE_COUNT];
+    private static final LongAdder lookupCount = new LongAdder();
+    private static final LongAdder sharedCount = new LongAdder();
+    private static final LongAdder savedBytes = new LongAdder();
+    private static volatile boolean isEnabled;
+
+    static {
+        for (int i = 0; i < STRIPE_COUNT; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    private DescriptionPool() {
+    }
+
+    /**
+     * Starts sharing descriptions. Descriptions created before this are not shared.
+     */
+    public static void enable() {
+        isEnabled = true;
+    }
+
+    /**
+     * Returns whether descriptions are being shared.
+     * @return true if the pool has been enabled.
+     */
+    public static boolean isEnabled() {
+        return isEnabled;
+    }
+
+    /**
+     * Returns the pooled string equal to the given description, adding the description if there is none.
+     * @param description Description of a task.
+     * @return A string equal to the description that is shared with every other task using it,
+     *         or the description itself if the pool is not enabled.
+     */
+    public static String intern(String description) {
+        if (!isEnabled) {
+            return description;
+        }
+        lookupCount.increment();
+        Stripe stripe = stripeOf(description);
+        String pooled;
+        synchronized (stripe) {
+            WeakReference<String> reference = stripe.map.get(description);
+            pooled = reference == null ? null : reference.get();
+            if (pooled == null) {
+                stripe.map.put(description, new WeakReference<>(description));
+                return description;
+            }
+        }
+        if (pooled != description) {
+            sharedCount.increment();
+            savedBytes.add(Task.estimateStringSize(description));
+        }
+        return pooled;
+    }
+
+    /**
+     * Returns the number of distinct descriptions in the pool that are still in use.
+     * @return Number of descriptions.
+     */
+    public static int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.map.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Returns the number of descriptions looked up since the pool was enabled.
+     * @return Number of lookups.
+     */
+    public static long getLookupCount() {
+        return lookupCount.sum();
+    }
+
+    /**
+     * Returns the number of lookups that found a copy of the description already in the pool.
+     * @return Number of copies replaced by a pooled string.
+     */
+    public static long getSharedCount() {
+        return sharedCount.sum();
+    }
+
+    /**
+     * Returns a rough estimate of the heap memory saved by sharing descriptions since the pool was enabled,
+     * before taking away what the pool itself uses.
+     * @return Estimated bytes saved.
+     */
+    public static long getSavedBytes() {
+        return savedBytes.sum();
+    }
+
+    /**
+     * Returns a rough estimate of the heap memory saved by sharing descriptions, less the memory held by
+     * the entries of the pool. This is negative when too few descriptions repeat to pay for the pool.
+     * @return Estimated net bytes saved.
+     */
+    public static long getNetSavedBytes() {
+        return getSavedBytes() - size() * ENTRY_SIZE;
+    }
+
+    /**
+     * Returns the stripe that holds the given description.
+     * @param description Description of a task.
+     * @return The stripe, which must be locked while it is used.
+     */
+    private static Stripe stripeOf(String description) {
+        int hash = description.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (STRIPE_COUNT - 1)];
+    }
+
+    /**
+     * One part of the pool, holding the descriptions whose hashes select it.
+     */
+    private static final class Stripe {
+        private final Map<String, WeakReference<String>> map = new WeakHashMap<>();
+    }
+}
@@ -1,18 +1,16 @@
 package model;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.ResolverStyle;
+
+import enums.TaskType;
 
 /**
  * Represents an Event task with a description, start time, and end time.
  * Extends the {@code Task} class.
  */
 public class Event extends Task {
-    private static final DateTimeFormatter formatter =
-            DateTimeFormatter.ofPattern("MMM dd yyyy HH:mm").withResolverStyle(ResolverStyle.STRICT);
-    private final LocalDateTime from;
-    private final LocalDateTime to;
+    private final long from; // epoch seconds in UTC
+    private final long to; // epoch seconds in UTC
 
     /**
      * Constructs an Event task with the specified description, start time, and end time.
@@ -21,22 +19,49 @@ public class Event extends Task {
      * @param to End date and time of the event.
      */
     public Event(String description, LocalDateTime from, LocalDateTime to) {
-        super(description);
+        this(description, from, to, false);
+    }
+
+    /**
+     * Constructs an Event task with the specified description, start time, end time and status.
+     * @param description Description of the event.
+     * @param from Start date and time of the event, kept to the second.
+     * @param to End date and time of the event, kept to the second.
+     * @param isDone true if the event is done.
+     */
+    public Event(String description, LocalDateTime from, LocalDateTime to, boolean isDone) {
+        this(description, toEpochSecond(from), toEpochSecond(to), isDone);
+    }
+
+    /**
+     * Constructs an Event task with its start and end given as epoch seconds in UTC, as they are stored.
+     * @param description Description of the event.
+     * @param from Epoch seconds of the start date and time.
+     * @param to Epoch seconds of the end date and time.
+     * @param isDone true if the event is done.
+     */
+    public Event(String description, long from, long to, boolean isDone) {
+        super(description, isDone);
         this.from = from;
         this.to = to;
     }
 
     /**
-     * Returns the string array representation of the event for file storage.
-     * @return File input representation of the event.
+     * Returns the type of the event.
+     * @return {@code TaskType.EVENT}.
+     */
+    @Override
+    public TaskType getType() {
+        return TaskType.EVENT;
+    }
+
+    /**
+     * Returns a rough estimate of the heap memory held by this task, including its start and end.
+     * @return Estimated size in bytes.
      */
     @Override
-    public String[] getFileInput() {
-        String[] s = super.getFileInput();
-        s[0] = "E";
-        s[3] = this.from.toString();
-        s[4] = this.to.toString();
-        return s;
+    public long estimateSize() {
+        return super.estimateSize() + 2 * EPOCH_SIZE;
     }
 
     /**
@@ -45,6 +70,15 @@ public class Event extends Task {
      */
     @Override
     public LocalDateTime getDateTime() {
+        return toDateTime(this.from);
+    }
+
+    /**
+     * Returns the start date and time of the event as epoch seconds in UTC.
+     * @return Epoch seconds of the start.
+     */
+    @Override
+    public long getEpochSecond() {
         return this.from;
     }
 
@@ -53,17 +87,44 @@ public class Event extends Task {
      * @return End LocalDateTime of the event.
      */
     public LocalDateTime getDateTimeTo() {
+        return toDateTime(this.to);
+    }
+
+    /**
+     * Returns the end date and time of the event as epoch seconds in UTC.
+     * @return Epoch seconds of the end.
+     */
+    public long getEndEpochSecond() {
         return this.to;
     }
 
+    @Override
+    protected Task copyWithDone(boolean isDone) {
+        return new Event(getDescription(), this.from, this.to, isDone);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (!super.equals(obj)) {
+            return false;
+        }
+        Event other = (Event) obj;
+        return from == other.from && to == other.to;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * super.hashCode() + Long.hashCode(from)) + Long.hashCode(to);
+    }
+
     /**
-     * Returns a string representation of the event, including status, description,
+     * Builds a string representation of the event, including status, description,
      * and formatted start and end times.
      * @return Formatted string representing the event.
      */
     @Override
-    public String toString() {
-        return "[E]" + super.toString() + " (from: " + this.from.format(formatter) + " to: "
-                + this.to.format(formatter) + ")";
+    protected String render() {
+        return "[E]" + super.render() + " (from: " + DateText.format(this.from) + " to: "
+                + DateText.format(this.to) + ")";
     }
 }
@@ -0,0 +1,43 @@
+package model;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for index maintenance that touches every task in a list, such as building
+ * an index on first use or relabelling the order of the entries.
+ */
+@Name("rotom.IndexMaintenance")
+@Label("Index Maintenance")
+@Category("Rotom")
+@Description("Building or relabelling a task list index over every task in the list")
+final class IndexEvent extends jdk.jfr.Event {
+    @Label("Index")
+    private final String index;
+    @Label("Operation")
+    private final String operation;
+    @Label("Task Count")
+    private int taskCount;
+
+    /**
+     * Constructs the event for an index and starts timing it.
+     * @param index Name of the index.
+     * @param operation What is done to the index, such as {@code build}.
+     */
+    IndexEvent(String index, String operation) {
+        this.index = index;
+        this.operation = operation;
+        begin();
+    }
+
+    /**
+     * Ends the event after the index was maintained, and records it if it is enabled.
+     * @param taskCount Number of tasks the index covers.
+     */
+    void end(int taskCount) {
+        this.taskCount = taskCount;
+        commit();
+    }
+}
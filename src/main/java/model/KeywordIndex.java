@@ -0,0 +1,169 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index of task descriptions used to answer case-insensitive substring queries.
+ * Keeps a token index of whole words and a trigram index of every three-character substring
+ * of the lower-cased descriptions. A query looks up the smallest posting set among its trigrams
+ * and the words it fully contains, then checks only those candidates with {@link String#contains},
+ * so the results are exactly those of a full scan.
+ */
+class KeywordIndex {
+    private static final int GRAM_LENGTH = 3;
+    private final Map<String, Set<TaskEntry>> tokens = new HashMap<>();
+    private final Map<Long, Set<TaskEntry>> trigrams = new HashMap<>();
+
+    /**
+     * Adds an entry to the index.
+     * @param entry Entry to add.
+     */
+    void add(TaskEntry entry) {
+        String text = lowerCase(entry);
+        for (String token : tokensOf(text)) {
+            tokens.computeIfAbsent(token, k -> new HashSet<>()).add(entry);
+        }
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            trigrams.computeIfAbsent(trigramAt(text, i), k -> new HashSet<>()).add(entry);
+        }
+    }
+
+    /**
+     * Removes an entry from the index.
+     * @param entry Entry to remove.
+     */
+    void remove(TaskEntry entry) {
+        String text = lowerCase(entry);
+        for (String token : tokensOf(text)) {
+            removeFrom(tokens, token, entry);
+        }
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            removeFrom(trigrams, trigramAt(text, i), entry);
+        }
+    }
+
+    /**
+     * Removes every entry from the index.
+     */
+    void clear() {
+        tokens.clear();
+        trigrams.clear();
+    }
+
+    /**
+     * Returns the entries whose lower-cased description contains the needle, in list order.
+     * Needles shorter than a trigram match too many tasks for the index to help,
+     * so those are answered by scanning all entries.
+     * @param needle Lower-cased, non-blank text to look for.
+     * @param entries All entries of the list, in list order.
+     * @return Matching entries in list order.
+     */
+    List<TaskEntry> find(String needle, List<TaskEntry> entries) {
+        List<TaskEntry> matches = new ArrayList<>();
+        if (needle.length() < GRAM_LENGTH) {
+            for (TaskEntry entry : entries) {
+                if (lowerCase(entry).contains(needle)) {
+                    matches.add(entry);
+                }
+            }
+            return matches;
+        }
+        for (TaskEntry entry : smallestPosting(needle)) {
+            if (lowerCase(entry).contains(needle)) {
+                matches.add(entry);
+            }
+        }
+        matches.sort(Comparator.comparingLong(entry -> entry.order));
+        return matches;
+    }
+
+    /**
+     * Returns the smallest posting set that every match of the needle must be in.
+     * @param needle Lower-cased text of at least three characters.
+     * @return Candidate entries, in no particular order.
+     */
+    private Set<TaskEntry> smallestPosting(String needle) {
+        Set<TaskEntry> smallest = null;
+        for (int i = 0; i + GRAM_LENGTH <= needle.length(); i++) {
+            Set<TaskEntry> posting = trigrams.getOrDefault(trigramAt(needle, i), Set.of());
+            if (smallest == null || posting.size() < smallest.size()) {
+                smallest = posting;
+            }
+        }
+        for (String token : enclosedTokensOf(needle)) {
+            Set<TaskEntry> posting = tokens.getOrDefault(token, Set.of());
+            if (posting.size() < smallest.size()) {
+                smallest = posting;
+            }
+        }
+        return smallest;
+    }
+
+    /**
+     * Returns the words of a text, split on whitespace.
+     * @param text Text to split.
+     * @return Distinct words of the text.
+     */
+    private static Set<String> tokensOf(String text) {
+        Set<String> result = new HashSet<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean isBoundary = i == text.length() || Character.isWhitespace(text.charAt(i));
+            if (isBoundary && start >= 0) {
+                result.add(text.substring(start, i));
+                start = -1;
+            } else if (!isBoundary && start < 0) {
+                start = i;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the words of a needle that have whitespace on both sides within the needle.
+     * Any description containing the needle must contain each of them as a whole word.
+     * @param needle Text to split.
+     * @return Words enclosed by whitespace.
+     */
+    private static List<String> enclosedTokensOf(String needle) {
+        List<String> result = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i < needle.length(); i++) {
+            boolean isBoundary = Character.isWhitespace(needle.charAt(i));
+            if (isBoundary && start >= 0) {
+                if (start > 0) {
+                    result.add(needle.substring(start, i));
+                }
+                start = -1;
+            } else if (!isBoundary && start < 0) {
+                start = i;
+            }
+        }
+        return result;
+    }
+
+    private static long trigramAt(String text, int index) {
+        return ((long) text.charAt(index) << 32) | ((long) text.charAt(index + 1) << 16) | text.charAt(index + 2);
+    }
+
+    private static String lowerCase(TaskEntry entry) {
+        return entry.task.getDescription().toLowerCase(Locale.ROOT);
+    }
+
+    private static <K> void removeFrom(Map<K, Set<TaskEntry>> index, K key, TaskEntry entry) {
+        Set<TaskEntry> posting = index.get(key);
+        if (posting != null) {
+            posting.remove(entry);
+            if (posting.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Represents a task list whose snapshots cost nothing to take.
+ * The tasks are held in a {@link PersistentTaskVector}, which each change replaces with a new
+ * version that shares all but O(log n) of its nodes with the old one. A snapshot is just the
+ * current version, so undoing a reset or saving in the background keeps the old version instead
+ * of copying it.
+ * Changes are made one at a time, while reads use whichever version is current when they start
+ * and never wait for a change. Searches and date filters scan that version instead of keeping
+ * indexes, which suits lists whose snapshots matter more than their searches.
+ * Tasks are immutable, so marking a task replaces it in the new version and leaves snapshots as they were.
+ */
+public class PersistentTaskList extends TaskList {
+    private static final Comparator<Task> CHRONOLOGICAL_ORDER = Comparator.comparingLong(Task::getEpochSecond);
+    private volatile PersistentTaskVector tasks = PersistentTaskVector.empty();
+
+    /**
+     * Constructs an empty PersistentTaskList.
+     */
+    public PersistentTaskList() {
+        super();
+    }
+
+    /**
+     * Sorts tasks in ascending order based on their date and time.
+     * Tasks without a date are placed at the end, and tasks with the same date keep their order.
+     */
+    @Override
+    public synchronized void sort() {
+        Task[] sorted = tasks.toArray(new Task[0]);
+        Arrays.sort(sorted, CHRONOLOGICAL_ORDER);
+        tasks = PersistentTaskVector.of(Arrays.asList(sorted));
+    }
+
+    @Override
+    public TaskList filter(LocalDate date) {
+        return filter(date, date);
+    }
+
+    @Override
+    public TaskList filter(LocalDate from, LocalDate to) {
+        TaskList res = new TaskList();
+        for (Task task : tasks) {
+            if (DateIndex.fallsWithin(task, from, to)) {
+                res.add(task);
+            }
+        }
+        return res;
+    }
+
+    @Override
+    public TaskList filter(String desc) {
+        TaskList res = new TaskList();
+        if (desc == null || (desc.trim().isEmpty() && !desc.isEmpty())) {
+            return res;
+        }
+        String needle = desc.toLowerCase(Locale.ROOT);
+        for (Task task : tasks) {
+            if (task.getDescription().toLowerCase(Locale.ROOT).contains(needle)) {
+                res.add(task);
+            }
+        }
+        return res;
+    }
+
+    @Override
+    public synchronized void clear() {
+        tasks = PersistentTaskVector.empty();
+    }
+
+    @Override
+    public synchronized void add(Task task) {
+        tasks = tasks.append(task);
+    }
+
+    /**
+     * Adds all the given tasks to the end of the task list, in order.
+     * Adding a snapshot to an empty list takes constant time, since the snapshot becomes the list.
+     * @param tasksToAdd Tasks to be added.
+     */
+    @Override
+    public synchronized void addAll(List<Task> tasksToAdd) {
+        tasks = tasks.appendAll(tasksToAdd);
+    }
+
+    @Override
+    public synchronized void addAtIndex(Task task, int index) {
+        tasks = tasks.insert(index, task);
+    }
+
+    @Override
+    public synchronized void delete(int index) {
+        tasks = tasks.delete(index);
+    }
+
+    @Override
+    public synchronized void remove(Task task) {
+        int index = tasks.indexOf(task);
+        if (index >= 0) {
+            tasks = tasks.delete(index);
+        }
+    }
+
+    @Override
+    public int getCount() {
+        return tasks.size();
+    }
+
+    @Override
+    public Task getTask(int index) {
+        return tasks.get(index);
+    }
+
+    @Override
+    public int indexOf(Task task) {
+        return tasks.indexOf(task);
+    }
+
+    @Override
+    public int lastIndexOf(Task task) {
+        return tasks.lastIndexOf(task);
+    }
+
+    @Override
+    public List<Task> toList() {
+        return new ArrayList<>(tasks);
+    }
+
+    /**
+     * Returns the current version of the list, in constant time.
+     * @return Immutable list of the tasks.
+     */
+    @Override
+    public List<Task> snapshot() {
+        return tasks;
+    }
+
+    @Override
+    public synchronized void mark(int index) {
+        tasks = tasks.replace(index, tasks.get(index).withDone(true));
+    }
+
+    @Override
+    public synchronized void unmark(int index) {
+        tasks = tasks.replace(index, tasks.get(index).withDone(false));
+    }
+}
@@ -0,0 +1,301 @@
+package model;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+/**
+ * Represents an immutable list of tasks that shares its structure with the lists it was made from.
+ * The tasks are held in a balanced binary tree in which every node knows the size of its subtree,
+ * so getting, inserting or removing the task at any index takes O(log n) time. A change copies only
+ * the nodes on the path to the index and shares every other node with the list it was made from,
+ * which makes keeping an old version of the list as cheap as keeping a reference to it.
+ * The tasks themselves are immutable and shared, not copied.
+ */
+public final class PersistentTaskVector extends AbstractList<Task> implements RandomAccess {
+    private static final PersistentTaskVector EMPTY = new PersistentTaskVector(null);
+    private final Node root;
+
+    private PersistentTaskVector(Node root) {
+        this.root = root;
+    }
+
+    /**
+     * Returns the empty list.
+     * @return A list with no tasks.
+     */
+    public static PersistentTaskVector empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Returns a list holding the given tasks in order, built in linear time.
+     * @param tasks Tasks to hold.
+     * @return A list of the tasks.
+     */
+    public static PersistentTaskVector of(List<Task> tasks) {
+        if (tasks instanceof PersistentTaskVector vector) {
+            return vector;
+        }
+        return tasks.isEmpty() ? EMPTY : new PersistentTaskVector(build(tasks, 0, tasks.size()));
+    }
+
+    @Override
+    public Task get(int index) {
+        checkIndex(index, size());
+        Node node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index > leftSize) {
+                index -= leftSize + 1;
+                node = node.right;
+            } else {
+                return node.task;
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return size(root);
+    }
+
+    @Override
+    public Iterator<Task> iterator() {
+        return new InOrderIterator(root);
+    }
+
+    /**
+     * Returns a list with the given task inserted at the given index.
+     * @param index Index to insert at, from 0 to the size of the list.
+     * @param task Task to insert.
+     * @return The new list.
+     */
+    public PersistentTaskVector insert(int index, Task task) {
+        checkIndex(index, size() + 1);
+        return new PersistentTaskVector(insert(root, index, task));
+    }
+
+    /**
+     * Returns a list with the task at the given index replaced.
+     * @param index Index of the task to replace.
+     * @param task Task to put in its place.
+     * @return The new list.
+     */
+    public PersistentTaskVector replace(int index, Task task) {
+        checkIndex(index, size());
+        return new PersistentTaskVector(replace(root, index, task));
+    }
+
+    /**
+     * Returns a list with the given task added at the end.
+     * @param task Task to add.
+     * @return The new list.
+     */
+    public PersistentTaskVector append(Task task) {
+        return insert(size(), task);
+    }
+
+    /**
+     * Returns a list with the given tasks added at the end, in order.
+     * The tasks are built into a tree in linear time, which is then joined to this one in O(log n) time.
+     * Adding to an empty list reuses the given list if it is persistent.
+     * @param tasks Tasks to add.
+     * @return The new list.
+     */
+    public PersistentTaskVector appendAll(List<Task> tasks) {
+        PersistentTaskVector added = of(tasks);
+        if (root == null || added.root == null) {
+            return root == null ? added : this;
+        }
+        return new PersistentTaskVector(join(root, added.get(0), remove(added.root, 0)));
+    }
+
+    /**
+     * Returns a list without the task at the given index.
+     * @param index Index of the task to remove.
+     * @return The new list.
+     */
+    public PersistentTaskVector delete(int index) {
+        checkIndex(index, size());
+        Node result = remove(root, index);
+        return result == null ? EMPTY : new PersistentTaskVector(result);
+    }
+
+    /**
+     * Builds a perfectly balanced tree from part of a list.
+     * @param tasks Tasks to build from.
+     * @param from Index of the first task.
+     * @param to Index just past the last task.
+     * @return Root of the tree, or null if the part is empty.
+     */
+    private static Node build(List<Task> tasks, int from, int to) {
+        if (from >= to) {
+            return null;
+        }
+        int mid = (from + to) >>> 1;
+        return new Node(build(tasks, from, mid), tasks.get(mid), build(tasks, mid + 1, to));
+    }
+
+    /**
+     * Joins two trees of any heights with a task between them, descending the taller tree to
+     * where the shorter one fits.
+     * @param left Tree holding the first tasks.
+     * @param task Task between the trees.
+     * @param right Tree holding the last tasks.
+     * @return Root of the joined tree.
+     */
+    private static Node join(Node left, Task task, Node right) {
+        if (height(left) > height(right) + 1) {
+            return balance(left.left, left.task, join(left.right, task, right));
+        }
+        if (height(right) > height(left) + 1) {
+            return balance(join(left, task, right.left), right.task, right.right);
+        }
+        return new Node(left, task, right);
+    }
+
+    private static Node replace(Node node, int index, Task task) {
+        int leftSize = size(node.left);
+        if (index < leftSize) {
+            return new Node(replace(node.left, index, task), node.task, node.right);
+        }
+        if (index > leftSize) {
+            return new Node(node.left, node.task, replace(node.right, index - leftSize - 1, task));
+        }
+        return new Node(node.left, task, node.right);
+    }
+
+    private static Node insert(Node node, int index, Task task) {
+        if (node == null) {
+            return new Node(null, task, null);
+        }
+        int leftSize = size(node.left);
+        if (index <= leftSize) {
+            return balance(insert(node.left, index, task), node.task, node.right);
+        }
+        return balance(node.left, node.task, insert(node.right, index - leftSize - 1, task));
+    }
+
+    private static Node remove(Node node, int index) {
+        int leftSize = size(node.left);
+        if (index < leftSize) {
+            return balance(remove(node.left, index), node.task, node.right);
+        }
+        if (index > leftSize) {
+            return balance(node.left, node.task, remove(node.right, index - leftSize - 1));
+        }
+        if (node.left == null) {
+            return node.right;
+        }
+        if (node.right == null) {
+            return node.left;
+        }
+        Node first = node.right;
+        while (first.left != null) {
+            first = first.left;
+        }
+        return balance(node.left, first.task, remove(node.right, 0));
+    }
+
+    /**
+     * Returns a node joining two subtrees whose heights differ by at most two, rotating it
+     * so that their heights differ by at most one.
+     * @param left Left subtree.
+     * @param task Task between the subtrees.
+     * @param right Right subtree.
+     * @return The balanced node.
+     */
+    private static Node balance(Node left, Task task, Node right) {
+        int leftHeight = height(left);
+        int rightHeight = height(right);
+        if (leftHeight > rightHeight + 1) {
+            if (height(left.left) >= height(left.right)) {
+                return new Node(left.left, left.task, new Node(left.right, task, right));
+            }
+            Node pivot = left.right;
+            return new Node(new Node(left.left, left.task, pivot.left), pivot.task,
+                    new Node(pivot.right, task, right));
+        }
+        if (rightHeight > leftHeight + 1) {
+            if (height(right.right) >= height(right.left)) {
+                return new Node(new Node(left, task, right.left), right.task, right.right);
+            }
+            Node pivot = right.left;
+            return new Node(new Node(left, task, pivot.left), pivot.task,
+                    new Node(pivot.right, right.task, right.right));
+        }
+        return new Node(left, task, right);
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static void checkIndex(int index, int bound) {
+        if (index < 0 || index >= bound) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + bound);
+        }
+    }
+
+    /**
+     * Holds one task of the tree and the size and height of the subtree below it.
+     */
+    private static final class Node {
+        final Node left;
+        final Task task;
+        final Node right;
+        final int size;
+        final int height;
+
+        Node(Node left, Task task, Node right) {
+            this.left = left;
+            this.task = task;
+            this.right = right;
+            this.size = size(left) + size(right) + 1;
+            this.height = Math.max(height(left), height(right)) + 1;
+        }
+    }
+
+    /**
+     * Walks the tree in order, keeping the path to the next node on a stack.
+     */
+    private static final class InOrderIterator implements Iterator<Task> {
+        private final Deque<Node> path = new ArrayDeque<>();
+
+        InOrderIterator(Node root) {
+            pushLeftmost(root);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !path.isEmpty();
+        }
+
+        @Override
+        public Task next() {
+            if (path.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            Node node = path.pop();
+            pushLeftmost(node.right);
+            return node.task;
+        }
+
+        private void pushLeftmost(Node node) {
+            for (; node != null; node = node.left) {
+                path.push(node);
+            }
+        }
+    }
+}
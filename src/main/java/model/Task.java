@@ -1,30 +1,40 @@
 package model;
 
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeParseException;
 
-import enums.Status;
 import enums.TaskType;
 import exception.RotomException;
 
 /**
  * Represents a general task with a description and completion status.
  * Can be extended for specific task types such as {@code Deadline}, {@code Event} or {@code Todo}.
+ * Tasks are immutable values: marking a task makes a new one, so a task can be shared between
+ * lists, snapshots and threads without copying. Two tasks are equal if they have the same type,
+ * description, status and dates.
+ * A task builds its display string the first time it is shown and keeps it, since its status
+ * and dates can never change.
  */
 public abstract class Task {
+    /** Sort key of tasks without a date, which places them after every dated task. */
+    public static final long NO_DATE = Long.MAX_VALUE;
+    /** Heap size in bytes of a date stored as epoch seconds. */
+    protected static final long EPOCH_SIZE = 8;
+    private static final long TASK_SIZE = 16;
+    private static final long STRING_SIZE = 40;
     private final String description;
-    private Status status;
-    private final String[] fileInput;
+    private final boolean isDone;
+    private String rendered; // built on first use; racing threads build equal strings
 
     /**
-     * Constructs a {@code Task} with the specified description.
-     * Initially, the task is marked as not done.
+     * Constructs a {@code Task} with the specified description and status.
      * @param description Description of the task.
+     * @param isDone true if the task is done.
      */
-    public Task(String description) {
+    protected Task(String description, boolean isDone) {
         this.description = description;
-        this.status = Status.NOT_DONE;
-        this.fileInput = new String[] {"", "0", this.description, "", ""};
+        this.isDone = isDone;
     }
 
     /**
@@ -36,18 +46,33 @@ public abstract class Task {
      * @throws RotomException If task type is unknown, description is empty, or dates are invalid.
      */
     public static Task makeTask(TaskType type, String desc, String... dates) throws RotomException {
+        return makeTask(type, false, desc, dates);
+    }
+
+    /**
+     * Creates a {@code Task} of the specified type and status with a description and optional dates.
+     * The description is shared through the {@link DescriptionPool} when it is enabled.
+     * @param type Type of the task ({@code DEADLINE}, {@code EVENT}, {@code TODO}.
+     * @param isDone true if the task is done.
+     * @param desc Description of the task.
+     * @param dates Optional date(s) depending on the task type.
+     * @return Constructed {@code Task} object.
+     * @throws RotomException If task type is unknown, description is empty, or dates are invalid.
+     */
+    public static Task makeTask(TaskType type, boolean isDone, String desc, String... dates) throws RotomException {
         if (desc == null || desc.isBlank()) {
             throw new RotomException("Task description cannot be empty");
         }
+        String description = DescriptionPool.intern(desc);
         switch(type) {
         case TODO:
-            return new Todo(desc);
+            return new Todo(description, isDone);
         case DEADLINE:
             if (dates.length != 1) {
                 throw new RotomException("Deadline needs one date!");
             }
             try {
-                return new Deadline(desc, LocalDateTime.parse(dates[0]));
+                return new Deadline(description, LocalDateTime.parse(dates[0]), isDone);
             } catch (DateTimeParseException e) {
                 throw new RotomException("Invalid deadline format! Use: deadline <desc> /by <yyyy-MM-dd " + "HH:mm>");
             }
@@ -56,7 +81,7 @@ public abstract class Task {
                 throw new RotomException("Event needs two dates!");
             }
             try {
-                return new Event(desc, LocalDateTime.parse(dates[0]), LocalDateTime.parse(dates[1]));
+                return new Event(description, LocalDateTime.parse(dates[0]), LocalDateTime.parse(dates[1]), isDone);
             } catch (DateTimeParseException e) {
                 throw new RotomException("Invalid event format! Use: event <desc> /from <yyyy-MM-dd HH:mm>"
                         + " /to <yyyy-MM-dd HH:mm>");
@@ -71,7 +96,7 @@ public abstract class Task {
      * @return "X" if done, otherwise a blank space.
      */
     public String getStatusIcon() {
-        if (this.status == Status.DONE) {
+        if (this.isDone) {
             return "X"; // mark done task with X
         } else {
             return " ";
@@ -79,19 +104,12 @@ public abstract class Task {
     }
 
     /**
-     * Marks the task as done and updates its file input representation.
-     */
-    public void markAsDone() {
-        this.status = Status.DONE;
-        this.fileInput[1] = "1";
-    }
-
-    /**
-     * Marks the task as not done and updates its file input representation.
+     * Returns this task with the given status.
+     * @param isDone true for a task that is done.
+     * @return This task if it already has the status, otherwise a copy of it with the status.
      */
-    public void markAsUndone() {
-        this.status = Status.NOT_DONE;
-        this.fileInput[1] = "0";
+    public Task withDone(boolean isDone) {
+        return this.isDone == isDone ? this : copyWithDone(isDone);
     }
 
     /**
@@ -99,7 +117,7 @@ public abstract class Task {
      * @return true if the task is marked as done, false otherwise.
      */
     public boolean isDone() {
-        return this.status == Status.DONE;
+        return this.isDone;
     }
 
     /**
@@ -111,11 +129,27 @@ public abstract class Task {
     }
 
     /**
-     * Returns the string array representation of the task for file storage.
-     * @return File input representation of the task.
+     * Returns the type of the task.
+     * @return Task type.
      */
-    public String[] getFileInput() {
-        return this.fileInput;
+    public abstract TaskType getType();
+
+    /**
+     * Returns a rough estimate of the heap memory held by this task, including its description.
+     * Subclasses add the size of their own fields.
+     * @return Estimated size in bytes.
+     */
+    public long estimateSize() {
+        return TASK_SIZE + estimateStringSize(description);
+    }
+
+    /**
+     * Returns a rough estimate of the heap memory held by a string.
+     * @param string The string.
+     * @return Estimated size in bytes.
+     */
+    static long estimateStringSize(String string) {
+        return STRING_SIZE + string.length();
     }
 
     /**
@@ -128,11 +162,76 @@ public abstract class Task {
     }
 
     /**
-     * Returns a string representation of the task, including status and description.
+     * Returns the main date and time of the task as seconds since the epoch in UTC, which is how it is stored.
+     * Comparing these orders tasks by date without creating any date objects.
+     * @return Epoch seconds of the task's date, or {@link #NO_DATE} if it has none.
+     */
+    public long getEpochSecond() {
+        return NO_DATE;
+    }
+
+    /**
+     * Returns a copy of this task with the given status.
+     * @param isDone true for a task that is done.
+     * @return The copy.
+     */
+    protected abstract Task copyWithDone(boolean isDone);
+
+    /**
+     * Converts a date and time to epoch seconds in UTC, dropping any fraction of a second.
+     * @param dateTime Date and time to convert.
+     * @return Epoch seconds.
+     */
+    protected static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * Converts epoch seconds in UTC back to a date and time.
+     * @param epochSecond Epoch seconds.
+     * @return Date and time.
+     */
+    protected static LocalDateTime toDateTime(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        Task other = (Task) obj;
+        return isDone == other.isDone && description.equals(other.description);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * description.hashCode() + (isDone ? 1 : 0);
+    }
+
+    /**
+     * Returns a string representation of the task, built once and then reused.
      * @return Formatted string representing the task.
      */
     @Override
-    public String toString() {
+    public final String toString() {
+        String text = this.rendered;
+        if (text == null) {
+            text = render();
+            this.rendered = text;
+        }
+        return text;
+    }
+
+    /**
+     * Builds the string representation of the task, including status and description.
+     * Subclasses add their type and dates.
+     * @return Formatted string representing the task.
+     */
+    protected String render() {
         return "[" + this.getStatusIcon() + "] " + this.getDescription();
     }
 }
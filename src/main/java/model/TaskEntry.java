@@ -0,0 +1,19 @@
+package model;
+
+/**
+ * Holds a task at one position of a {@link TaskList}, together with a label that orders it
+ * relative to the other entries of the list.
+ * Labels increase along the list but are not contiguous, so that an index can return
+ * the tasks it finds in list order without knowing their positions.
+ * Marking replaces the task with a copy that has the same description and dates, so the
+ * indexes holding the entry stay valid.
+ */
+final class TaskEntry {
+    Task task;
+    long order;
+
+    TaskEntry(Task task, long order) {
+        this.task = task;
+        this.order = order;
+    }
+}
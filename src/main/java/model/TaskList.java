@@ -1,53 +1,75 @@
 package model;
 
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.List;
 import java.util.Locale;
+import java.util.TreeSet;
 
 /**
  * Represents a list of tasks with functionality to add, delete, sort, filter,
  * and update task completion status.
  */
 public class TaskList {
-    private final ArrayList<Task> tasks;
+    private static final long ORDER_GAP = 1L << 20;
+    private static final Comparator<TaskEntry> CHRONOLOGICAL_ORDER = Comparator
+            .comparingLong((TaskEntry entry) -> entry.task.getEpochSecond())
+            .thenComparingLong(entry -> entry.order);
+    private final ArrayList<TaskEntry> entries;
+    private KeywordIndex keywordIndex; // built on the first search, then kept up to date
+    private DateIndex dateIndex; // built on the first date filter, then kept up to date
+    private TreeSet<TaskEntry> sortedView; // built on the first sort, then kept up to date
 
     /**
      * Constructs an empty TaskList.
      */
     public TaskList() {
-        this.tasks = new ArrayList<>();
+        this.entries = new ArrayList<>();
     }
 
     /**
      * Sorts tasks in ascending order based on their date and time.
-     * Tasks without a date are placed at the end.
+     * Tasks without a date are placed at the end, and tasks with the same date keep their order.
+     * The list is rebuilt from a sorted view that is kept up to date as tasks are added and removed,
+     * so sorting again does not compare any tasks.
      */
     public void sort() {
-        tasks.sort(Comparator.comparing(
-                t -> t.getDateTime() != null ? t.getDateTime() : LocalDateTime.MAX
-        ));
+        TreeSet<TaskEntry> view = getSortedView();
+        entries.clear();
+        entries.addAll(view);
+        // Relabelling in sorted order keeps the view's order intact
+        relabel();
     }
 
     /**
      * Filters tasks to return only those occurring on the specified date.
+     * Events are included on every day from their start to their end.
      * @param date Date to filer tasks by.
      * @return A new TaskList containing tasks that occur on the specified date.
      */
     public TaskList filter(LocalDate date) {
-        TaskList res = new TaskList();
-        tasks.stream()
-                .filter(task -> task.getDateTime() != null) // Keep only tasks with a date
-                .filter(task -> task.getDateTime().toLocalDate().equals(date)) // Keep tasks with specified date
-                .forEach(res::add); // Add each filtered task to the result
-        return res;
+        return filterByDates(date, date);
+    }
+
+    /**
+     * Filters tasks to return only those occurring on any day in the specified range.
+     * Events are included if any day from their start to their end falls in the range.
+     * @param from First date of the range.
+     * @param to Last date of the range, inclusive.
+     * @return A new TaskList containing tasks that occur in the range, in list order.
+     */
+    public TaskList filter(LocalDate from, LocalDate to) {
+        return filterByDates(from, to);
     }
 
     /**
      * Returns a new TaskList containing all tasks whose
      * descriptions contain the specified keyword or
      * phrase.
+     * Matching is a case-insensitive substring search, answered from a keyword index
+     * that is built on the first search and updated as tasks are added and removed.
      * @param desc Keyword or phrase to search for in task description.
      * @return TaskList of tasks that contain the specified keyword.
      */
@@ -55,23 +77,29 @@ public class TaskList {
         TaskList res = new TaskList();
         if (desc == null || desc.trim().isEmpty()) {
             if (desc != null && desc.isEmpty()) {
-                tasks.forEach(res::add);
+                entries.forEach(entry -> res.add(entry.task));
             }
             return res;
         }
         String needle = desc.toLowerCase(Locale.ROOT);
-        tasks.stream()
-                .filter(task -> task.getDescription()
-                        .toLowerCase(Locale.ROOT)
-                        .contains(needle))
-                .forEach(res::add);
+        getKeywordIndex().find(needle, entries).forEach(entry -> res.add(entry.task));
         return res;
     }
+
     /**
      * Clears all tasks from the task list.
      */
     public void clear() {
-        tasks.clear();
+        entries.clear();
+        if (keywordIndex != null) {
+            keywordIndex.clear();
+        }
+        if (dateIndex != null) {
+            dateIndex.clear();
+        }
+        if (sortedView != null) {
+            sortedView.clear();
+        }
     }
 
     /**
@@ -79,7 +107,16 @@ public class TaskList {
      * @param task Task to be added.
      */
     public void add(Task task) {
-        this.tasks.add(task);
+        append(task);
+    }
+
+    /**
+     * Adds all the given tasks to the end of the task list, in order.
+     * @param tasksToAdd Tasks to be added.
+     */
+    public void addAll(List<Task> tasksToAdd) {
+        this.entries.ensureCapacity(entries.size() + tasksToAdd.size());
+        tasksToAdd.forEach(this::append);
     }
 
     /**
@@ -88,7 +125,16 @@ public class TaskList {
      * @param index The index of the task to be added.
      */
     public void addAtIndex(Task task, int index) {
-        tasks.add(index, task);
+        if (index == entries.size()) {
+            append(task);
+            return;
+        }
+        if (!hasRoomBefore(index)) {
+            relabel();
+        }
+        long upper = entries.get(index).order;
+        long lower = index > 0 ? entries.get(index - 1).order : upper - 2 * ORDER_GAP;
+        insert(index, new TaskEntry(task, lower + (upper - lower) / 2));
     }
 
     /**
@@ -96,7 +142,7 @@ public class TaskList {
      * @param index Index of the task to be deleted.
      */
     public void delete(int index) {
-        this.tasks.remove(index);
+        removeAt(index);
     }
 
     /**
@@ -104,7 +150,10 @@ public class TaskList {
      * @param task Task to be deleted.
      */
     public void remove(Task task) {
-        tasks.remove(task);
+        int index = findIndex(task);
+        if (index >= 0) {
+            removeAt(index);
+        }
     }
 
     /**
@@ -112,7 +161,7 @@ public class TaskList {
      * @return Number of tasks.
      */
     public int getCount() {
-        return this.tasks.size();
+        return this.entries.size();
     }
 
     /**
@@ -121,22 +170,219 @@ public class TaskList {
      * @return Task at the specified index.
      */
     public Task getTask(int index) {
-        return this.tasks.get(index);
+        return this.entries.get(index).task;
+    }
+
+    /**
+     * Returns the index of the given task in the list.
+     * @param task Task to look for.
+     * @return Index of the task, or -1 if it is not in the list.
+     */
+    public int indexOf(Task task) {
+        return findIndex(task);
+    }
+
+    /**
+     * Returns the index of the last task in the list equal to the given one.
+     * Commands that added a task look for it from the end, where it was added.
+     * @param task Task to look for.
+     * @return Index of the task, or -1 if it is not in the list.
+     */
+    public int lastIndexOf(Task task) {
+        for (int i = entries.size() - 1; i >= 0; i--) {
+            if (entries.get(i).task.equals(task)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns a copy of the tasks in list order.
+     * Later changes to this TaskList do not affect the returned list.
+     * @return List of tasks.
+     */
+    public List<Task> toList() {
+        List<Task> result = new ArrayList<>(entries.size());
+        entries.forEach(entry -> result.add(entry.task));
+        return result;
+    }
+
+    /**
+     * Returns the tasks in list order as an immutable list that later changes to this TaskList do not affect.
+     * This copies the tasks, while lists that keep old versions of themselves can return one without copying.
+     * @return Immutable list of tasks.
+     */
+    public List<Task> snapshot() {
+        return Collections.unmodifiableList(toList());
     }
 
     /**
-     * Marks the task at the specified index as done.
+     * Marks the task at the specified index as done, replacing it with a done copy.
      * @param index Index of the task to mark.
      */
     public void mark(int index) {
-        this.tasks.get(index).markAsDone();
+        TaskEntry entry = this.entries.get(index);
+        entry.task = entry.task.withDone(true);
     }
 
     /**
-     * Marks the task at the specified index as not done.
+     * Marks the task at the specified index as not done, replacing it with a copy that is not done.
      * @param index Index of the task to unmark.
      */
     public void unmark(int index) {
-        this.tasks.get(index).markAsUndone();
+        TaskEntry entry = this.entries.get(index);
+        entry.task = entry.task.withDone(false);
+    }
+
+    /**
+     * Builds every index that is otherwise built on first use, so that later
+     * searches and date filters only read them.
+     */
+    void buildIndexes() {
+        getKeywordIndex();
+        getDateIndex();
+        getSortedView();
+    }
+
+    /**
+     * Returns the tasks occurring on any day in the specified range, answered from the date index.
+     * @param from First date of the range.
+     * @param to Last date of the range, inclusive.
+     * @return A new TaskList containing tasks that occur in the range, in list order.
+     */
+    private TaskList filterByDates(LocalDate from, LocalDate to) {
+        TaskList res = new TaskList();
+        getDateIndex().find(from, to).forEach(entry -> res.add(entry.task));
+        return res;
+    }
+
+    /**
+     * Appends a task to the end of the list.
+     * @param task Task to be added.
+     */
+    private void append(Task task) {
+        if (!entries.isEmpty() && entries.get(entries.size() - 1).order > Long.MAX_VALUE - ORDER_GAP) {
+            relabel();
+        }
+        long order = entries.isEmpty() ? 0 : entries.get(entries.size() - 1).order + ORDER_GAP;
+        insert(entries.size(), new TaskEntry(task, order));
+    }
+
+    /**
+     * Removes the entry at the given index from the list and from the indexes that have been built.
+     * @param index Index of the entry to remove.
+     */
+    private void removeAt(int index) {
+        TaskEntry entry = this.entries.remove(index);
+        if (keywordIndex != null) {
+            keywordIndex.remove(entry);
+        }
+        if (dateIndex != null) {
+            dateIndex.remove(entry);
+        }
+        if (sortedView != null) {
+            sortedView.remove(entry);
+        }
+    }
+
+    /**
+     * Returns the index of the first entry holding a task equal to the given one.
+     * @param task Task to look for.
+     * @return Index of the task, or -1 if it is not in the list.
+     */
+    private int findIndex(Task task) {
+        for (int i = 0; i < entries.size(); i++) {
+            if (entries.get(i).task.equals(task)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the keyword index, building it from the current tasks on first use.
+     * @return The keyword index.
+     */
+    private KeywordIndex getKeywordIndex() {
+        if (keywordIndex == null) {
+            IndexEvent event = new IndexEvent("keyword", "build");
+            keywordIndex = new KeywordIndex();
+            entries.forEach(keywordIndex::add);
+            event.end(entries.size());
+        }
+        return keywordIndex;
+    }
+
+    /**
+     * Returns the date index, building it from the current tasks on first use.
+     * @return The date index.
+     */
+    private DateIndex getDateIndex() {
+        if (dateIndex == null) {
+            IndexEvent event = new IndexEvent("date", "build");
+            dateIndex = new DateIndex();
+            entries.forEach(dateIndex::add);
+            event.end(entries.size());
+        }
+        return dateIndex;
+    }
+
+    /**
+     * Returns the entries ordered by date, building the view from the current tasks on first use.
+     * Entries with the same date, or without one, are ordered by their position in the list.
+     * @return The sorted view.
+     */
+    private TreeSet<TaskEntry> getSortedView() {
+        if (sortedView == null) {
+            IndexEvent event = new IndexEvent("chronological", "build");
+            sortedView = new TreeSet<>(CHRONOLOGICAL_ORDER);
+            sortedView.addAll(entries);
+            event.end(entries.size());
+        }
+        return sortedView;
+    }
+
+    /**
+     * Inserts an entry at the given index and adds it to the indexes that have been built.
+     * @param index Index to insert at.
+     * @param entry Entry to insert.
+     */
+    private void insert(int index, TaskEntry entry) {
+        entries.add(index, entry);
+        if (keywordIndex != null) {
+            keywordIndex.add(entry);
+        }
+        if (dateIndex != null) {
+            dateIndex.add(entry);
+        }
+        if (sortedView != null) {
+            sortedView.add(entry);
+        }
+    }
+
+    /**
+     * Checks if a new order label fits between the entry at the given index and the one before it.
+     * @param index Index of the entry a new one is inserted before.
+     * @return true if there is an unused label between them.
+     */
+    private boolean hasRoomBefore(int index) {
+        long upper = entries.get(index).order;
+        if (index == 0) {
+            return upper > Long.MIN_VALUE + 2 * ORDER_GAP;
+        }
+        return upper - entries.get(index - 1).order > 1;
+    }
+
+    /**
+     * Spreads the order labels evenly again, keeping the current order of the entries.
+     * Since the relative order of the labels does not change, the sorted view stays valid.
+     */
+    private void relabel() {
+        IndexEvent event = new IndexEvent("order", "relabel");
+        for (int i = 0; i < entries.size(); i++) {
+            entries.get(i).order = i * ORDER_GAP;
+        }
+        event.end(entries.size());
     }
 }
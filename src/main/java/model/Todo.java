@@ -1,5 +1,7 @@
 package model;
 
+import enums.TaskType;
+
 /**
  * Represents a Todo task with only a description and no dates.
  * Extends the {@code Task} class.
@@ -10,26 +12,38 @@ public class Todo extends Task {
      * @param description Description of the todo task.
      */
     public Todo(String description) {
-        super(description);
+        this(description, false);
     }
 
     /**
-     * Returns the string array representation of the todo task for file storage.
-     * @return File input representation of the todo task.
+     * Constructs a Todo task with the specified description and status.
+     * @param description Description of the todo task.
+     * @param isDone true if the task is done.
      */
+    public Todo(String description, boolean isDone) {
+        super(description, isDone);
+    }
+
+    /**
+     * Returns the type of the todo task.
+     * @return {@code TaskType.TODO}.
+     */
+    @Override
+    public TaskType getType() {
+        return TaskType.TODO;
+    }
+
     @Override
-    public String[] getFileInput() {
-        String[] s = super.getFileInput();
-        s[0] = "T";
-        return s;
+    protected Task copyWithDone(boolean isDone) {
+        return new Todo(getDescription(), isDone);
     }
 
     /**
-     * Returns a string representation of the todo task, including its status and description.
+     * Builds a string representation of the todo task, including its status and description.
      * @return Formatted string representing the todo task.
      */
     @Override
-    public String toString() {
-        return "[T]" + super.toString();
+    protected String render() {
+        return "[T]" + super.render();
     }
 }
@@ -0,0 +1,153 @@
+package storage;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import exception.RotomException;
+import model.Deadline;
+import model.DescriptionPool;
+import model.Event;
+import model.Task;
+import model.Todo;
+
+/**
+ * Reads and writes the compact binary storage format.
+ * A file starts with a 4-byte magic number and a 2-byte version, followed by the task count.
+ * Each task is a one-byte type, a one-byte status, a length-prefixed UTF-8 description,
+ * and the epoch seconds (UTC) of its dates: one for a deadline, two for an event.
+ */
+final class BinaryTaskCodec {
+    static final int MAGIC = 0x524F544D; // "ROTM"
+    static final short VERSION = 1;
+    private static final byte TODO_TYPE = 'T';
+    private static final byte DEADLINE_TYPE = 'D';
+    private static final byte EVENT_TYPE = 'E';
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private BinaryTaskCodec() {
+    }
+
+    /**
+     * Checks if the file starts with the binary format's magic number.
+     * @param path Path of the storage file.
+     * @return true if the file is in the binary format.
+     * @throws IOException If the file cannot be read.
+     */
+    static boolean hasHeader(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(path))) {
+            return in.readInt() == MAGIC;
+        } catch (EOFException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Reads all tasks from a binary storage file.
+     * @param path Path of the storage file.
+     * @return Tasks in file order.
+     * @throws IOException If the file cannot be read.
+     * @throws RotomException If the file is not a supported binary storage file or is truncated.
+     */
+    static List<Task> read(Path path) throws IOException, RotomException {
+        try (InputStream file = Files.newInputStream(path);
+                DataInputStream in = new DataInputStream(new BufferedInputStream(file, BUFFER_SIZE))) {
+            if (in.readInt() != MAGIC) {
+                throw new RotomException("Storage file is not in the binary format.");
+            }
+            short version = in.readShort();
+            if (version != VERSION) {
+                throw new RotomException("Unsupported storage file version: " + version);
+            }
+            int count = in.readInt();
+            List<Task> tasks = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                tasks.add(readTask(in));
+            }
+            return tasks;
+        } catch (EOFException e) {
+            throw new RotomException("Storage file is truncated.");
+        }
+    }
+
+    /**
+     * Writes all tasks to a binary storage file, replacing its contents.
+     * @param path Path of the file to write.
+     * @param tasks Tasks to write.
+     * @throws IOException If the file cannot be written.
+     */
+    static void write(Path path, List<Task> tasks) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(path), BUFFER_SIZE))) {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeInt(tasks.size());
+            for (Task task : tasks) {
+                writeTask(out, task);
+            }
+        }
+    }
+
+    /**
+     * Reads a single task.
+     * @param in Stream positioned at the start of a task.
+     * @return The task.
+     * @throws IOException If the stream cannot be read.
+     * @throws RotomException If the task type is unknown.
+     */
+    private static Task readTask(DataInputStream in) throws IOException, RotomException {
+        byte type = in.readByte();
+        boolean isDone = in.readByte() != 0;
+        int length = in.readInt();
+        if (length < 0) {
+            throw new RotomException("Invalid description length in storage file: " + length);
+        }
+        byte[] description = new byte[length];
+        in.readFully(description);
+        String desc = DescriptionPool.intern(new String(description, StandardCharsets.UTF_8));
+        return switch (type) {
+        case TODO_TYPE -> new Todo(desc, isDone);
+        case DEADLINE_TYPE -> new Deadline(desc, in.readLong(), isDone);
+        case EVENT_TYPE -> new Event(desc, in.readLong(), in.readLong(), isDone);
+        default -> throw new RotomException("Unknown task type in storage file: " + type);
+        };
+    }
+
+    /**
+     * Writes a single task.
+     * @param out Stream to write to.
+     * @param task The task to write.
+     * @throws IOException If the stream cannot be written.
+     */
+    private static void writeTask(DataOutputStream out, Task task) throws IOException {
+        byte[] description = task.getDescription().getBytes(StandardCharsets.UTF_8);
+        if (task instanceof Deadline deadline) {
+            out.writeByte(DEADLINE_TYPE);
+            writeHeader(out, task, description);
+            out.writeLong(deadline.getEpochSecond());
+        } else if (task instanceof Event event) {
+            out.writeByte(EVENT_TYPE);
+            writeHeader(out, task, description);
+            out.writeLong(event.getEpochSecond());
+            out.writeLong(event.getEndEpochSecond());
+        } else {
+            out.writeByte(TODO_TYPE);
+            writeHeader(out, task, description);
+        }
+    }
+
+    private static void writeHeader(DataOutputStream out, Task task, byte[] description) throws IOException {
+        out.writeByte(task.isDone() ? 1 : 0);
+        out.writeInt(description.length);
+        out.write(description);
+    }
+}
@@ -0,0 +1,215 @@
+package storage;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Append-only log of task list mutations, stored next to the task file.
+ * The log is split into numbered segments ({@code rotom.txt.journal.1}, {@code rotom.txt.journal.2}, ...)
+ * so that a segment can be sealed and folded into a snapshot while new records go to the next one.
+ * A snapshot that covers every segment up to {@code k} is published as {@code rotom.txt.snapshot.k}
+ * before those segments are deleted, which lets {@link Storage} finish an interrupted compaction on startup.
+ */
+class Journal {
+    private static final String SEGMENT_INFIX = ".journal.";
+    private static final String SNAPSHOT_INFIX = ".snapshot.";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private final Path directory;
+    private final String baseName;
+    private FileChannel channel;
+    private long generation;
+    private int recordCount;
+
+    /**
+     * Constructs a journal for the given task file.
+     * No file is touched until {@link #open(long)} is called.
+     * @param taskFile Path of the task file the journal belongs to.
+     */
+    Journal(Path taskFile) {
+        Path absolute = taskFile.toAbsolutePath();
+        this.directory = absolute.getParent();
+        this.baseName = absolute.getFileName().toString();
+    }
+
+    /**
+     * Opens the segment with the given generation for appending.
+     * @param generation Generation number of the segment.
+     * @throws IOException If the segment cannot be opened.
+     */
+    void open(long generation) throws IOException {
+        this.generation = generation;
+        this.channel = FileChannel.open(segmentPath(generation), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Appends a single record to the current segment.
+     * @param record Record to append, without a line separator.
+     * @param isForced true to force the record to disk before returning.
+     * @throws IOException If the record cannot be written.
+     */
+    void append(String record, boolean isForced) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap((record + "\n").getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        if (isForced) {
+            channel.force(false);
+        }
+        recordCount++;
+    }
+
+    /**
+     * Forces every record appended to the current segment to disk.
+     * @throws IOException If the segment cannot be forced.
+     */
+    void force() throws IOException {
+        if (channel != null) {
+            channel.force(false);
+        }
+    }
+
+    /**
+     * Seals the current segment and starts appending to the next one.
+     * @return Generation of the sealed segment.
+     * @throws IOException If the next segment cannot be opened.
+     */
+    long rotate() throws IOException {
+        long sealed = generation;
+        close();
+        open(sealed + 1);
+        recordCount = 0;
+        return sealed;
+    }
+
+    /**
+     * Closes the current segment.
+     * @throws IOException If the segment cannot be closed.
+     */
+    void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    int getRecordCount() {
+        return recordCount;
+    }
+
+    void setRecordCount(int recordCount) {
+        this.recordCount = recordCount;
+    }
+
+    /**
+     * Returns the generations of all segments on disk, in ascending order.
+     * @return Sorted list of segment generations.
+     * @throws IOException If the directory cannot be listed.
+     */
+    List<Long> listSegments() throws IOException {
+        return listGenerations(SEGMENT_INFIX);
+    }
+
+    /**
+     * Returns the generations of all published snapshots on disk, in ascending order.
+     * @return Sorted list of snapshot generations.
+     * @throws IOException If the directory cannot be listed.
+     */
+    List<Long> listSnapshots() throws IOException {
+        return listGenerations(SNAPSHOT_INFIX);
+    }
+
+    /**
+     * Reads every record in the given segment.
+     * @param generation Generation of the segment.
+     * @return Records in the order they were appended.
+     * @throws IOException If the segment cannot be read.
+     */
+    List<String> readSegment(long generation) throws IOException {
+        List<String> records = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(segmentPath(generation), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    records.add(line);
+                }
+            }
+        }
+        return records;
+    }
+
+    /**
+     * Deletes every segment up to and including the given generation.
+     * @param generation Highest generation to delete.
+     * @throws IOException If a segment cannot be deleted.
+     */
+    void deleteSegmentsUpTo(long generation) throws IOException {
+        for (long g : listSegments()) {
+            if (g <= generation) {
+                Files.deleteIfExists(segmentPath(g));
+            }
+        }
+    }
+
+    /**
+     * Deletes snapshot files left behind by a compaction that never finished writing.
+     * @throws IOException If a file cannot be deleted.
+     */
+    void deleteUnpublishedSnapshots() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path path : (Iterable<Path>) files::iterator) {
+                String name = path.getFileName().toString();
+                if (name.startsWith(baseName + SNAPSHOT_INFIX) && name.endsWith(TEMP_SUFFIX)) {
+                    Files.deleteIfExists(path);
+                }
+            }
+        }
+    }
+
+    Path segmentPath(long generation) {
+        return directory.resolve(baseName + SEGMENT_INFIX + generation);
+    }
+
+    Path snapshotPath(long generation) {
+        return directory.resolve(baseName + SNAPSHOT_INFIX + generation);
+    }
+
+    Path unpublishedSnapshotPath(long generation) {
+        return directory.resolve(baseName + SNAPSHOT_INFIX + generation + TEMP_SUFFIX);
+    }
+
+    /**
+     * Lists the generation numbers of files named {@code <baseName><infix><generation>}.
+     * @param infix Infix that separates the base name from the generation.
+     * @return Sorted list of generations.
+     * @throws IOException If the directory cannot be listed.
+     */
+    private List<Long> listGenerations(String infix) throws IOException {
+        List<Long> generations = new ArrayList<>();
+        String prefix = baseName + infix;
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path path : (Iterable<Path>) files::iterator) {
+                String name = path.getFileName().toString();
+                if (!name.startsWith(prefix)) {
+                    continue;
+                }
+                try {
+                    generations.add(Long.parseLong(name.substring(prefix.length())));
+                } catch (NumberFormatException e) {
+                    // not one of ours, e.g. an unpublished snapshot
+                }
+            }
+        }
+        generations.sort(null);
+        return generations;
+    }
+}
@@ -0,0 +1,330 @@
+package storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import enums.TaskType;
+import exception.RotomException;
+import model.Task;
+
+/**
+ * Reads tasks from a storage file by memory-mapping it and scanning the bytes for
+ * {@code '|'} and newline separators by hand, instead of splitting every line with a regex.
+ * Accepts exactly the lines that {@link Storage} accepted when reading line by line:
+ * fields are trimmed, trailing empty fields are ignored, and bad lines are rejected
+ * with the same messages.
+ * Large files are split into newline-aligned chunks that are parsed in parallel on the
+ * common {@link ForkJoinPool} and handed back in file order.
+ */
+class MappedTaskReader {
+    private static final long MAX_REGION_SIZE = 1L << 30;
+    private static final int PARALLEL_THRESHOLD = 1 << 22;
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final int FIELD_COUNT = 5;
+    private static final byte FIELD_SEPARATOR = '|';
+    private static final byte LINE_SEPARATOR = '\n';
+    private static final byte DONE_INDICATOR = '1';
+    private final int parallelism;
+    private final int[] fieldStart = new int[FIELD_COUNT];
+    private final int[] fieldEnd = new int[FIELD_COUNT];
+    private byte[] scratch = new byte[128];
+
+    /**
+     * Constructs a reader that parses large files on all threads of the common pool.
+     */
+    MappedTaskReader() {
+        this(ForkJoinPool.getCommonPoolParallelism());
+    }
+
+    /**
+     * Constructs a reader that splits large files into chunks for the given number of threads.
+     * @param parallelism Number of threads to parse with, 1 to parse on the calling thread only.
+     */
+    MappedTaskReader(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Reads every line of the file, passing resolved tasks and rejected lines to the given consumers.
+     * Tasks are handed over in consecutive batches, in file order.
+     * @param path Path of the storage file.
+     * @param onTasks Receives each batch of tasks in file order.
+     * @param onError Receives the error for each line that cannot be resolved.
+     * @throws IOException If the file cannot be mapped.
+     */
+    void read(Path path, Consumer<List<Task>> onTasks, Consumer<RotomException> onError) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                long length = Math.min(MAX_REGION_SIZE, size - position);
+                MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                int end = position + length == size ? (int) length : lastLineEnd(region, (int) length);
+                if (end == 0) {
+                    throw new IOException("Line too long in storage file at byte " + position);
+                }
+                for (Chunk chunk : parseRegion(region, end)) {
+                    onTasks.accept(chunk.tasks);
+                    chunk.errors.forEach(onError);
+                }
+                position += end;
+            }
+        }
+    }
+
+    /**
+     * Parses a mapped region, splitting it into chunks that are parsed in parallel if it is large enough.
+     * @param region The mapped region.
+     * @param end Offset just past the last complete line in the region.
+     * @return The parsed chunks, in region order.
+     * @throws IOException If parsing a chunk fails unexpectedly.
+     */
+    private List<Chunk> parseRegion(ByteBuffer region, int end) throws IOException {
+        if (parallelism <= 1 || end < PARALLEL_THRESHOLD) {
+            Chunk chunk = new Chunk(region, 0, end);
+            chunk.call();
+            return List.of(chunk);
+        }
+        List<Chunk> chunks = new ArrayList<>();
+        int chunkSize = Math.max(1, end / (parallelism * CHUNKS_PER_THREAD));
+        int from = 0;
+        while (from < end) {
+            int to = from + chunkSize;
+            while (to < end && region.get(to - 1) != LINE_SEPARATOR) {
+                to++;
+            }
+            to = Math.min(to, end);
+            chunks.add(new Chunk(region, from, to));
+            from = to;
+        }
+        try {
+            for (Future<Void> result : ForkJoinPool.commonPool().invokeAll(chunks)) {
+                result.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while reading storage file");
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to parse storage file: " + e.getCause().getMessage());
+        }
+        return chunks;
+    }
+
+    /**
+     * Reads the lines between two offsets of a buffer.
+     * @param buffer Buffer holding the file contents.
+     * @param from Offset of the first byte of the first line.
+     * @param to Offset just past the last byte of the last line.
+     * @param onTask Receives each task in buffer order.
+     * @param onError Receives the error for each line that cannot be resolved.
+     */
+    private void readLines(ByteBuffer buffer, int from, int to, Consumer<Task> onTask, Consumer<RotomException> onError) {
+        int lineStart = from;
+        while (lineStart < to) {
+            int lineEnd = lineStart;
+            while (lineEnd < to && buffer.get(lineEnd) != LINE_SEPARATOR) {
+                lineEnd++;
+            }
+            try {
+                Task task = readLine(buffer, lineStart, lineEnd);
+                if (task != null) {
+                    onTask.accept(task);
+                }
+            } catch (RotomException e) {
+                onError.accept(e);
+            }
+            lineStart = lineEnd + 1;
+        }
+    }
+
+    /**
+     * A newline-aligned slice of a mapped region, parsed by its own reader into its own lists.
+     */
+    private static class Chunk implements Callable<Void> {
+        private final ByteBuffer buffer;
+        private final int from;
+        private final int to;
+        private final List<Task> tasks = new ArrayList<>();
+        private final List<RotomException> errors = new ArrayList<>();
+
+        Chunk(ByteBuffer buffer, int from, int to) {
+            this.buffer = buffer;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public Void call() {
+            new MappedTaskReader(1).readLines(buffer, from, to, tasks::add, errors::add);
+            return null;
+        }
+    }
+
+    /**
+     * Returns the offset just past the last newline in the first {@code length} bytes of the buffer.
+     * @param buffer Buffer to search.
+     * @param length Number of bytes to search.
+     * @return Offset after the last newline, or 0 if there is none.
+     */
+    private static int lastLineEnd(ByteBuffer buffer, int length) {
+        for (int i = length - 1; i >= 0; i--) {
+            if (buffer.get(i) == LINE_SEPARATOR) {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Resolves the task on a single line.
+     * @param buffer Buffer holding the line.
+     * @param from Offset of the first byte of the line.
+     * @param to Offset just past the last byte of the line, excluding the newline.
+     * @return The task on the line, or null if the line is blank.
+     * @throws RotomException If the task cannot be resolved from the line.
+     */
+    private Task readLine(ByteBuffer buffer, int from, int to) throws RotomException {
+        int start = skipWhitespace(buffer, from, to);
+        if (start == to) {
+            return null;
+        }
+        int partCount = splitFields(buffer, from, to);
+        if (partCount < 3) {
+            throw new RotomException("Invalid task format: not enough components");
+        }
+        TaskType type = readTaskType(buffer);
+        boolean isDone = fieldLength(1) == 1 && buffer.get(fieldStart[1]) == DONE_INDICATOR;
+        return switch (type) {
+        case TODO -> Task.makeTask(type, isDone, readField(buffer, 2));
+        case DEADLINE -> {
+            requireParts(partCount, 4);
+            yield Task.makeTask(type, isDone, readField(buffer, 2), readField(buffer, 3));
+        }
+        case EVENT -> {
+            requireParts(partCount, 5);
+            yield Task.makeTask(type, isDone, readField(buffer, 2), readField(buffer, 3), readField(buffer, 4));
+        }
+        };
+    }
+
+    /**
+     * Records the trimmed bounds of the first fields of a line.
+     * @param buffer Buffer holding the line.
+     * @param from Offset of the first byte of the line.
+     * @param to Offset just past the last byte of the line.
+     * @return Number of fields on the line, not counting trailing empty fields.
+     */
+    private int splitFields(ByteBuffer buffer, int from, int to) {
+        int partCount = 0;
+        int field = 0;
+        int start = from;
+        while (start <= to) {
+            int end = start;
+            while (end < to && buffer.get(end) != FIELD_SEPARATOR) {
+                end++;
+            }
+            int trimmedStart = skipWhitespace(buffer, start, end);
+            int trimmedEnd = end;
+            while (trimmedEnd > trimmedStart && isWhitespace(buffer.get(trimmedEnd - 1))) {
+                trimmedEnd--;
+            }
+            if (field < FIELD_COUNT) {
+                fieldStart[field] = trimmedStart;
+                fieldEnd[field] = trimmedEnd;
+            }
+            field++;
+            if (trimmedEnd > trimmedStart) {
+                partCount = field;
+            }
+            start = end + 1;
+        }
+        for (int i = partCount; i < FIELD_COUNT; i++) {
+            fieldStart[i] = 0;
+            fieldEnd[i] = 0;
+        }
+        return partCount;
+    }
+
+    /**
+     * Resolves the task type from the first field.
+     * @param buffer Buffer holding the line.
+     * @return The task type.
+     * @throws RotomException If the first field is not a known task type.
+     */
+    private TaskType readTaskType(ByteBuffer buffer) throws RotomException {
+        if (fieldLength(0) == 1) {
+            switch (buffer.get(fieldStart[0])) {
+            case 'T':
+                return TaskType.TODO;
+            case 'D':
+                return TaskType.DEADLINE;
+            case 'E':
+                return TaskType.EVENT;
+            default:
+                break;
+            }
+        }
+        throw new RotomException("Unknown task type: " + readField(buffer, 0));
+    }
+
+    /**
+     * Checks that a line has enough fields for its task type.
+     * @param partCount Number of fields on the line.
+     * @param minLength Number of fields required.
+     * @throws RotomException If the line has too few fields.
+     */
+    private void requireParts(int partCount, int minLength) throws RotomException {
+        if (partCount < minLength) {
+            throw new RotomException("Invalid task format in storage file.");
+        }
+    }
+
+    /**
+     * Decodes a field of the current line as UTF-8.
+     * @param buffer Buffer holding the line.
+     * @param field Index of the field.
+     * @return The trimmed field.
+     */
+    private String readField(ByteBuffer buffer, int field) {
+        int length = fieldLength(field);
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        buffer.get(fieldStart[field], scratch, 0, length);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private int fieldLength(int field) {
+        return fieldEnd[field] - fieldStart[field];
+    }
+
+    private static int skipWhitespace(ByteBuffer buffer, int from, int to) {
+        int i = from;
+        while (i < to && isWhitespace(buffer.get(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Checks if a byte is whitespace in the sense of {@link String#trim()}.
+     * Bytes of multi-byte UTF-8 sequences are negative and never count as whitespace.
+     * @param b The byte to check.
+     * @return true if the byte is whitespace.
+     */
+    private static boolean isWhitespace(byte b) {
+        return b >= 0 && b <= ' ';
+    }
+}
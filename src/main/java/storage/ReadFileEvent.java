@@ -0,0 +1,48 @@
+package storage;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for loading the task list from the storage file.
+ */
+@Name("rotom.ReadFile")
+@Label("Read Storage File")
+@Category({"Rotom", "Storage"})
+@Description("Loading of the task list from the storage file")
+final class ReadFileEvent extends jdk.jfr.Event {
+    @Label("Path")
+    private final String path;
+    @Label("Format")
+    private String format;
+    @Label("Task Count")
+    private int taskCount;
+    @Label("File Size")
+    @DataAmount
+    private long bytes;
+
+    /**
+     * Constructs the event for a file and starts timing it.
+     * @param path Path of the file.
+     */
+    ReadFileEvent(String path) {
+        this.path = path;
+        begin();
+    }
+
+    /**
+     * Ends the event after the file was read, and records it if it is enabled.
+     * @param format Format the file was read in, or null if the file did not exist yet.
+     * @param taskCount Number of tasks in the list after reading.
+     * @param bytes Size of the file in bytes.
+     */
+    void end(String format, int taskCount, long bytes) {
+        this.format = format;
+        this.taskCount = taskCount;
+        this.bytes = bytes;
+        commit();
+    }
+}
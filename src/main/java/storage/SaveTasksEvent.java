@@ -0,0 +1,49 @@
+package storage;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for writing the whole task list to a file, whether by a command,
+ * the write-behind thread or journal compaction.
+ */
+@Name("rotom.SaveTasks")
+@Label("Save Tasks")
+@Category({"Rotom", "Storage"})
+@Description("Writing of the whole task list to a file")
+final class SaveTasksEvent extends jdk.jfr.Event {
+    @Label("Path")
+    private final String path;
+    @Label("Format")
+    private String format;
+    @Label("Task Count")
+    private int taskCount;
+    @Label("Bytes Written")
+    @DataAmount
+    private long bytes;
+
+    /**
+     * Constructs the event for a file and starts timing it.
+     * @param path Path of the file.
+     */
+    SaveTasksEvent(String path) {
+        this.path = path;
+        begin();
+    }
+
+    /**
+     * Ends the event after the file was written, and records it if it is enabled.
+     * @param format Format the file was written in.
+     * @param taskCount Number of tasks written.
+     * @param bytes Size of the written file in bytes.
+     */
+    void end(String format, int taskCount, long bytes) {
+        this.format = format;
+        this.taskCount = taskCount;
+        this.bytes = bytes;
+        commit();
+    }
+}
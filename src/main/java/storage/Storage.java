@@ -1,12 +1,23 @@
 package storage;
 
 import java.io.File;
-import java.io.FileNotFoundException;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
-import java.util.Scanner;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.Lock;
 
+import enums.FileFormat;
 import enums.TaskType;
 import exception.RotomException;
 import model.Task;
@@ -17,6 +28,17 @@ import ui.Ui;
  * Handles reading and writing tasks to a persistent storage file.
  * Provides functionality to read tasks from file, save tasks to file,
  * and clear the file contents.
+ * When journaling is enabled, each mutation is appended to a {@link Journal} instead of
+ * rewriting the whole file, and the journal is folded back into the file in the background
+ * once it grows past the configured number of records.
+ * Between {@link #beginBatch()} and {@link #endBatch()}, mutations are only noted, and are written
+ * with a single save or journal sync when the batch is flushed.
+ * With write-behind enabled, full saves are handed to a {@link WriteBehindSaver} thread instead of
+ * blocking the caller; that thread copies the task list while holding a lock given by the caller,
+ * so callers must hold the matching exclusive lock while they change the list.
+ * Every change whose save is deferred, by a batch or by write-behind, gets a new version number, and the
+ * {@link UndoLog} only writes an entry once a save covering the version current at that time has completed,
+ * so the undo log never records a change that the storage file does not have yet.
  */
 public class Storage {
     private static final String TASK_DELIMITER = "\\s*\\|\\s*";
@@ -27,9 +49,33 @@ public class Storage {
     private static final int MINIMUM_PARTS_LENGTH = 3;
     private static final int DEADLINE_PARTS_LENGTH = 4;
     private static final int EVENT_PARTS_LENGTH = 5;
+    private static final String RECORD_DELIMITER = " | ";
+    private static final String RECORD_ADD = "ADD";
+    private static final String RECORD_INSERT = "INSERT";
+    private static final String RECORD_MARK = "MARK";
+    private static final String RECORD_UNMARK = "UNMARK";
+    private static final String RECORD_DELETE = "DELETE";
+    private static final String RECORD_SORT = "SORT";
+    private static final String RECORD_RESET = "RESET";
     private final String filePath;
     private final TaskList tasks;
     private final Ui ui;
+    private final int compactThreshold;
+    private final Journal journal;
+    private volatile FileFormat format = FileFormat.TEXT;
+    private ExecutorService compactor;
+    private Future<?> pendingCompaction;
+    private boolean isJournalOpen;
+    private boolean isBatching;
+    private boolean hasUnsavedChanges;
+    private WriteBehindSaver<SavedSnapshot> writeBehind;
+    private final Object versionLock = new Object();
+    private volatile long deferredVersion; // latest change whose save was deferred
+    private volatile long savedVersion; // latest deferred change known to be in the storage file
+    private volatile UndoLog undoLog;
+    private boolean isTimingPersist;
+    private int persistDepth; // saves nest, so only the outermost one is timed
+    private long persistNanos;
 
     /**
      * Constructs a Storage object with the given file path and task list.
@@ -39,34 +85,144 @@ public class Storage {
      * @param ui User interface for error reporting.
      */
     public Storage(String filePath, TaskList tasks, Ui ui) {
+        this(filePath, tasks, ui, 0);
+    }
+
+    /**
+     * Constructs a Storage object that journals mutations instead of rewriting the file.
+     * @param filePath Path to the storage file.
+     * @param tasks TaskList to store read tasks into.
+     * @param ui User interface for error reporting.
+     * @param compactThreshold Number of journal records after which the journal is compacted
+     *                         into the storage file, or 0 to disable journaling.
+     */
+    public Storage(String filePath, TaskList tasks, Ui ui, int compactThreshold) {
         assert filePath != null : "File path cannot be null";
         assert !filePath.isEmpty() : "File path cannot be empty";
         assert tasks != null : "Task list cannot be null";
+        assert compactThreshold >= 0 : "Compaction threshold cannot be negative";
         this.filePath = filePath;
         this.tasks = tasks;
         this.ui = ui;
+        this.compactThreshold = compactThreshold;
+        this.journal = compactThreshold > 0 ? new Journal(Paths.get(filePath)) : null;
+    }
+
+    /**
+     * Checks if mutations are journaled instead of rewriting the storage file.
+     * @return true if journaling is enabled.
+     */
+    public boolean isJournaled() {
+        return journal != null;
+    }
+
+    /**
+     * Returns the format the storage file is written in.
+     * @return The current file format.
+     */
+    public FileFormat getFormat() {
+        return format;
+    }
+
+    /**
+     * Returns the undo log stored next to the storage file.
+     * @return The undo log, which is not read or opened until it is first used.
+     */
+    public UndoLog openUndoLog() {
+        UndoLog log = new UndoLog(Paths.get(filePath), this);
+        undoLog = log;
+        return log;
+    }
+
+    /**
+     * Returns the version of the latest change whose save was deferred.
+     * @return The version, which is 0 if no save has been deferred.
+     */
+    long getDeferredVersion() {
+        return deferredVersion;
+    }
+
+    /**
+     * Returns the version of the latest deferred change that has been written to the storage file.
+     * @return The version, which is at most {@link #getDeferredVersion()}.
+     */
+    long getSavedVersion() {
+        return savedVersion;
+    }
+
+    /**
+     * Moves full saves to a background thread, so that changes return without waiting for the disk.
+     * Bursts of changes are written together, at most the given time after the first of them.
+     * Journaled storage already appends a small record per change and is not affected.
+     * @param maxStalenessMillis Longest time in milliseconds a change may go unsaved.
+     * @param snapshotLock Lock held while the background thread copies the task list. It must exclude
+     *                     every change to the list, so that a copy never sees a change halfway through.
+     */
+    public void enableWriteBehind(long maxStalenessMillis, Lock snapshotLock) {
+        if (isJournaled() || writeBehind != null) {
+            return;
+        }
+        writeBehind = new WriteBehindSaver<>(() -> copyTasks(snapshotLock), this::saveSnapshot, maxStalenessMillis);
+    }
+
+    /**
+     * Blocks until every change made so far has been written to the storage file.
+     */
+    public void flush() {
+        if (writeBehind != null) {
+            writeBehind.flush();
+        }
+        awaitCompaction();
+    }
+
+    /**
+     * Converts the storage file to the given format.
+     * Later saves keep using that format, and the next {@link #readFile()} detects it from the file header.
+     * @param newFormat Format to write the storage file in.
+     */
+    public void convertTo(FileFormat newFormat) {
+        this.format = newFormat;
+        saveTasks();
     }
 
     /**
      * Reads tasks from the storage file and adds them to the task list.
+     * Binary files are recognized by their header; anything else is read as text.
+     * A successful read is recorded as a {@link ReadFileEvent}.
      * @throws RotomException If a task cannot be resolved from the file content.
      */
     public void readFile() throws RotomException {
+        ReadFileEvent event = new ReadFileEvent(filePath);
+        if (isJournaled()) {
+            finishInterruptedCompaction();
+        }
         File file = new File(filePath);
         if (!file.exists()) {
             createNewFile();
+            openJournal();
+            event.end(null, tasks.getCount(), 0);
             return;
         }
         checkFileReadPermissions(file);
-        try (Scanner scanner = new Scanner(file)) {
-            readAndProcessTasks(scanner);
-        } catch (FileNotFoundException e) {
+        try {
+            if (BinaryTaskCodec.hasHeader(file.toPath())) {
+                format = FileFormat.BINARY;
+                tasks.addAll(BinaryTaskCodec.read(file.toPath()));
+            } else {
+                format = FileFormat.TEXT;
+                new MappedTaskReader().read(file.toPath(), tasks::addAll, ui::showError);
+            }
+        } catch (RotomException e) {
+            throw e;
+        } catch (NoSuchFileException e) {
             throw new RotomException("Storage file not found: " + filePath);
         } catch (SecurityException e) {
             throw new RotomException("Security manager denied access to storage file: " + filePath);
         } catch (Exception e) {
             throw new RotomException("Unexpected error reading from storage file: " + e.getMessage());
         }
+        openJournal();
+        event.end(format.name(), tasks.getCount(), file.length());
     }
 
     /**
@@ -81,21 +237,6 @@ public class Storage {
         }
     }
 
-    /**
-     * Reads and processes tasks.
-     * @param scanner The scanner for tasks.
-     */
-    private void readAndProcessTasks(Scanner scanner) {
-        while (scanner.hasNextLine()) {
-            String line = scanner.nextLine();
-            try {
-                processLine(line);
-            } catch (RotomException e) {
-                ui.showError(e);
-            }
-        }
-    }
-
     /**
      * Creates a new storage file if it doesn't exist.
      * @throws RotomException If file creation fails.
@@ -144,23 +285,21 @@ public class Storage {
     }
 
     /**
-     * Processes a single line from the storage file.
-     * @param line The line to process.
+     * Resolves a task from a single line in the storage format.
+     * Used for journal and undo log records; whole files are read by {@link MappedTaskReader}.
+     * @param line The line to parse.
+     * @return The task described by the line.
      * @throws RotomException If the task cannot be resolved from the line.
      */
-    private void processLine(String line) throws RotomException {
-        if (line.trim().isEmpty()) {
-            return;
-        }
+    Task parseTask(String line) throws RotomException {
         String[] parts = line.split(TASK_DELIMITER);
         trimAllParts(parts);
         if (parts.length < MINIMUM_PARTS_LENGTH) {
             throw new RotomException("Invalid task format: not enough components");
         }
         validateTaskType(parts[0]);
-        Task task = createTaskFromParts(parts);
-        markTaskIfDone(parts, task);
-        tasks.add(task);
+        Task task = markTaskIfDone(parts, createTaskFromParts(parts));
+        return task;
     }
 
     /**
@@ -262,11 +401,32 @@ public class Storage {
      * Marks a task as done if indicated in the file.
      * @param parts The parsed components of the task.
      * @param task The task to mark.
+     * @return The task, marked as done if the file says so.
      */
-    private void markTaskIfDone(String[] parts, Task task) {
+    private Task markTaskIfDone(String[] parts, Task task) {
         if (parts.length > 1 && DONE_INDICATOR.equals(parts[1])) {
-            task.markAsDone();
+            return task.withDone(true);
         }
+        return task;
+    }
+
+    /**
+     * Starts adding the time spent writing to storage into a total that callers take with
+     * {@link #takePersistNanos()}. Writes made by background threads are not counted.
+     */
+    public void enablePersistTiming() {
+        isTimingPersist = true;
+    }
+
+    /**
+     * Returns the time spent writing to storage since the last call, and starts counting again from 0.
+     * Like the writes themselves, this must be called while holding the exclusive command lock.
+     * @return Time in nanoseconds, which is always 0 unless timing was enabled.
+     */
+    public long takePersistNanos() {
+        long nanos = persistNanos;
+        persistNanos = 0;
+        return nanos;
     }
 
     /**
@@ -275,30 +435,119 @@ public class Storage {
      * Errors during file operations are displayed via the UI.
      */
     public void saveTasks() {
+        long start = startPersist();
+        try {
+            if (isBatching) {
+                hasUnsavedChanges = true;
+                noteDeferred();
+                return;
+            }
+            long version = deferredVersion;
+            if (isJournaled()) {
+                compact(false);
+                noteSaved(version);
+                return;
+            }
+            if (writeBehind != null) {
+                noteDeferred();
+                writeBehind.markDirty();
+                return;
+            }
+            if (saveToFile(tasks.snapshot())) {
+                noteSaved(version);
+            }
+        } finally {
+            endPersist(start);
+        }
+    }
+
+    /**
+     * Takes a snapshot of the task list while holding the given lock, together with the version it contains.
+     * Used by the write-behind thread, which must not see the list halfway through a change.
+     * @param snapshotLock Lock that excludes changes to the task list.
+     * @return Snapshot of the tasks.
+     */
+    private SavedSnapshot copyTasks(Lock snapshotLock) {
+        snapshotLock.lock();
+        try {
+            return new SavedSnapshot(tasks.snapshot(), deferredVersion);
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    /**
+     * Saves a snapshot taken by {@link #copyTasks(Lock)}, and notes its version as saved if the save succeeds.
+     * @param snapshot The snapshot to save.
+     */
+    private void saveSnapshot(SavedSnapshot snapshot) {
+        if (saveToFile(snapshot.tasks())) {
+            noteSaved(snapshot.version());
+        }
+    }
+
+    /**
+     * Gives the change just made a new version, since its save was deferred.
+     */
+    private void noteDeferred() {
+        synchronized (versionLock) {
+            deferredVersion++;
+        }
+    }
+
+    /**
+     * Notes that every change up to the given version is in the storage file, and lets the undo log
+     * write the entries that were waiting for it.
+     * @param version Version current when the saved tasks were copied.
+     */
+    private void noteSaved(long version) {
+        synchronized (versionLock) {
+            if (version <= savedVersion) {
+                return;
+            }
+            savedVersion = version;
+        }
+        UndoLog log = undoLog;
+        if (log != null) {
+            log.writeSaved();
+        }
+    }
+
+    /**
+     * Saves the given tasks to the storage file if it can be written.
+     * @param snapshot The tasks to save.
+     * @return true if the tasks were saved.
+     */
+    private boolean saveToFile(List<Task> snapshot) {
         File file = new File(filePath);
         if (file.exists() && !file.canWrite()) {
             handleFileError(new IOException("Cannot write to storage file: Permission denied"));
-            return;
+            return false;
         }
-        saveToTemporaryFile();
+        return saveToTemporaryFile(snapshot);
     }
 
     /**
      * Saves tasks to a temporary file first to prevent data corruption.
      * Replaces the original file only if the temporary file save succeeds.
+     * @param snapshot The tasks to save.
+     * @return true if the tasks were saved.
      */
-    private void saveToTemporaryFile() {
+    private boolean saveToTemporaryFile(List<Task> snapshot) {
         String tempFilePath = filePath + ".tmp";
         File tempFile = new File(tempFilePath);
-        try (FileWriter fileWriter = new FileWriter(tempFile)) {
-            writeAllTasksToFile(fileWriter);
+        try {
+            writeTasks(tempFile.toPath(), snapshot);
             replaceOriginalFile(tempFile);
+            return true;
         } catch (IOException e) {
             cleanupTemporaryFile(tempFile);
             handleFileError(e);
+            return false;
         } catch (SecurityException e) {
             cleanupTemporaryFile(tempFile);
             handleFileError(new IOException("Permission denied when saving tasks"));
+            return false;
         }
     }
 
@@ -327,14 +576,25 @@ public class Storage {
     }
 
     /**
-     * Writes all tasks to the file
-     * @param fileWriter The fileWriter.
+     * Writes the given tasks to a file in the current format, recorded as a {@link SaveTasksEvent}.
+     * @param target The file to write.
+     * @param snapshot The tasks to write.
      * @throws IOException If Tasks cannot be written to file.
      */
-    private void writeAllTasksToFile(FileWriter fileWriter) throws IOException {
-        for (int i = 0; i < tasks.getCount(); i++) {
-            Task task = tasks.getTask(i);
-            writeTaskToFile(fileWriter, task);
+    private void writeTasks(Path target, List<Task> snapshot) throws IOException {
+        SaveTasksEvent event = new SaveTasksEvent(target.toString());
+        FileFormat targetFormat = format;
+        if (targetFormat == FileFormat.BINARY) {
+            BinaryTaskCodec.write(target, snapshot);
+        } else {
+            try (Writer writer = Files.newBufferedWriter(target, StandardCharsets.UTF_8)) {
+                for (Task task : snapshot) {
+                    writeTaskToFile(writer, task);
+                }
+            }
+        }
+        if (event.shouldCommit()) {
+            event.end(targetFormat.name(), snapshot.size(), Files.size(target));
         }
     }
 
@@ -343,10 +603,17 @@ public class Storage {
      * @param fileWriter The fileWriter.
      * @throws IOException If Task cannot be written to file.
      */
-    private void writeTaskToFile(FileWriter fileWriter, Task task) throws IOException {
-        String[] fileInput = task.getFileInput();
-        String line = String.join(" | ", fileInput);
-        fileWriter.write(line + System.lineSeparator());
+    private void writeTaskToFile(Writer fileWriter, Task task) throws IOException {
+        fileWriter.write(formatTask(task) + System.lineSeparator());
+    }
+
+    /**
+     * Formats a task as a single line in the storage format.
+     * @param task The task to format.
+     * @return The formatted line.
+     */
+    static String formatTask(Task task) {
+        return TextTaskCodec.format(task);
     }
 
     /**
@@ -354,19 +621,33 @@ public class Storage {
      * Errors during file operations are displayed via the UI.
      */
     public void clearFile() {
-        File file = new File(filePath);
-        if (file.exists() && !file.canWrite()) {
-            handleFileError(new IOException("Cannot clear storage file: Permission denied"));
-            return;
+        long start = startPersist();
+        try {
+            File file = new File(filePath);
+            if (file.exists() && !file.canWrite()) {
+                handleFileError(new IOException("Cannot clear storage file: Permission denied"));
+                return;
+            }
+            clearFileContents();
+        } finally {
+            endPersist(start);
         }
-        clearFileContents();
     }
 
     /**
      * Clears the contents of the storage file.
+     * A binary file keeps its header so that it is still recognized as binary.
      * Handles IO and security exceptions during the clear operation.
      */
     private void clearFileContents() {
+        if (format == FileFormat.BINARY) {
+            try {
+                BinaryTaskCodec.write(Paths.get(filePath), List.of());
+            } catch (IOException e) {
+                handleFileError(e);
+            }
+            return;
+        }
         try (FileWriter fileWriter = new FileWriter(filePath)) {
             // Simply opening and closing the file writer clears the content
         } catch (IOException e) {
@@ -376,6 +657,357 @@ public class Storage {
         }
     }
 
+    /**
+     * Starts deferring writes until the batch is flushed or ended.
+     * Without journaling, changes are written with a single save of the whole list;
+     * with journaling, records are appended without being forced to disk and are synced together.
+     */
+    public void beginBatch() {
+        isBatching = true;
+    }
+
+    /**
+     * Writes the changes made so far in the current batch, and keeps the batch open.
+     */
+    public void flushBatch() {
+        if (!isBatching) {
+            return;
+        }
+        isBatching = false;
+        try {
+            if (hasUnsavedChanges) {
+                saveTasks();
+            } else if (isJournaled() && isJournalOpen) {
+                long start = startPersist();
+                try {
+                    journal.force();
+                } finally {
+                    endPersist(start);
+                }
+            }
+        } catch (IOException e) {
+            handleFileError(new IOException("Failed to sync storage journal: " + e.getMessage()));
+        } finally {
+            hasUnsavedChanges = false;
+            isBatching = true;
+        }
+    }
+
+    /**
+     * Writes the changes made in the current batch and goes back to writing every change as it happens.
+     */
+    public void endBatch() {
+        flushBatch();
+        isBatching = false;
+    }
+
+    /**
+     * Records that a task was appended to the end of the task list.
+     * @param task The task that was added.
+     */
+    public void recordAdd(Task task) {
+        if (!isJournaled()) {
+            saveTasks();
+            return;
+        }
+        appendRecord(RECORD_ADD + RECORD_DELIMITER + formatTask(task));
+    }
+
+    /**
+     * Records that a task was inserted into the task list at the given index.
+     * @param task The task that was inserted.
+     * @param index The index the task was inserted at.
+     */
+    public void recordInsert(Task task, int index) {
+        if (!isJournaled()) {
+            saveTasks();
+            return;
+        }
+        appendRecord(RECORD_INSERT + RECORD_DELIMITER + index + RECORD_DELIMITER + formatTask(task));
+    }
+
+    /**
+     * Records that the task at the given index was marked as done.
+     * @param index Index of the marked task.
+     */
+    public void recordMark(int index) {
+        if (!isJournaled()) {
+            saveTasks();
+            return;
+        }
+        appendRecord(RECORD_MARK + RECORD_DELIMITER + index);
+    }
+
+    /**
+     * Records that the task at the given index was marked as not done.
+     * @param index Index of the unmarked task.
+     */
+    public void recordUnmark(int index) {
+        if (!isJournaled()) {
+            saveTasks();
+            return;
+        }
+        appendRecord(RECORD_UNMARK + RECORD_DELIMITER + index);
+    }
+
+    /**
+     * Records that the task at the given index was deleted.
+     * @param index Index of the deleted task.
+     */
+    public void recordDelete(int index) {
+        if (!isJournaled()) {
+            saveTasks();
+            return;
+        }
+        appendRecord(RECORD_DELETE + RECORD_DELIMITER + index);
+    }
+
+    /**
+     * Records that the task list was sorted.
+     * Without journaling the sorted order is written by the next save, as before.
+     */
+    public void recordSort() {
+        if (isJournaled()) {
+            appendRecord(RECORD_SORT);
+        }
+    }
+
+    /**
+     * Records that the task list was cleared.
+     */
+    public void recordReset() {
+        if (!isJournaled() && (isBatching || writeBehind != null)) {
+            // Saving the now empty list keeps the reset in order with saves that are still pending
+            saveTasks();
+            return;
+        }
+        if (!isJournaled()) {
+            clearFile();
+            return;
+        }
+        appendRecord(RECORD_RESET);
+    }
+
+    /**
+     * Marks the start of a write to storage.
+     * @return Time the write started, or 0 if it is not timed.
+     */
+    private long startPersist() {
+        return isTimingPersist && persistDepth++ == 0 ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Marks the end of a write to storage, adding its time to the total if it was the outermost one.
+     * @param start Time returned by the matching {@link #startPersist()}.
+     */
+    private void endPersist(long start) {
+        if (isTimingPersist && --persistDepth == 0) {
+            persistNanos += System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Appends a record to the journal, compacting in the background once the threshold is reached.
+     * @param record The record to append.
+     */
+    private void appendRecord(String record) {
+        long start = startPersist();
+        try {
+            try {
+                if (!isJournalOpen) {
+                    openJournal();
+                }
+                journal.append(record, !isBatching);
+            } catch (IOException | RotomException e) {
+                // The journal is unusable, fall back to a full save so the mutation is not lost.
+                handleFileError(new IOException("Failed to write journal: " + e.getMessage()));
+                compact(false);
+                return;
+            }
+            if (journal.getRecordCount() >= compactThreshold) {
+                compact(true);
+            }
+        } finally {
+            endPersist(start);
+        }
+    }
+
+    /**
+     * Opens the journal for appending, replaying any records left over from the previous session.
+     * @throws RotomException If the journal cannot be read or opened.
+     */
+    private void openJournal() throws RotomException {
+        if (!isJournaled() || isJournalOpen) {
+            return;
+        }
+        try {
+            int replayed = 0;
+            long lastGeneration = 0;
+            for (long generation : journal.listSegments()) {
+                replayed += replaySegment(generation);
+                lastGeneration = generation;
+            }
+            journal.open(lastGeneration + 1);
+            journal.setRecordCount(replayed);
+            isJournalOpen = true;
+        } catch (IOException e) {
+            throw new RotomException("Failed to open storage journal: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Replays every record of a journal segment on top of the task list.
+     * Records that cannot be applied are reported through the UI and skipped.
+     * @param generation Generation of the segment to replay.
+     * @return Number of records in the segment.
+     * @throws IOException If the segment cannot be read.
+     */
+    private int replaySegment(long generation) throws IOException {
+        List<String> records = journal.readSegment(generation);
+        for (String record : records) {
+            try {
+                applyRecord(record);
+            } catch (RotomException e) {
+                ui.showError(e);
+            }
+        }
+        return records.size();
+    }
+
+    /**
+     * Applies a single journal record to the task list.
+     * @param record The record to apply.
+     * @throws RotomException If the record is malformed or refers to a missing task.
+     */
+    private void applyRecord(String record) throws RotomException {
+        String[] parts = record.split(TASK_DELIMITER, 2);
+        String arguments = parts.length > 1 ? parts[1] : "";
+        try {
+            switch (parts[0].trim()) {
+            case RECORD_ADD -> tasks.add(parseTask(arguments));
+            case RECORD_INSERT -> {
+                String[] insert = arguments.split(TASK_DELIMITER, 2);
+                tasks.addAtIndex(parseTask(insert[1]), Integer.parseInt(insert[0].trim()));
+            }
+            case RECORD_MARK -> tasks.mark(Integer.parseInt(arguments.trim()));
+            case RECORD_UNMARK -> tasks.unmark(Integer.parseInt(arguments.trim()));
+            case RECORD_DELETE -> tasks.delete(Integer.parseInt(arguments.trim()));
+            case RECORD_SORT -> tasks.sort();
+            case RECORD_RESET -> tasks.clear();
+            default -> throw new RotomException("Unknown journal record: " + record);
+            }
+        } catch (IndexOutOfBoundsException | NumberFormatException e) {
+            throw new RotomException("Invalid journal record: " + record);
+        }
+    }
+
+    /**
+     * Folds the journal into the storage file.
+     * The current journal segment is sealed on the caller's thread together with a snapshot of the task list,
+     * so that new records can keep going to the next segment while the snapshot is written.
+     * @param inBackground true to write the snapshot on the compaction thread.
+     */
+    private void compact(boolean inBackground) {
+        awaitCompaction();
+        List<Task> snapshot = tasks.snapshot();
+        long sealedGeneration;
+        try {
+            if (!isJournalOpen) {
+                openJournal();
+            }
+            sealedGeneration = journal.rotate();
+        } catch (IOException | RotomException e) {
+            handleFileError(new IOException("Failed to compact storage journal: " + e.getMessage()));
+            return;
+        }
+        Runnable writeSnapshot = () -> publishSnapshot(snapshot, sealedGeneration);
+        if (inBackground) {
+            pendingCompaction = getCompactor().submit(writeSnapshot);
+        } else {
+            writeSnapshot.run();
+        }
+    }
+
+    /**
+     * Writes the snapshot and replaces the storage file with it.
+     * The snapshot is published under a name that records the last journal segment it covers
+     * before any segment is deleted, so an interruption at any point can be completed on startup.
+     * @param snapshot Tasks to write.
+     * @param sealedGeneration Last journal segment whose records are contained in the snapshot.
+     */
+    private void publishSnapshot(List<Task> snapshot, long sealedGeneration) {
+        Path unpublished = journal.unpublishedSnapshotPath(sealedGeneration);
+        Path published = journal.snapshotPath(sealedGeneration);
+        try {
+            writeTasks(unpublished, snapshot);
+            Files.move(unpublished, published, StandardCopyOption.ATOMIC_MOVE);
+            completeCompaction(sealedGeneration);
+        } catch (IOException | SecurityException e) {
+            handleFileError(new IOException("Failed to compact storage journal: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Deletes the journal segments covered by a published snapshot and moves the snapshot into place.
+     * @param sealedGeneration Generation of the published snapshot.
+     * @throws IOException If a file cannot be deleted or moved.
+     */
+    private void completeCompaction(long sealedGeneration) throws IOException {
+        journal.deleteSegmentsUpTo(sealedGeneration);
+        Files.move(journal.snapshotPath(sealedGeneration), Paths.get(filePath), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Completes any compaction that was interrupted after its snapshot was published,
+     * and discards snapshots that were never published.
+     * @throws RotomException If the leftover files cannot be cleaned up.
+     */
+    private void finishInterruptedCompaction() throws RotomException {
+        try {
+            if (Files.notExists(Paths.get(filePath).toAbsolutePath().getParent())) {
+                return;
+            }
+            journal.deleteUnpublishedSnapshots();
+            for (long generation : journal.listSnapshots()) {
+                completeCompaction(generation);
+            }
+        } catch (IOException e) {
+            throw new RotomException("Failed to recover storage journal: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Blocks until the pending background compaction, if any, has finished.
+     */
+    private void awaitCompaction() {
+        if (pendingCompaction == null) {
+            return;
+        }
+        try {
+            pendingCompaction.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            handleFileError(new IOException("Background compaction failed: " + e.getCause().getMessage()));
+        }
+        pendingCompaction = null;
+    }
+
+    /**
+     * Returns the single daemon thread used for background compaction, creating it on first use.
+     * @return The compaction executor.
+     */
+    private ExecutorService getCompactor() {
+        if (compactor == null) {
+            compactor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "rotom-compactor");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return compactor;
+    }
+
     /**
      * Handles file errors by displaying them through the UI.
      * @param e The exception.
@@ -383,4 +1015,12 @@ public class Storage {
     private void handleFileError(IOException e) {
         ui.showError(e);
     }
+
+    /**
+     * A copy of the task list taken for a background save, with the latest deferred change it contains.
+     * @param tasks The copied tasks.
+     * @param version Version of the latest deferred change at the time of the copy.
+     */
+    private record SavedSnapshot(List<Task> tasks, long version) {
+    }
 }
@@ -0,0 +1,45 @@
+package storage;
+
+import model.Deadline;
+import model.Event;
+import model.Task;
+
+/**
+ * Formats tasks as lines of the text storage format.
+ * A line holds the task type, its status as 1 or 0, its description and its dates, separated by
+ * {@code " | "}, with empty fields for dates the task does not have.
+ * Lines are built only when a task is saved, since tasks do not keep their own storage form.
+ */
+final class TextTaskCodec {
+    private static final String DELIMITER = " | ";
+
+    private TextTaskCodec() {
+    }
+
+    /**
+     * Formats a task as a single line, without a line separator.
+     * @param task The task to format.
+     * @return The formatted line.
+     */
+    static String format(Task task) {
+        StringBuilder sb = new StringBuilder(task.getDescription().length() + 48);
+        sb.append(switch (task.getType()) {
+        case TODO -> 'T';
+        case DEADLINE -> 'D';
+        case EVENT -> 'E';
+        });
+        sb.append(DELIMITER).append(task.isDone() ? '1' : '0');
+        sb.append(DELIMITER).append(task.getDescription());
+        sb.append(DELIMITER);
+        if (task instanceof Deadline deadline) {
+            sb.append(deadline.getBy());
+        } else if (task instanceof Event event) {
+            sb.append(event.getDateTime());
+        }
+        sb.append(DELIMITER);
+        if (task instanceof Event event) {
+            sb.append(event.getDateTimeTo());
+        }
+        return sb.toString();
+    }
+}
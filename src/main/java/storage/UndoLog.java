@@ -0,0 +1,198 @@
+package storage;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import exception.RotomException;
+import model.Task;
+
+/**
+ * Append-only log of undo history, stored next to the task file as {@code rotom.txt.undo}.
+ * Each record is one line, and a record may continue over following lines that start with
+ * whitespace, which task lines never do.
+ * Records are written to the file as they are appended but not forced to disk, so they survive
+ * the process crashing; the log is forced whenever it is rewritten.
+ * A record appended while a save of the task file is still deferred waits in memory until the
+ * {@link Storage} reports that the save has completed, so the log is never ahead of the task file.
+ * If the process dies first, the change and its record are lost together.
+ */
+public class UndoLog {
+    private static final String SUFFIX = ".undo";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private final Path path;
+    private final Storage storage;
+    private final Deque<PendingRecord> pending = new ArrayDeque<>();
+    private FileChannel channel;
+    private int recordCount;
+
+    /**
+     * Constructs an undo log for the given task file.
+     * @param taskFile Path of the task file the log belongs to.
+     * @param storage Storage used to read tasks in the storage format.
+     */
+    UndoLog(Path taskFile, Storage storage) {
+        this.path = taskFile.resolveSibling(taskFile.getFileName() + SUFFIX);
+        this.storage = storage;
+    }
+
+    /**
+     * Reads every record in the log, with continuation lines joined to their record by newlines.
+     * An empty list is returned if there is no log yet.
+     * @return Records in the order they were appended.
+     * @throws IOException If the log cannot be read.
+     */
+    public synchronized List<String> readRecords() throws IOException {
+        List<String> records = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (Character.isWhitespace(line.charAt(0)) && !records.isEmpty()) {
+                    int last = records.size() - 1;
+                    records.set(last, records.get(last) + "\n" + line.trim());
+                } else {
+                    records.add(line);
+                }
+            }
+        } catch (NoSuchFileException e) {
+            return records;
+        }
+        recordCount = records.size();
+        return records;
+    }
+
+    /**
+     * Appends a record to the log, once the task file holds every change made so far.
+     * @param record Record to append. Any lines after the first are written as continuation lines.
+     * @throws IOException If a record cannot be written.
+     */
+    public synchronized void append(String record) throws IOException {
+        pending.addLast(new PendingRecord(toLines(record), storage.getDeferredVersion()));
+        writePending();
+    }
+
+    /**
+     * Writes the records whose changes have now been saved to the task file.
+     * Called by the storage after a deferred save; records that cannot be written are tried again
+     * by the next append, which reports the error.
+     */
+    synchronized void writeSaved() {
+        try {
+            writePending();
+        } catch (IOException e) {
+            // Left pending for the next append
+        }
+    }
+
+    /**
+     * Writes waiting records in order, up to the first one whose change is not saved yet.
+     * @throws IOException If a record cannot be written.
+     */
+    private void writePending() throws IOException {
+        long saved = storage.getSavedVersion();
+        while (!pending.isEmpty() && pending.peekFirst().version() <= saved) {
+            if (channel == null) {
+                channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                        StandardOpenOption.APPEND);
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(pending.peekFirst().lines().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            pending.removeFirst();
+            recordCount++;
+        }
+    }
+
+    /**
+     * Replaces the whole log with the given records, through a temporary file so that a crash
+     * leaves either the old log or the new one. Records still waiting for a save are kept waiting,
+     * and are written after the new records.
+     * @param records Records to keep, in order.
+     * @throws IOException If the log cannot be written.
+     */
+    public synchronized void rewrite(List<String> records) throws IOException {
+        close();
+        Path tempPath = path.resolveSibling(path.getFileName() + TEMP_SUFFIX);
+        try (BufferedWriter writer = Files.newBufferedWriter(tempPath, StandardCharsets.UTF_8)) {
+            for (String record : records) {
+                writer.write(toLines(record));
+            }
+        }
+        try (FileChannel temp = FileChannel.open(tempPath, StandardOpenOption.WRITE)) {
+            temp.force(true);
+        }
+        Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        recordCount = records.size();
+    }
+
+    /**
+     * Closes the log file. It is opened again by the next append.
+     * @throws IOException If the file cannot be closed.
+     */
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    /**
+     * Returns the number of records in the log.
+     * @return Number of records read, written or rewritten so far, not counting records waiting for a save.
+     */
+    public synchronized int getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Formats a task as a single line in the storage format.
+     * @param task The task to format.
+     * @return The formatted line.
+     */
+    public static String formatTask(Task task) {
+        return Storage.formatTask(task);
+    }
+
+    /**
+     * Resolves a task from a single line in the storage format.
+     * @param line The line to parse.
+     * @return The task described by the line.
+     * @throws RotomException If the task cannot be resolved from the line.
+     */
+    public Task parseTask(String line) throws RotomException {
+        return storage.parseTask(line);
+    }
+
+    /**
+     * Converts a record to the lines written to the file, indenting its continuation lines.
+     * @param record Record to convert.
+     * @return The record's lines, each ending in a newline.
+     */
+    private static String toLines(String record) {
+        return record.replace("\n", "\n  ") + "\n";
+    }
+
+    /**
+     * A record waiting to be written, with the version of the change it needs in the task file first.
+     * @param lines The record's lines, as written to the file.
+     * @param version Deferred change version that must be saved before the record is written.
+     */
+    private record PendingRecord(String lines, long version) {
+    }
+}
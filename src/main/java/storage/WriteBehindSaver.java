@@ -0,0 +1,135 @@
+package storage;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Runs saves on a dedicated background thread so that callers only have to note that something changed.
+ * A burst of changes is written with a single save once no change has come in for a short quiet period,
+ * but never later than the configured maximum staleness after the first unsaved change.
+ * Pending changes are also written when the JVM shuts down.
+ * Every change bumps a version number. A save copies the tasks after reading the version, so the copy is
+ * at least that new, and writes are serialized and skipped if a newer version has already been written.
+ * The copy is never taken while holding one of the saver's locks, so a thread that holds the task list's
+ * monitor can flush without deadlocking against a background save waiting for that monitor.
+ * @param <T> Type of the copy of the tasks that is written.
+ */
+class WriteBehindSaver<T> {
+    private static final long QUIET_PERIOD_NANOS = 20_000_000L;
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+    private final Supplier<T> snapshot;
+    private final Consumer<T> writer;
+    private final long maxStalenessNanos;
+    private final long quietPeriodNanos;
+    private final Object writeLock = new Object();
+    private long changedVersion;
+    private long savedVersion;
+    private long firstUnsavedAt;
+    private long lastChangedAt;
+
+    /**
+     * Constructs a saver and starts its thread.
+     * @param snapshot Returns a copy of the current tasks; must be safe to call from any thread.
+     * @param writer Writes a copy of the tasks; never called concurrently.
+     * @param maxStalenessMillis Longest time a change may go unsaved before a save is started.
+     */
+    WriteBehindSaver(Supplier<T> snapshot, Consumer<T> writer, long maxStalenessMillis) {
+        assert maxStalenessMillis > 0 : "Maximum staleness must be positive";
+        this.snapshot = snapshot;
+        this.writer = writer;
+        this.maxStalenessNanos = maxStalenessMillis * NANOS_PER_MILLI;
+        this.quietPeriodNanos = Math.min(QUIET_PERIOD_NANOS, maxStalenessNanos);
+        Thread thread = new Thread(this::run, "rotom-persister");
+        thread.setDaemon(true);
+        thread.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "rotom-persister-flush"));
+    }
+
+    /**
+     * Notes that the tasks have changed and need to be saved.
+     */
+    synchronized void markDirty() {
+        long now = System.nanoTime();
+        if (changedVersion == savedVersion) {
+            firstUnsavedAt = now;
+        }
+        changedVersion++;
+        lastChangedAt = now;
+        notifyAll();
+    }
+
+    /**
+     * Saves any unsaved changes on the calling thread.
+     * When this returns, every change noted before the call has been written.
+     */
+    void flush() {
+        long target;
+        synchronized (this) {
+            target = changedVersion;
+        }
+        save(target);
+    }
+
+    /**
+     * Waits for changes and saves them, until the thread is interrupted.
+     */
+    private void run() {
+        try {
+            while (true) {
+                save(awaitSaveDue());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Blocks until there are unsaved changes that have either been quiet for the quiet period
+     * or reached the maximum staleness.
+     * @return The version to save.
+     * @throws InterruptedException If the thread is interrupted while waiting.
+     */
+    private synchronized long awaitSaveDue() throws InterruptedException {
+        while (true) {
+            while (changedVersion == savedVersion) {
+                wait();
+            }
+            long now = System.nanoTime();
+            long quietLeft = quietPeriodNanos - (now - lastChangedAt);
+            long stalenessLeft = maxStalenessNanos - (now - firstUnsavedAt);
+            long waitNanos = Math.min(quietLeft, stalenessLeft);
+            if (waitNanos <= 0) {
+                return changedVersion;
+            }
+            wait(Math.max(1, waitNanos / NANOS_PER_MILLI));
+        }
+    }
+
+    /**
+     * Copies the tasks and writes them, unless a version at least as new has been written in the meantime.
+     * @param target Version the copy must include.
+     */
+    private void save(long target) {
+        synchronized (this) {
+            if (target <= savedVersion) {
+                return;
+            }
+        }
+        T tasks = snapshot.get();
+        synchronized (writeLock) {
+            synchronized (this) {
+                if (target <= savedVersion) {
+                    return;
+                }
+            }
+            writer.accept(tasks);
+            synchronized (this) {
+                savedVersion = Math.max(savedVersion, target);
+                if (changedVersion != savedVersion) {
+                    // Changes that came in during the write are due from now on
+                    firstUnsavedAt = System.nanoTime();
+                }
+            }
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package ui;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.ResolverStyle;
@@ -11,6 +13,8 @@ import model.TaskList;
 /**
  * Handles user interaction with the chatbot.
  * Provides methods to display messages, read input, and show task-related updates.
+ * Task listings can also be written straight to an {@link Appendable} one line at a time,
+ * so that long lists are never built as one string.
  */
 public class Ui {
     private static final String HORIZONTAL_LINE = "____________________________________________________________";
@@ -63,10 +67,78 @@ public class Ui {
      * @return Filtered task list.
      */
     public String showList(TaskList tasks, LocalDate date) {
+        StringBuilder sb = new StringBuilder();
+        writeToBuilder(() -> writeList(sb, tasks, date));
+        return sb.toString();
+    }
+
+    /**
+     * Writes a list of tasks, optionally filtered by a specific date, as {@link #showList(TaskList, LocalDate)}
+     * shows it.
+     * @param out Where to write the list.
+     * @param tasks TaskList containing the tasks to display.
+     * @param date Date to display the date to the user.
+     * @throws IOException If the list cannot be written.
+     */
+    public void writeList(Appendable out, TaskList tasks, LocalDate date) throws IOException {
         String header = date == null
-                ? "Here are the tasks in your list:\n"
-                : "Here are the tasks in your list for " + date.format(DATE_FORMATTER) + ":\n";
-        return buildTaskList(header, tasks);
+                ? "Here are the tasks in your list:"
+                : "Here are the tasks in your list for " + date.format(DATE_FORMATTER) + ":";
+        writeTaskList(out, header, tasks, 0, tasks.getCount(), null);
+    }
+
+    /**
+     * Writes one page of the tasks in the list. Tasks keep their numbers in the whole list.
+     * @param out Where to write the page.
+     * @param tasks TaskList containing the tasks to display.
+     * @param page Number of the page, starting from 1.
+     * @param pageSize Number of tasks on each page.
+     * @throws IOException If the page cannot be written.
+     */
+    public void writePage(Appendable out, TaskList tasks, int page, int pageSize) throws IOException {
+        int count = tasks.getCount();
+        int from = (int) Math.min(count, (long) (page - 1) * pageSize);
+        int to = (int) Math.min(count, (long) from + pageSize);
+        writeTaskList(out, "Here are the tasks in your list:", tasks, from, to,
+                "Page " + page + " of " + getPageCount(count, pageSize) + ".");
+    }
+
+    /**
+     * Returns the number of pages needed to show the given number of tasks, which is at least 1.
+     * @param count Number of tasks.
+     * @param pageSize Number of tasks on each page.
+     * @return Number of pages.
+     */
+    public static int getPageCount(int count, int pageSize) {
+        return (int) Math.max(1, ((long) count + pageSize - 1) / pageSize);
+    }
+
+    /**
+     * Displays the tasks in the list for a range of dates.
+     * @param tasks TaskList containing tasks in the range.
+     * @param from First date of the range.
+     * @param to Last date of the range.
+     * @return Task list.
+     */
+    public String showList(TaskList tasks, LocalDate from, LocalDate to) {
+        StringBuilder sb = new StringBuilder();
+        writeToBuilder(() -> writeList(sb, tasks, from, to));
+        return sb.toString();
+    }
+
+    /**
+     * Writes the tasks in the list for a range of dates, as {@link #showList(TaskList, LocalDate, LocalDate)}
+     * shows them.
+     * @param out Where to write the list.
+     * @param tasks TaskList containing tasks in the range.
+     * @param from First date of the range.
+     * @param to Last date of the range.
+     * @throws IOException If the list cannot be written.
+     */
+    public void writeList(Appendable out, TaskList tasks, LocalDate from, LocalDate to) throws IOException {
+        String header = "Here are the tasks in your list from " + from.format(DATE_FORMATTER)
+                + " to " + to.format(DATE_FORMATTER) + ":";
+        writeTaskList(out, header, tasks, 0, tasks.getCount(), null);
     }
 
     /**
@@ -77,16 +149,21 @@ public class Ui {
         return buildMessage(
                 """
                         show <yyyy-MM-dd> : Shows the list of tasks on the specified day
+                        show <yyyy-MM-dd>..<yyyy-MM-dd> : Shows the list of tasks in the specified range of days
                         list : Displays list of all tasks
+                        list --page <n> [--size <m>] : Displays page <n> of the list, <m> tasks per page
                         sort : Sorts the tasks in chronological order
                         reset : Resets list of tasks
                         undo : Undoes the most recent command, next undo will be the command after it
+                        redo : Redoes the most recently undone command
                         mark/unmark <number> : Marks given task as done/undone
                         delete <number> : Deletes given task
                         find <desc> : Displays a list of tasks that match <desc>.
+                        find <desc> --limit <n> : Displays the first <n> tasks that match <desc>.
                         todo <desc> : Creates a task with no specified date.
                         deadline <desc> /by <yyyy-MM-dd HH:mm> : Creates a task with a deadline
                         event <desc> /from <yyyy-MM-dd HH:mm> /to <yyyy-MM-dd HH:mm>: Creates an event
+                        stats : Shows how long each type of command takes
                         bye : Closes the chatbot"""
         );
     }
@@ -181,7 +258,55 @@ public class Ui {
      * @return Task searched message.
      */
     public String showTaskSearched(TaskList tasks) {
-        return buildTaskList("Here are the matching tasks in your list:\n", tasks);
+        StringBuilder sb = new StringBuilder();
+        writeToBuilder(() -> writeTaskSearched(sb, tasks, Integer.MAX_VALUE));
+        return sb.toString();
+    }
+
+    /**
+     * Writes the tasks that were searched, stopping after the given number of them.
+     * @param out Where to write the tasks.
+     * @param tasks Tasks that matched the search.
+     * @param limit Most tasks to write.
+     * @throws IOException If the tasks cannot be written.
+     */
+    public void writeTaskSearched(Appendable out, TaskList tasks, int limit) throws IOException {
+        int count = tasks.getCount();
+        String footer = count > limit ? "Showing " + limit + " of " + count + " matching tasks." : null;
+        writeTaskList(out, "Here are the matching tasks in your list:", tasks, 0, Math.min(count, limit), footer);
+    }
+
+    /**
+     * Displays how much memory sharing task descriptions has saved.
+     * @param taskCount Number of tasks in the list.
+     * @param descriptionCount Number of distinct descriptions still in use.
+     * @param sharedCount Number of description copies replaced by a shared one.
+     * @param savedBytes Estimated bytes saved by sharing descriptions.
+     * @param netSavedBytes Estimated bytes saved after taking away the memory the sharing itself uses,
+     *                      which is negative if sharing costs more than it saves.
+     * @return Memory report message.
+     */
+    public String showMemoryReport(int taskCount, int descriptionCount, long sharedCount, long savedBytes,
+            long netSavedBytes) {
+        return buildMessage(
+                "Memory report:\n"
+                + taskCount + " tasks use " + descriptionCount + " distinct descriptions.\n"
+                + sharedCount + " duplicate descriptions are shared, saving about "
+                + (savedBytes / 1024) + " KB.\n"
+                + (netSavedBytes >= 0
+                        ? "After the memory used to share them, that is a net saving of about "
+                                + (netSavedBytes / 1024) + " KB."
+                        : "Sharing them uses about " + (-netSavedBytes / 1024) + " KB more than it saves.")
+        );
+    }
+
+    /**
+     * Displays the recorded command timings.
+     * @param report Report of the timings, one line for each command type.
+     * @return Stats message.
+     */
+    public String showStats(String report) {
+        return buildMessage("Here is how long your commands took:\n" + report);
     }
 
     /**
@@ -194,17 +319,44 @@ public class Ui {
     }
 
     /**
-     * Builds the Task List message to be printed
+     * Writes a range of a task list between horizontal lines, numbering tasks by their place in the whole list.
+     * @param out Where to write the list.
      * @param header The header of the message.
      * @param tasks The TaskList of tasks to be printed.
-     * @return The built message.
+     * @param from Index of the first task to write.
+     * @param to Index just past the last task to write.
+     * @param footer Line written after the tasks, or null for none.
+     * @throws IOException If the list cannot be written.
      */
-    private String buildTaskList(String header, TaskList tasks) {
-        StringBuilder sb = new StringBuilder();
-        sb.append(header);
-        for (int i = 0; i < tasks.getCount(); i++) {
-            sb.append(i + 1).append(". ").append(tasks.getTask(i)).append("\n");
+    private void writeTaskList(Appendable out, String header, TaskList tasks, int from, int to, String footer)
+            throws IOException {
+        out.append(HORIZONTAL_LINE).append('\n').append(header);
+        for (int i = from; i < to; i++) {
+            out.append('\n').append(Integer.toString(i + 1)).append(". ").append(tasks.getTask(i).toString());
+        }
+        if (footer != null) {
+            out.append('\n').append(footer);
         }
-        return buildMessage(sb.toString().trim());
+        out.append('\n').append(HORIZONTAL_LINE);
+    }
+
+    /**
+     * Runs a listing that writes to a StringBuilder, which never fails to append.
+     * @param listing The listing to run.
+     */
+    private static void writeToBuilder(ResponseListing listing) {
+        try {
+            listing.write();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * A listing written to an Appendable.
+     */
+    @FunctionalInterface
+    private interface ResponseListing {
+        void write() throws IOException;
     }
 }
@@ -0,0 +1,198 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test class for RotomServer, sending raw HTTP requests so that every header can be chosen.
+ */
+public class RotomServerTest {
+    private static final int CLIENTS = 8;
+    private static final int COMMANDS_PER_CLIENT = 25;
+
+    @TempDir
+    Path tempDir;
+
+    private Path file;
+    private RotomServer server;
+    private boolean isStopped;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        file = tempDir.resolve("served.txt");
+        server = new RotomServer(new Rotom(file.toString()), 0);
+        server.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (!isStopped) {
+            server.stop();
+        }
+    }
+
+    @Test
+    public void testRejectsRequestsWithoutTokenOrFromBrowsers() throws IOException {
+        String host = "127.0.0.1:" + server.getPort();
+        String token = server.getToken();
+
+        // Rejected requests carry no body, since the server may close the connection without reading it
+        assertEquals(401, send("POST", host, null, null, null).status());
+        assertEquals(401, send("POST", host, token + "x", null, null).status());
+        assertEquals(403, send("POST", host, token, "http://example.com", null).status());
+        assertEquals(403, send("POST", "example.com:" + server.getPort(), token, null, null).status());
+        assertEquals(403, send("POST", "127.0.0.1:1", token, null, null).status());
+
+        assertEquals(200, send("POST", host, token, null, "list").status());
+        assertEquals(200, send("POST", "LOCALHOST:" + server.getPort(), token, null, "list").status());
+        // Nothing was changed by the rejected requests
+        assertEquals(0, Files.readAllLines(file).size());
+    }
+
+    @Test
+    public void testAnswersGetWithMethodNotAllowed() throws IOException {
+        Response response = send("GET", "127.0.0.1:" + server.getPort(), server.getToken(), null, null);
+
+        assertEquals(405, response.status());
+    }
+
+    @Test
+    public void testConcurrentChangesAreAllAppliedInOrder() throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        List<Future<?>> results = new ArrayList<>();
+        for (int client = 0; client < CLIENTS; client++) {
+            int id = client;
+            results.add(clients.submit(() -> {
+                for (int i = 0; i < COMMANDS_PER_CLIENT; i++) {
+                    Response response = post("todo client " + id + " task " + i);
+                    assertEquals(200, response.status());
+                    assertTrue(response.body().contains("client " + id + " task " + i));
+                }
+                return null;
+            }));
+        }
+        for (Future<?> result : results) {
+            result.get();
+        }
+        clients.shutdown();
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(CLIENTS * COMMANDS_PER_CLIENT, lines.size());
+        // Each client's changes are applied in the order the client sent them
+        int[] next = new int[CLIENTS];
+        for (String line : lines) {
+            String[] words = line.split("\\s*\\|\\s*")[2].split(" ");
+            int client = Integer.parseInt(words[1]);
+            assertEquals(next[client], Integer.parseInt(words[3]));
+            next[client]++;
+        }
+    }
+
+    @Test
+    public void testStopAppliesQueuedChangesAndRefusesLaterRequests() throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        List<Future<Response>> results = new ArrayList<>();
+        for (int i = 0; i < CLIENTS * COMMANDS_PER_CLIENT; i++) {
+            String command = "todo stopping " + i;
+            results.add(clients.submit(() -> {
+                try {
+                    return post(command);
+                } catch (IOException e) {
+                    return new Response(-1, ""); // refused once the server stopped
+                }
+            }));
+        }
+        assertEquals(200, results.get(0).get().status());
+        server.stop();
+        isStopped = true;
+
+        int applied = 0;
+        for (Future<Response> result : results) {
+            if (result.get().status() == 200) {
+                applied++;
+            }
+        }
+        clients.shutdown();
+        // Every change that was answered was saved, and so were changes queued when the server stopped
+        // even if their connection was closed before the answer was sent
+        int saved = Files.readAllLines(file).size();
+        assertTrue(saved >= applied);
+        assertTrue(saved <= results.size());
+        assertThrows(IOException.class, () -> post("todo after stop"));
+    }
+
+    /**
+     * Sends a command with the server's token and address.
+     * @param command the command to send
+     * @return the server's response
+     * @throws IOException if the request cannot be sent
+     */
+    private Response post(String command) throws IOException {
+        return send("POST", "127.0.0.1:" + server.getPort(), server.getToken(), null, command);
+    }
+
+    /**
+     * Sends one HTTP request on a new connection and reads the whole response.
+     * @param method the request method
+     * @param host the Host header
+     * @param token the token header, or null to leave it out
+     * @param origin the Origin header, or null to leave it out
+     * @param body the request body, or null for none
+     * @return the status and body of the response
+     * @throws IOException if the request cannot be sent
+     */
+    private Response send(String method, String host, String token, String origin, String body)
+            throws IOException {
+        byte[] content = body == null ? new byte[0] : body.getBytes(StandardCharsets.UTF_8);
+        StringBuilder request = new StringBuilder()
+                .append(method).append(" / HTTP/1.1\r\n")
+                .append("Host: ").append(host).append("\r\n")
+                .append("Connection: close\r\n")
+                .append("Content-Length: ").append(content.length).append("\r\n");
+        if (token != null) {
+            request.append(RotomServer.TOKEN_HEADER).append(": ").append(token).append("\r\n");
+        }
+        if (origin != null) {
+            request.append("Origin: ").append(origin).append("\r\n");
+        }
+        request.append("\r\n");
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort())) {
+            OutputStream out = socket.getOutputStream();
+            out.write(request.toString().getBytes(StandardCharsets.US_ASCII));
+            out.write(content);
+            out.flush();
+            InputStream in = socket.getInputStream();
+            String response = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            if (response.isEmpty()) {
+                throw new IOException("Connection closed without a response");
+            }
+            int status = Integer.parseInt(response.split(" ", 3)[1]);
+            int bodyStart = response.indexOf("\r\n\r\n");
+            return new Response(status, bodyStart < 0 ? "" : response.substring(bodyStart + 4));
+        }
+    }
+
+    /**
+     * The status and body of an HTTP response.
+     */
+    private record Response(int status, String body) {
+    }
+}
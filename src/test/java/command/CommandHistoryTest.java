@@ -0,0 +1,204 @@
+package command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import exception.RotomException;
+import model.Task;
+import model.TaskList;
+import model.Todo;
+import storage.Storage;
+import ui.Ui;
+
+/**
+ * Test class for CommandHistory, covering its depth and memory limits, redo and its undo log.
+ */
+public class CommandHistoryTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testPopReturnsCommandsNewestFirst() {
+        CommandHistory history = new CommandHistory();
+        Command first = new SizedCommand(0);
+        Command second = new SizedCommand(0);
+        history.push(first);
+        history.push(second);
+
+        assertSame(second, history.pop());
+        assertSame(first, history.pop());
+        assertNull(history.pop());
+    }
+
+    @Test
+    public void testOldestCommandsAreDroppedBeyondDepth() {
+        CommandHistory history = new CommandHistory(3, Long.MAX_VALUE);
+        Command[] commands = new Command[5];
+        for (int i = 0; i < commands.length; i++) {
+            commands[i] = new SizedCommand(0);
+            history.push(commands[i]);
+        }
+
+        assertEquals(3, history.getSize());
+        assertEquals(2, history.getDroppedCount());
+        assertSame(commands[4], history.pop());
+        assertSame(commands[3], history.pop());
+        assertSame(commands[2], history.pop());
+        assertNull(history.pop());
+        assertEquals(0, history.getRetainedSize());
+    }
+
+    @Test
+    public void testOldestCommandsAreDroppedBeyondMemoryBudget() {
+        CommandHistory history = new CommandHistory(100, 10_000);
+        Command large = new SizedCommand(6_000);
+        Command small = new SizedCommand(100);
+        history.push(large);
+        history.push(small);
+        assertEquals(2, history.getSize());
+
+        Command larger = new SizedCommand(6_000);
+        history.push(larger);
+        assertEquals(2, history.getSize());
+        assertTrue(history.getRetainedSize() <= history.getMemoryBudget());
+        assertSame(larger, history.pop());
+        assertSame(small, history.pop());
+        assertNull(history.pop());
+    }
+
+    @Test
+    public void testSetLimitsKeepsNewestCommands() {
+        CommandHistory history = new CommandHistory(4, Long.MAX_VALUE);
+        Command[] commands = new Command[6];
+        for (int i = 0; i < commands.length; i++) {
+            commands[i] = new SizedCommand(0);
+            history.push(commands[i]);
+        }
+
+        history.setLimits(2, Long.MAX_VALUE);
+        assertEquals(2, history.getDepth());
+        assertSame(commands[5], history.pop());
+        assertSame(commands[4], history.pop());
+        assertNull(history.pop());
+    }
+
+    @Test
+    public void testResetUndoRestoresSameTasks() throws RotomException {
+        File file = new File(tempDir.toFile(), "reset.txt");
+        TaskList tasks = new TaskList();
+        Storage storage = new Storage(file.getPath(), tasks, new Ui());
+        storage.readFile();
+        Task task = new Todo("Water the plants");
+        tasks.add(task);
+
+        CommandHistory history = new CommandHistory();
+        ResetCommand reset = new ResetCommand();
+        reset.execute(tasks, new Ui(), storage);
+        history.push(reset);
+        assertEquals(0, tasks.getCount());
+        assertTrue(reset.estimateUndoSize() >= task.estimateSize());
+        assertTrue(history.getRetainedSize() > reset.estimateUndoSize());
+
+        history.pop().undo(tasks, new Ui(), storage);
+        assertEquals(1, tasks.getCount());
+        assertSame(task, tasks.getTask(0));
+    }
+
+    @Test
+    public void testRedoRunsUndoneCommandAgain() throws RotomException {
+        File file = new File(tempDir.toFile(), "redo.txt");
+        TaskList tasks = new TaskList();
+        Storage storage = new Storage(file.getPath(), tasks, new Ui());
+        storage.readFile();
+        CommandHistory history = new CommandHistory();
+        TodoCommand todo = new TodoCommand("Water the plants");
+        todo.execute(tasks, new Ui(), storage);
+        history.push(todo);
+
+        new UndoCommand(history).execute(tasks, new Ui(), storage);
+        assertEquals(0, tasks.getCount());
+        assertEquals(1, history.getUndoneSize());
+        new RedoCommand(history).execute(tasks, new Ui(), storage);
+        assertEquals(1, tasks.getCount());
+        assertEquals(1, history.getSize());
+        assertEquals(0, history.getUndoneSize());
+
+        history.pop();
+        history.push(new SizedCommand(0));
+        assertEquals(0, history.getUndoneSize());
+        assertNull(history.popUndone());
+    }
+
+    @Test
+    public void testHistoryIsRestoredFromUndoLog() throws RotomException {
+        File file = new File(tempDir.toFile(), "restore.txt");
+        TaskList tasks = new TaskList();
+        Storage storage = new Storage(file.getPath(), tasks, new Ui());
+        storage.readFile();
+        CommandHistory history = new CommandHistory();
+        history.restore(storage.openUndoLog());
+        Command[] commands = {
+            new TodoCommand("Water the plants"),
+            new TodoCommand("Feed the cat"),
+            new MarkCommand(1),
+            new DeleteCommand(2)
+        };
+        for (Command command : commands) {
+            command.execute(tasks, new Ui(), storage);
+            history.push(command);
+        }
+        history.pop().undo(tasks, new Ui(), storage);
+
+        TaskList restoredTasks = new TaskList();
+        Storage restoredStorage = new Storage(file.getPath(), restoredTasks, new Ui());
+        restoredStorage.readFile();
+        CommandHistory restored = new CommandHistory();
+        restored.restore(restoredStorage.openUndoLog());
+        assertEquals(3, restored.getSize());
+        assertEquals(1, restored.getUndoneSize());
+
+        Ui ui = new Ui();
+        restored.pop().undo(restoredTasks, ui, restoredStorage);
+        assertFalse(restoredTasks.getTask(0).isDone());
+        restored.pop().undo(restoredTasks, ui, restoredStorage);
+        assertEquals(1, restoredTasks.getCount());
+        new RedoCommand(restored).execute(restoredTasks, ui, restoredStorage);
+        assertEquals(2, restoredTasks.getCount());
+        assertEquals("Feed the cat", restoredTasks.getTask(1).getDescription());
+    }
+
+    /**
+     * A command that only reports the given undo size.
+     */
+    private static class SizedCommand extends Command {
+        private final long undoSize;
+
+        SizedCommand(long undoSize) {
+            this.undoSize = undoSize;
+        }
+
+        @Override
+        public long estimateUndoSize() {
+            return undoSize;
+        }
+
+        @Override
+        public CommandResult execute(TaskList tasks, Ui ui, Storage storage) {
+            return CommandResult.changed("");
+        }
+
+        @Override
+        public String undo(TaskList tasks, Ui ui, Storage storage) {
+            return "";
+        }
+    }
+}
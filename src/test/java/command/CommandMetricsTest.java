@@ -0,0 +1,68 @@
+package command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+import enums.CommandPhase;
+
+/**
+ * Test class for CommandMetrics and the LatencyHistogram it records into.
+ */
+public class CommandMetricsTest {
+
+    @Test
+    public void testHistogramPercentiles_withinBucketError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long nanos = 1; nanos <= 100_000; nanos++) {
+            histogram.record(nanos * 1000);
+        }
+
+        assertEquals(100_000, histogram.getCount());
+        assertEquals(100_000_000, histogram.getMax());
+        assertEquals(50_000_500, histogram.getMean());
+        assertWithinEighth(50_000_000, histogram.getPercentile(0.5));
+        assertWithinEighth(99_000_000, histogram.getPercentile(0.99));
+        assertEquals(100_000_000, histogram.getPercentile(1));
+        assertWithinEighth(1000, histogram.getPercentile(0));
+    }
+
+    @Test
+    public void testHistogramBuckets_coverEveryValue() {
+        long[] values = {0, 1, 15, 16, 17, 1023, 1024, Long.MAX_VALUE};
+        for (long value : values) {
+            int bucket = LatencyHistogram.getBucket(value);
+            assertTrue(value <= LatencyHistogram.getBucketUpperBound(bucket));
+            assertTrue(bucket == 0 || value > LatencyHistogram.getBucketUpperBound(bucket - 1));
+        }
+        assertEquals(0, new LatencyHistogram().getPercentile(0.5));
+    }
+
+    @Test
+    public void testRecord_onlyWhileEnabled() throws IOException {
+        CommandMetrics metrics = new CommandMetrics();
+        metrics.record("list", CommandPhase.PARSE, 100);
+        assertNull(metrics.getHistogram("list", CommandPhase.PARSE));
+
+        metrics.setEnabled(true);
+        metrics.record(CommandMetrics.getName(new ListCommand()), CommandPhase.PARSE, 100);
+        metrics.record("list", CommandPhase.EXECUTE, 2000);
+        assertEquals(1, metrics.getHistogram("list", CommandPhase.PARSE).getCount());
+        assertEquals(0, metrics.getHistogram("list", CommandPhase.PERSIST).getCount());
+        assertTrue(metrics.toReport().contains("list: 1 runs | parse 0.1/0.1/0.1 | execute 2.0/2.0/2.0"));
+
+        StringBuilder csv = new StringBuilder();
+        metrics.writeCsv(csv);
+        assertEquals("command,phase,count,total_ns,mean_ns,p50_ns,p90_ns,p99_ns,max_ns\n"
+                + "list,parse,1,100,100,100,100,100,100\n"
+                + "list,execute,1,2000,2000,2000,2000,2000,2000\n", csv.toString());
+    }
+
+    private static void assertWithinEighth(long expected, long actual) {
+        assertTrue(Math.abs(actual - expected) <= expected / 8, "Expected about " + expected + " but was " + actual);
+    }
+}
@@ -0,0 +1,74 @@
+package command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import exception.RotomException;
+import model.TaskList;
+import model.Todo;
+import storage.Storage;
+import ui.Ui;
+
+/**
+ * Test class for the results that commands report about what they did.
+ */
+public class CommandResultTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testExecute_reportsChangesQueriesAndExit() throws RotomException {
+        TaskList tasks = new TaskList();
+        Ui ui = new Ui();
+        Storage storage = new Storage(new File(tempDir.toFile(), "results.txt").getPath(), tasks, ui);
+        storage.readFile();
+        CommandHistory history = new CommandHistory();
+
+        CommandResult added = new TodoCommand("Water the plants").execute(tasks, ui, storage);
+        assertTrue(added.isMutated() && added.isUndoable() && !added.isExit());
+
+        CommandResult found = new FindCommand("plants").execute(tasks, ui, storage);
+        assertFalse(found.isMutated() || found.isUndoable());
+
+        CommandResult sorted = new SortCommand().execute(tasks, ui, storage);
+        assertTrue(sorted.isMutated() && !sorted.isUndoable());
+
+        CommandResult failed = new MarkCommand(5).execute(tasks, ui, storage);
+        assertTrue(!failed.isMutated() && failed.isUndoable());
+
+        CommandResult nothingToUndo = new UndoCommand(history).execute(tasks, ui, storage);
+        assertFalse(nothingToUndo.isMutated() || nothingToUndo.isUndoable());
+
+        CommandResult exit = new ExitCommand().execute(tasks, ui, storage);
+        assertTrue(exit.isExit() && !exit.isMutated());
+    }
+
+    @Test
+    public void testListPage_showsOnlyThatPage() throws Exception {
+        TaskList tasks = new TaskList();
+        for (int i = 1; i <= 5; i++) {
+            tasks.add(new Todo("Task " + i));
+        }
+        Ui ui = new Ui();
+
+        StringBuilder out = new StringBuilder();
+        new ListCommand(2, 2).execute(tasks, ui, null).writeTo(out);
+        String page = out.toString();
+        assertTrue(page.contains("3. [T][ ] Task 3\n4. [T][ ] Task 4\nPage 2 of 3."));
+        assertFalse(page.contains("Task 5"));
+
+        CommandResult outOfRange = new ListCommand(4, 2).execute(tasks, ui, null);
+        assertTrue(outOfRange.getResponse().contains("Page 4 is out of range! There are 3 pages."));
+
+        String found = new FindCommand("task", 1).execute(tasks, ui, null).getResponse();
+        assertTrue(found.contains("1. [T][ ] Task 1\nShowing 1 of 5 matching tasks."));
+        assertEquals(ui.showList(tasks, null), new ListCommand().execute(tasks, ui, null).getResponse());
+    }
+}
@@ -0,0 +1,134 @@
+package logic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+
+import org.junit.jupiter.api.Test;
+
+import command.CommandHistory;
+import command.DeadlineCommand;
+import command.DeleteCommand;
+import command.EventCommand;
+import command.FindCommand;
+import command.ListCommand;
+import command.MarkCommand;
+import command.RedoCommand;
+import command.ShowCommand;
+import command.StatsCommand;
+import command.TodoCommand;
+import command.UnmarkCommand;
+import exception.RotomException;
+import model.TaskList;
+import model.Todo;
+import ui.Ui;
+
+/**
+ * Test class for Parser functionality.
+ * Tests that every command form is recognised and that malformed input is rejected with the right message.
+ */
+public class ParserTest {
+    private final CommandHistory commandHistory = new CommandHistory();
+
+    @Test
+    public void testParseCommandForms() throws RotomException {
+        assertInstanceOf(ListCommand.class, Parser.parse("  LIST  ", commandHistory));
+        assertInstanceOf(ListCommand.class, Parser.parse("list --page 2 --size 50", commandHistory));
+        assertInstanceOf(ListCommand.class, Parser.parse("list --size 5", commandHistory));
+        assertInstanceOf(FindCommand.class, Parser.parse("find report --limit 10", commandHistory));
+        assertInstanceOf(RedoCommand.class, Parser.parse("redo", commandHistory));
+        assertInstanceOf(StatsCommand.class, Parser.parse("Stats", commandHistory));
+        assertInstanceOf(FindCommand.class, Parser.parse("find project meeting", commandHistory));
+        assertInstanceOf(ShowCommand.class, Parser.parse("show 2025-12-12", commandHistory));
+        assertInstanceOf(ShowCommand.class, Parser.parse("show 2025-12-01..2025-12-31", commandHistory));
+        assertInstanceOf(ShowCommand.class, Parser.parse("show +12025-12-12", commandHistory));
+        assertInstanceOf(MarkCommand.class, Parser.parse("mark 3", commandHistory));
+        assertInstanceOf(MarkCommand.class, Parser.parse("MARK 3", commandHistory));
+        assertInstanceOf(UnmarkCommand.class, Parser.parse("unmark +3", commandHistory));
+        assertInstanceOf(DeleteCommand.class, Parser.parse("delete 003", commandHistory));
+        assertInstanceOf(TodoCommand.class, Parser.parse("todo Buy groceries", commandHistory));
+        assertInstanceOf(DeadlineCommand.class,
+                Parser.parse("deadline Submit report /by 2024-02-29 23:59", commandHistory));
+        assertInstanceOf(EventCommand.class,
+                Parser.parse("event Meeting /from 2025-12-12 15:00 /to  2025-12-12 22:00 ", commandHistory));
+    }
+
+    @Test
+    public void testParseFind_limitOnlyAsTrailingOption() throws RotomException {
+        TaskList tasks = new TaskList();
+        tasks.add(new Todo("read notes on --limit flags"));
+        tasks.add(new Todo("report --limitless"));
+        tasks.add(new Todo("report draft"));
+        tasks.add(new Todo("report final"));
+
+        String notes = find(tasks, "find notes on --limit flags");
+        assertTrue(notes.contains("notes on --limit flags"));
+        assertFalse(notes.contains("report"));
+        String limitless = find(tasks, "find report --limitless");
+        assertTrue(limitless.contains("report --limitless"));
+        assertFalse(limitless.contains("report draft"));
+        assertFalse(find(tasks, "find report --limit x").contains("report"));
+
+        String limited = find(tasks, "find report --limit 2");
+        assertTrue(limited.contains("report --limitless"));
+        assertTrue(limited.contains("report draft"));
+        assertFalse(limited.contains("report final"));
+    }
+
+    @Test
+    public void testParseErrorMessages() {
+        assertError("I'm sorry, I don't know what that means...", "findBuy");
+        assertError("Invalid find command.", "find");
+        assertError("Invalid find command.", "find --limit 3");
+        assertError("Invalid find command. Use: find <desc> --limit <number>", "find report --limit 0");
+        assertError("Invalid list command. Use: list --page <number> --size <number>", "list --page two");
+        assertError("Invalid list command. Use: list --page <number> --size <number>", "list --page 1 --size");
+        assertError("Invalid show command. Use: show <yyyy-MM-dd> or show <yyyy-MM-dd>..<yyyy-MM-dd>",
+                "show 2025-02-29");
+        assertError("Invalid show range! The first date cannot be after the last.", "show 2025-12-31..2025-12-01");
+        assertError("Invalid mark/delete command. Use: mark <number> or unmark <number> or delete <number>.",
+                "mark 99999999999");
+        assertError("Number out of range! Task number does not exist.", "delete -1");
+        assertError("The description of a todo cannot be empty!", "todo");
+        assertError("Invalid deadline format! Use: deadline <desc> /by <yyyy-MM-dd HH:mm>",
+                "deadline Submit report /by 2025-12-12 24:00");
+        assertError("Invalid deadline format! Use: deadline <desc> /by <yyyy-MM-dd HH:mm>",
+                "deadline Submit report /by");
+        assertError("Invalid event format! Use: event <desc> /from <yyyy-MM-dd HH:mm> /to <yyyy-MM-dd HH:mm>",
+                "event Meeting /from 2025-12-12 15:00");
+        assertError("I couldn't understand that command. Please check the format.",
+                "event Meeting /to 2025-12-12 22:00 /from 2025-12-12 15:00");
+    }
+
+    @Test
+    public void testParseAllocatesLittle() throws RotomException {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads)) {
+            return;
+        }
+        String input = "deadline Submit report /by 2025-12-12 12:00";
+        for (int i = 0; i < 100_000; i++) {
+            Parser.parse(input, commandHistory);
+        }
+        long threadId = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 10_000; i++) {
+            Parser.parse(input, commandHistory);
+        }
+        long perParse = (threads.getThreadAllocatedBytes(threadId) - before) / 10_000;
+        // The command, its description and its date are all that should be left behind
+        assertTrue(perParse < 512, "Allocated " + perParse + " bytes per parse");
+    }
+
+    private String find(TaskList tasks, String input) throws RotomException {
+        return Parser.parse(input, commandHistory).execute(tasks, new Ui(), null).render().getResponse();
+    }
+
+    private void assertError(String expectedMessage, String input) {
+        RotomException e = assertThrows(RotomException.class, () -> Parser.parse(input, commandHistory));
+        assertEquals(expectedMessage, e.getMessage());
+    }
+}
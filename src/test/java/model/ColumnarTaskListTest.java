@@ -0,0 +1,42 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for ColumnarTaskList, checking it against TaskList.
+ */
+public class ColumnarTaskListTest {
+
+    @Test
+    public void testMatchesTaskListUnderRandomChanges() {
+        TaskListDifferential.check(new ColumnarTaskList(), 7);
+    }
+
+    @Test
+    public void testFilterByKeyword_nonAsciiDescriptions() {
+        ColumnarTaskList tasks = new ColumnarTaskList();
+        Task cafe = new Todo("Café with Zoë");
+        tasks.add(new Todo("plain"));
+        tasks.add(cafe);
+
+        assertEquals(List.of(cafe), tasks.filter("ZOË").toList());
+        assertEquals(List.of(cafe), tasks.filter("with").toList());
+        assertEquals(0, tasks.filter("zoe").getCount());
+    }
+
+    @Test
+    public void testGetTask_outOfRange_throwsException() {
+        ColumnarTaskList tasks = new ColumnarTaskList();
+        tasks.add(new Todo("only"));
+
+        assertThrows(IndexOutOfBoundsException.class, () -> tasks.getTask(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> tasks.unmark(-1));
+        assertTrue(tasks.getTask(0).equals(new Todo("only")));
+    }
+}
@@ -0,0 +1,158 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Stress tests for ConcurrentTaskList, with several threads reading and changing one list at once.
+ */
+public class ConcurrentTaskListTest {
+    private static final int WRITERS = 4;
+    private static final int READERS = 4;
+    private static final int TASKS_PER_WRITER = 2000;
+    private static final LocalDate DAY = LocalDate.of(2025, 1, 15);
+
+    @Test
+    public void testConcurrentAddsAreAllKept() throws Exception {
+        ConcurrentTaskList tasks = new ConcurrentTaskList();
+        runAll(WRITERS, writer -> {
+            for (int i = 0; i < TASKS_PER_WRITER; i++) {
+                tasks.add(new Todo("Writer " + writer + " task " + i));
+            }
+        });
+
+        assertEquals(WRITERS * TASKS_PER_WRITER, tasks.getCount());
+        Set<String> descriptions = new HashSet<>();
+        tasks.toList().forEach(task -> descriptions.add(task.toString()));
+        assertEquals(WRITERS * TASKS_PER_WRITER, descriptions.size());
+    }
+
+    @Test
+    public void testReadersSeeConsistentResultsWhileWritersChange() throws Exception {
+        ConcurrentTaskList tasks = new ConcurrentTaskList();
+        AtomicBoolean isWriting = new AtomicBoolean(true);
+        ExecutorService pool = Executors.newFixedThreadPool(WRITERS + READERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> writers = new ArrayList<>();
+        List<Future<?>> readers = new ArrayList<>();
+        try {
+            for (int w = 0; w < WRITERS; w++) {
+                int writer = w;
+                writers.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < TASKS_PER_WRITER; i++) {
+                        Deadline task = new Deadline("Report " + writer + "-" + i, DAY.atTime(9, 0));
+                        tasks.add(task);
+                        tasks.addAtIndex(new Todo("Chore " + writer + "-" + i), 0);
+                        tasks.remove(task);
+                        if (i % 100 == 0) {
+                            tasks.sort();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (int r = 0; r < READERS; r++) {
+                readers.add(pool.submit(() -> {
+                    start.await();
+                    while (isWriting.get()) {
+                        for (Task task : tasks.filter("report").toList()) {
+                            assertTrue(task instanceof Deadline);
+                        }
+                        for (Task task : tasks.filter(DAY).toList()) {
+                            assertTrue(task instanceof Deadline);
+                        }
+                        int count = tasks.getCount();
+                        if (count > 0) {
+                            assertTrue(tasks.getTask(count / 2) != null);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> writer : writers) {
+                writer.get(60, TimeUnit.SECONDS);
+            }
+            isWriting.set(false);
+            for (Future<?> reader : readers) {
+                reader.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(WRITERS * TASKS_PER_WRITER, tasks.getCount());
+        assertEquals(0, tasks.filter("report").getCount());
+        assertEquals(0, tasks.filter(DAY).getCount());
+        assertEquals(WRITERS * TASKS_PER_WRITER, tasks.filter("chore").getCount());
+    }
+
+    @Test
+    public void testMarksFromManyThreadsAreAllApplied() throws Exception {
+        ConcurrentTaskList tasks = new ConcurrentTaskList();
+        for (int i = 0; i < WRITERS * TASKS_PER_WRITER; i++) {
+            tasks.add(new Event("Meeting " + i, LocalDateTime.of(2025, 1, 14, 9, 0), DAY.atTime(17, 0)));
+        }
+        runAll(WRITERS, writer -> {
+            for (int i = writer; i < WRITERS * TASKS_PER_WRITER; i += WRITERS) {
+                tasks.mark(i);
+            }
+        });
+
+        for (Task task : tasks.toList()) {
+            assertTrue(task.toString().startsWith("[E][X]"));
+        }
+        assertEquals(WRITERS * TASKS_PER_WRITER, tasks.filter(DAY.minusDays(1), DAY).getCount());
+    }
+
+    /**
+     * Runs the given work on several threads at once and waits for all of them.
+     * @param threads Number of threads.
+     * @param work Work to run, given the number of the thread running it.
+     * @throws Exception If any of the threads failed.
+     */
+    private static void runAll(int threads, ThreadWork work) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                results.add(pool.submit(() -> {
+                    start.await();
+                    work.run(thread);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Work run by one thread of a stress test.
+     */
+    private interface ThreadWork {
+        void run(int thread);
+    }
+}
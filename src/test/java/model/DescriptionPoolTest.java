@@ -0,0 +1,53 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import enums.TaskType;
+import exception.RotomException;
+
+/**
+ * Test class for DescriptionPool.
+ */
+public class DescriptionPoolTest {
+
+    @BeforeEach
+    public void enablePool() {
+        DescriptionPool.enable();
+    }
+
+    @Test
+    public void testIntern_equalDescriptionsShareOneString() {
+        String first = new String("water the plants pool test");
+        String second = new String("water the plants pool test");
+        assertNotSame(first, second);
+        long savedBefore = DescriptionPool.getSavedBytes();
+
+        assertSame(DescriptionPool.intern(first), DescriptionPool.intern(second));
+        assertTrue(DescriptionPool.getSavedBytes() > savedBefore);
+    }
+
+    @Test
+    public void testGetNetSavedBytes_uniqueDescriptionsCostPoolEntries() {
+        String description = new String("unique pool test " + System.nanoTime());
+        long savedBefore = DescriptionPool.getSavedBytes();
+
+        DescriptionPool.intern(description);
+        assertEquals(savedBefore, DescriptionPool.getSavedBytes());
+        assertTrue(DescriptionPool.getNetSavedBytes()
+                <= DescriptionPool.getSavedBytes() - DescriptionPool.ENTRY_SIZE);
+    }
+
+    @Test
+    public void testMakeTask_loadedTasksShareDescriptions() throws RotomException {
+        Task todo = Task.makeTask(TaskType.TODO, new String("pay rent pool test"));
+        Task deadline = Task.makeTask(TaskType.DEADLINE, true, new String("pay rent pool test"), "2025-12-01T09:00");
+
+        assertSame(todo.getDescription(), deadline.getDescription());
+    }
+}
@@ -0,0 +1,56 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for PersistentTaskList, checking it against TaskList and that its snapshots do not change.
+ */
+public class PersistentTaskListTest {
+
+    @Test
+    public void testMatchesTaskListUnderRandomChanges() {
+        TaskListDifferential.check(new PersistentTaskList(), 42);
+    }
+
+    @Test
+    public void testSnapshotKeepsTaskMarkedLater() {
+        PersistentTaskList tasks = new PersistentTaskList();
+        Task task = new Todo("water plants");
+        tasks.add(task);
+
+        List<Task> snapshot = tasks.snapshot();
+        tasks.mark(0);
+
+        assertFalse(snapshot.get(0).isDone());
+        assertSame(task, snapshot.get(0));
+        assertTrue(tasks.getTask(0).isDone());
+        assertEquals(0, tasks.lastIndexOf(tasks.getTask(0)));
+    }
+
+    @Test
+    public void testSnapshotIsNotAffectedByLaterChanges() {
+        PersistentTaskList tasks = new PersistentTaskList();
+        Task first = new Todo("first");
+        Task second = new Todo("second");
+        tasks.add(first);
+        tasks.add(second);
+
+        List<Task> snapshot = tasks.snapshot();
+        tasks.delete(0);
+        tasks.add(new Todo("third"));
+        tasks.clear();
+
+        assertEquals(List.of(first, second), new ArrayList<>(snapshot));
+        tasks.addAll(snapshot);
+        assertSame(snapshot, tasks.snapshot());
+        assertSame(second, tasks.getTask(1));
+    }
+}
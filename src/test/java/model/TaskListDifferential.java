@@ -0,0 +1,102 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Checks a task list implementation against TaskList by applying the same random changes to both.
+ */
+final class TaskListDifferential {
+    private static final int STEPS = 2_000;
+
+    private TaskListDifferential() {
+    }
+
+    /**
+     * Applies random adds, inserts, deletes, sorts, marks, unmarks, removes and bulk adds to the given list
+     * and to a TaskList, checking after each step that both hold the same tasks, and finally that both
+     * filter alike.
+     * @param actual An empty list of the implementation under test.
+     * @param seed Seed for the random changes.
+     */
+    static void check(TaskList actual, long seed) {
+        Random random = new Random(seed);
+        TaskList expected = new TaskList();
+        for (int i = 0; i < STEPS; i++) {
+            int count = expected.getCount();
+            int choice = count == 0 ? 0 : random.nextInt(8);
+            switch (choice) {
+            case 0 -> {
+                Task task = randomTask(random, i);
+                expected.add(task);
+                actual.add(task);
+            }
+            case 1 -> {
+                Task task = randomTask(random, i);
+                int index = random.nextInt(count + 1);
+                expected.addAtIndex(task, index);
+                actual.addAtIndex(task, index);
+            }
+            case 2 -> {
+                int index = random.nextInt(count);
+                expected.delete(index);
+                actual.delete(index);
+            }
+            case 3 -> {
+                expected.sort();
+                actual.sort();
+            }
+            case 4 -> {
+                int index = random.nextInt(count);
+                expected.mark(index);
+                actual.mark(index);
+            }
+            case 5 -> {
+                int index = random.nextInt(count);
+                expected.unmark(index);
+                actual.unmark(index);
+            }
+            case 6 -> {
+                Task task = expected.getTask(random.nextInt(count));
+                assertEquals(expected.indexOf(task), actual.indexOf(task));
+                assertEquals(expected.lastIndexOf(task), actual.lastIndexOf(task));
+                expected.remove(task);
+                actual.remove(task);
+            }
+            default -> {
+                // Adding a copy of a listed task gives indexOf and lastIndexOf different answers
+                List<Task> tasks = List.of(randomTask(random, i), expected.getTask(random.nextInt(count)));
+                expected.addAll(tasks);
+                actual.addAll(tasks);
+            }
+            }
+            assertEquals(expected.toList(), actual.toList());
+        }
+        LocalDate day = LocalDate.of(2025, 1, 10);
+        assertEquals(expected.filter(day).toList(), actual.filter(day).toList());
+        assertEquals(expected.filter(day, day.plusDays(7)).toList(), actual.filter(day, day.plusDays(7)).toList());
+        assertEquals(expected.filter("task 1").toList(), actual.filter("TASK 1").toList());
+        assertEquals(expected.filter("").toList(), actual.filter("").toList());
+        assertEquals(0, actual.filter("  ").getCount());
+    }
+
+    /**
+     * Returns a random task, sometimes with a non-ASCII description or an event that ends before it starts.
+     * @param random Source of randomness.
+     * @param i Number used in the description.
+     * @return The task.
+     */
+    private static Task randomTask(Random random, int i) {
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 9, 0).plusDays(random.nextInt(20));
+        String description = random.nextInt(10) == 0 ? "Tâche " + i : "Task " + i;
+        return switch (random.nextInt(3)) {
+        case 0 -> new Todo(description);
+        case 1 -> new Deadline(description, start);
+        default -> new Event(description, start, start.plusDays(random.nextInt(4)).minusHours(random.nextInt(3)));
+        };
+    }
+}
@@ -7,6 +7,8 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -142,7 +144,8 @@ public class TaskListTest {
         assertFalse(todoTask.isDone());
 
         taskList.mark(0);
-        assertTrue(todoTask.isDone());
+        assertTrue(taskList.getTask(0).isDone());
+        assertFalse(todoTask.isDone());
     }
 
     @Test
@@ -152,12 +155,13 @@ public class TaskListTest {
 
     @Test
     public void testUnmarkTask() {
-        taskList.add(todoTask);
-        todoTask.markAsDone();
-        assertTrue(todoTask.isDone());
+        Task doneTask = todoTask.withDone(true);
+        taskList.add(doneTask);
+        assertTrue(doneTask.isDone());
 
         taskList.unmark(0);
-        assertFalse(todoTask.isDone());
+        assertFalse(taskList.getTask(0).isDone());
+        assertTrue(doneTask.isDone());
     }
 
     @Test
@@ -292,4 +296,157 @@ public class TaskListTest {
         TaskList spaceFilterTasks = taskList.filter(" ");
         assertEquals(0, spaceFilterTasks.getCount());
     }
+
+    @Test
+    public void testFilterByDescriptionAfterChanges() throws RotomException {
+        Task buyGroceries = Task.makeTask(TaskType.TODO, "Buy groceries");
+        Task buyBooks = Task.makeTask(TaskType.TODO, "Buy books");
+        Task readBooks = Task.makeTask(TaskType.TODO, "Read books");
+        Task buyMilk = Task.makeTask(TaskType.TODO, "buy milk and books");
+
+        taskList.add(buyGroceries);
+        taskList.add(buyBooks);
+        assertEquals(2, taskList.filter("buy").getCount());
+
+        // The index is kept up to date and results stay in list order
+        taskList.addAtIndex(readBooks, 0);
+        taskList.addAtIndex(buyMilk, 1);
+        TaskList bookTasks = taskList.filter("BOOKS");
+        assertEquals(3, bookTasks.getCount());
+        assertEquals(readBooks, bookTasks.getTask(0));
+        assertEquals(buyMilk, bookTasks.getTask(1));
+        assertEquals(buyBooks, bookTasks.getTask(2));
+
+        // Phrases match across words, including whole words inside the phrase
+        assertEquals(1, taskList.filter("milk and b").getCount());
+        assertEquals(0, taskList.filter("milk an b").getCount());
+
+        taskList.delete(1);
+        taskList.remove(buyBooks);
+        assertEquals(1, taskList.filter("books").getCount());
+        assertEquals(readBooks, taskList.filter("books").getTask(0));
+        assertEquals(1, taskList.filter("y").getCount());
+
+        taskList.clear();
+        assertEquals(0, taskList.filter("buy").getCount());
+        taskList.add(buyBooks);
+        assertEquals(1, taskList.filter("buy").getCount());
+    }
+
+    @Test
+    public void testFilterByDateIncludesEveryDayOfEvent() throws RotomException {
+        Task longEvent = Task.makeTask(TaskType.EVENT, "Conference",
+                "2023-12-11T09:00", "2023-12-13T17:00");
+        taskList.add(deadlineTask);
+        taskList.add(longEvent);
+
+        assertEquals(1, taskList.filter(LocalDate.of(2023, 12, 11)).getCount());
+        TaskList middleDay = taskList.filter(LocalDate.of(2023, 12, 12));
+        assertEquals(2, middleDay.getCount());
+        assertEquals(deadlineTask, middleDay.getTask(0));
+        assertEquals(longEvent, middleDay.getTask(1));
+        assertEquals(1, taskList.filter(LocalDate.of(2023, 12, 13)).getCount());
+        assertEquals(0, taskList.filter(LocalDate.of(2023, 12, 14)).getCount());
+
+        // The index follows later changes to the list
+        taskList.remove(longEvent);
+        assertEquals(0, taskList.filter(LocalDate.of(2023, 12, 13)).getCount());
+        taskList.addAtIndex(eventTask, 0);
+        assertEquals(eventTask, taskList.filter(LocalDate.of(2023, 12, 12)).getTask(0));
+    }
+
+    @Test
+    public void testFilterByDateRange() throws RotomException {
+        Task longEvent = Task.makeTask(TaskType.EVENT, "Conference",
+                "2023-12-11T09:00", "2023-12-13T17:00");
+        Task laterDeadline = Task.makeTask(TaskType.DEADLINE, "Later deadline",
+                "2023-12-20T12:00");
+        taskList.add(todoTask);
+        taskList.add(laterDeadline);
+        taskList.add(longEvent);
+        taskList.add(deadlineTask);
+
+        // Events spanning several days in the range are listed once, in list order
+        TaskList range = taskList.filter(LocalDate.of(2023, 12, 1), LocalDate.of(2023, 12, 31));
+        assertEquals(3, range.getCount());
+        assertEquals(laterDeadline, range.getTask(0));
+        assertEquals(longEvent, range.getTask(1));
+        assertEquals(deadlineTask, range.getTask(2));
+
+        TaskList partial = taskList.filter(LocalDate.of(2023, 12, 13), LocalDate.of(2023, 12, 19));
+        assertEquals(1, partial.getCount());
+        assertEquals(longEvent, partial.getTask(0));
+    }
+
+    @Test
+    public void testSortIsStableAfterChanges() throws RotomException {
+        Task firstTodo = Task.makeTask(TaskType.TODO, "First todo");
+        Task secondTodo = Task.makeTask(TaskType.TODO, "Second todo");
+        Task sameTimeDeadline = Task.makeTask(TaskType.DEADLINE, "Same time as deadline",
+                "2023-12-12T12:00");
+        taskList.add(firstTodo);
+        taskList.add(deadlineTask);
+        taskList.sort();
+
+        // Tasks added after a sort are placed correctly by the next one
+        taskList.addAtIndex(secondTodo, 0);
+        taskList.add(eventTask);
+        taskList.add(sameTimeDeadline);
+        taskList.delete(taskList.indexOf(firstTodo));
+        taskList.add(firstTodo);
+        taskList.sort();
+
+        assertEquals(deadlineTask, taskList.getTask(0));
+        assertEquals(sameTimeDeadline, taskList.getTask(1));
+        assertEquals(eventTask, taskList.getTask(2));
+        assertEquals(secondTodo, taskList.getTask(3));
+        assertEquals(firstTodo, taskList.getTask(4));
+    }
+
+    @Test
+    public void testFilterByDate_eventSpanningManyYears() {
+        Task longEvent = new Event("Long project", LocalDateTime.of(2025, 1, 1, 0, 0),
+                LocalDateTime.of(9999, 12, 31, 23, 59));
+        Task deadline = new Deadline("Report", LocalDateTime.of(2025, 1, 3, 12, 0));
+        taskList.add(longEvent);
+        taskList.add(deadline);
+
+        assertEquals(1, taskList.filter(LocalDate.of(2025, 1, 2)).getCount());
+        assertEquals(2, taskList.filter(LocalDate.of(2025, 1, 3)).getCount());
+        assertEquals(longEvent, taskList.filter(LocalDate.of(9999, 12, 31)).getTask(0));
+        assertEquals(0, taskList.filter(LocalDate.of(2024, 12, 31)).getCount());
+        assertEquals(2, taskList.filter(LocalDate.of(2024, 1, 1), LocalDate.of(2030, 1, 1)).getCount());
+
+        taskList.delete(0);
+        assertEquals(0, taskList.filter(LocalDate.of(2025, 1, 2)).getCount());
+        assertEquals(1, taskList.filter(LocalDate.of(2025, 1, 3)).getCount());
+    }
+
+    @Test
+    public void testDateIndex_longEventDoesNotWidenScanOfShortTasks() {
+        DateIndex index = new DateIndex();
+        TaskEntry longEvent = new TaskEntry(new Event("Decade project", LocalDateTime.of(2020, 1, 1, 0, 0),
+                LocalDateTime.of(2030, 1, 1, 0, 0)), 0);
+        index.add(longEvent);
+        LocalDate firstDay = LocalDate.of(2020, 1, 1);
+        for (int i = 0; i < 3000; i++) {
+            Task deadline = new Deadline("Daily report " + i, firstDay.plusDays(i).atTime(9, 0));
+            index.add(new TaskEntry(deadline, i + 1));
+        }
+
+        LocalDate day = LocalDate.of(2025, 6, 1);
+        List<TaskEntry> found = index.find(day, day);
+        assertEquals(2, found.size());
+        assertEquals(longEvent, found.get(0));
+        assertEquals(day.atTime(9, 0), found.get(1).task.getDateTime());
+        // Only the long event and the one deadline on that day are looked at
+        assertEquals(2, index.getVisitedCount());
+
+        List<TaskEntry> week = index.find(day, day.plusDays(6));
+        assertEquals(8, week.size());
+        assertEquals(2 + 8, index.getVisitedCount());
+
+        index.remove(longEvent);
+        assertEquals(1, index.find(day, day).size());
+    }
 }
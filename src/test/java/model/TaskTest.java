@@ -2,9 +2,13 @@ package model;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 
 import org.junit.jupiter.api.Test;
 
@@ -56,4 +60,47 @@ public class TaskTest {
         assertEquals(LocalDateTime.parse(start), (event).getDateTime());
         assertEquals(LocalDateTime.parse(end), ((model.Event) event).getDateTimeTo());
     }
+
+    @Test
+    public void testWithDone_returnsMarkedCopy() {
+        LocalDateTime by = LocalDateTime.of(2025, 12, 12, 12, 0);
+        Task deadline = new Deadline("Submit report", by);
+        Task done = deadline.withDone(true);
+
+        assertFalse(deadline.isDone());
+        assertTrue(done.isDone());
+        assertEquals(by, ((Deadline) done).getBy());
+        assertSame(done, done.withDone(true));
+        assertEquals(deadline, done.withDone(false));
+        assertEquals(deadline.hashCode(), done.withDone(false).hashCode());
+        assertNotEquals(deadline, done);
+        assertNotEquals(deadline, new Deadline("Submit report", by.plusMinutes(1)));
+        assertNotEquals(new Todo("Submit report"), new Deadline("Submit report", by));
+    }
+
+    @Test
+    public void testToString_reusesRenderedText() {
+        LocalDateTime start = LocalDateTime.of(2025, 12, 12, 15, 0);
+        Task event = new Event("Project meeting", start, start.plusHours(7));
+        Task deadline = new Deadline("Submit report", start);
+
+        String text = event.toString();
+        assertEquals("[E][ ] Project meeting (from: Dec 12 2025 15:00 to: Dec 12 2025 22:00)", text);
+        assertSame(text, event.toString());
+        assertEquals("[E][X] Project meeting (from: Dec 12 2025 15:00 to: Dec 12 2025 22:00)",
+                event.withDone(true).toString());
+        assertEquals("[D][ ] Submit report (by: Dec 12 2025 15:00)", deadline.toString());
+    }
+
+    @Test
+    public void testDateText_sharesFormattedDates() {
+        long epochSecond = LocalDateTime.of(2025, 2, 3, 4, 5).toEpochSecond(ZoneOffset.UTC);
+
+        assertEquals("Feb 03 2025 04:05", DateText.format(epochSecond));
+        assertSame(DateText.format(epochSecond), DateText.format(epochSecond));
+        for (int i = 0; i < 4 * DateText.CAPACITY; i++) {
+            DateText.format(epochSecond + 60L * i);
+        }
+        assertEquals("Feb 03 2025 04:05", DateText.format(epochSecond));
+    }
 }
@@ -10,6 +10,7 @@ import java.io.FileWriter;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.attribute.PosixFilePermissions;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -161,4 +162,228 @@ public class StorageTest {
 
         assertEquals(0, tasks.getCount());
     }
+
+    @Test
+    public void testJournalReplay() throws Exception {
+        File tempFile = new File(tempDir.toFile(), "journaled.txt");
+
+        TaskList tasks = new TaskList();
+        Storage storage = new Storage(tempFile.getPath(), tasks, new Ui(), 100);
+        storage.readFile();
+
+        Task first = Task.makeTask(enums.TaskType.TODO, "First");
+        Task second = Task.makeTask(enums.TaskType.DEADLINE, "Second", "2025-12-12T12:00");
+        tasks.add(first);
+        storage.recordAdd(first);
+        tasks.add(second);
+        storage.recordAdd(second);
+        tasks.mark(1);
+        storage.recordMark(1);
+        tasks.delete(0);
+        storage.recordDelete(0);
+        tasks.addAtIndex(first, 0);
+        storage.recordInsert(first, 0);
+
+        // Nothing has been compacted yet, so the storage file itself is still empty
+        assertEquals(0, Files.readAllLines(tempFile.toPath()).size());
+
+        TaskList reloaded = new TaskList();
+        new Storage(tempFile.getPath(), reloaded, new Ui(), 100).readFile();
+
+        assertEquals(2, reloaded.getCount());
+        assertEquals("First", reloaded.getTask(0).getDescription());
+        assertEquals("Second", reloaded.getTask(1).getDescription());
+        assertTrue(reloaded.getTask(1).isDone());
+    }
+
+    @Test
+    public void testJournalCompaction() throws Exception {
+        File tempFile = new File(tempDir.toFile(), "compacted.txt");
+
+        TaskList tasks = new TaskList();
+        Storage storage = new Storage(tempFile.getPath(), tasks, new Ui(), 3);
+        storage.readFile();
+
+        for (int i = 0; i < 7; i++) {
+            Task task = Task.makeTask(enums.TaskType.TODO, "Task " + i);
+            tasks.add(task);
+            storage.recordAdd(task);
+        }
+        tasks.clear();
+        storage.recordReset();
+
+        // A synchronous save waits for background compactions and folds in the rest of the journal
+        storage.saveTasks();
+        assertEquals(0, Files.readAllLines(tempFile.toPath()).size());
+        // Only the storage file and the fresh, empty journal segment remain
+        try (var files = Files.list(tempDir)) {
+            assertEquals(2, files.count());
+        }
+
+        TaskList reloaded = new TaskList();
+        new Storage(tempFile.getPath(), reloaded, new Ui(), 3).readFile();
+        assertEquals(0, reloaded.getCount());
+    }
+
+    @Test
+    public void testBatchDefersWrites() throws Exception {
+        File tempFile = new File(tempDir.toFile(), "batched.txt");
+
+        TaskList tasks = new TaskList();
+        Storage storage = new Storage(tempFile.getPath(), tasks, new Ui());
+        storage.readFile();
+
+        storage.beginBatch();
+        for (int i = 0; i < 3; i++) {
+            Task task = Task.makeTask(enums.TaskType.TODO, "Task " + i);
+            tasks.add(task);
+            storage.recordAdd(task);
+        }
+        tasks.mark(0);
+        storage.recordMark(0);
+        assertEquals(0, Files.readAllLines(tempFile.toPath()).size());
+
+        storage.flushBatch();
+        assertEquals(3, Files.readAllLines(tempFile.toPath()).size());
+
+        tasks.clear();
+        storage.recordReset();
+        assertEquals(3, Files.readAllLines(tempFile.toPath()).size());
+        storage.endBatch();
+        assertEquals(0, Files.readAllLines(tempFile.toPath()).size());
+
+        // Once the batch has ended every change is written straight away again
+        Task task = Task.makeTask(enums.TaskType.TODO, "After batch");
+        tasks.add(task);
+        storage.recordAdd(task);
+        assertEquals(1, Files.readAllLines(tempFile.toPath()).size());
+    }
+
+    @Test
+    public void testWriteBehindSavesInBackground() throws Exception {
+        File tempFile = new File(tempDir.toFile(), "writeBehind.txt");
+
+        TaskList tasks = new TaskList();
+        Storage storage = new Storage(tempFile.getPath(), tasks, new Ui());
+        storage.readFile();
+        ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        storage.enableWriteBehind(50, lock.readLock());
+
+        for (int i = 0; i < 100; i++) {
+            Task task = Task.makeTask(enums.TaskType.TODO, "Task " + i);
+            lock.writeLock().lock();
+            try {
+                tasks.add(task);
+                storage.recordAdd(task);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        // The changes are written by the background thread within the maximum staleness
+        long deadline = System.currentTimeMillis() + 5000;
+        while (Files.readAllLines(tempFile.toPath()).size() < 100 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(100, Files.readAllLines(tempFile.toPath()).size());
+
+        // A flush writes pending changes straight away, even while holding the exclusive lock
+        lock.writeLock().lock();
+        try {
+            tasks.clear();
+            storage.recordReset();
+            storage.flush();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        assertEquals(0, Files.readAllLines(tempFile.toPath()).size());
+    }
+
+    @Test
+    public void testUndoLogWaitsForWriteBehindSave() throws Exception {
+        File tempFile = new File(tempDir.toFile(), "undoWriteBehind.txt");
+        Path logPath = tempDir.resolve("undoWriteBehind.txt.undo");
+
+        TaskList tasks = new TaskList();
+        Storage storage = new Storage(tempFile.getPath(), tasks, new Ui());
+        storage.readFile();
+        ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        storage.enableWriteBehind(60_000, lock.readLock());
+        UndoLog log = storage.openUndoLog();
+
+        // Holding the exclusive lock keeps the background thread from saving
+        lock.writeLock().lock();
+        try {
+            Task task = Task.makeTask(enums.TaskType.TODO, "Deferred");
+            tasks.add(task);
+            storage.recordAdd(task);
+            log.append("DO | ADD");
+            assertFalse(Files.exists(logPath) && Files.size(logPath) > 0);
+
+            storage.flush();
+            assertEquals(1, Files.readAllLines(tempFile.toPath()).size());
+            assertEquals(1, Files.readAllLines(logPath).size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.close();
+    }
+
+    @Test
+    public void testParallelReadKeepsOrder() throws Exception {
+        File tempFile = new File(tempDir.toFile(), "large.txt");
+        int lineCount = 200_000;
+        try (FileWriter writer = new FileWriter(tempFile)) {
+            for (int i = 0; i < lineCount; i++) {
+                writer.write(i == lineCount / 2 ? "X | 0 | Invalid task\n" : "T | 0 | Task number " + i + "\n");
+            }
+        }
+
+        java.util.List<Task> tasks = new java.util.ArrayList<>();
+        java.util.List<RotomException> errors = new java.util.ArrayList<>();
+        new MappedTaskReader(4).read(tempFile.toPath(), tasks::addAll, errors::add);
+
+        // The bad line is reported without stopping the load, and the rest keep their file order
+        assertEquals(1, errors.size());
+        assertEquals(lineCount - 1, tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            int expected = i < lineCount / 2 ? i : i + 1;
+            assertEquals("Task number " + expected, tasks.get(i).getDescription());
+        }
+    }
+
+    @Test
+    public void testBinaryFormatRoundTrip() throws Exception {
+        File tempFile = new File(tempDir.toFile(), "binary.txt");
+        try (FileWriter writer = new FileWriter(tempFile)) {
+            writer.write("T | 1 | Buy groceries\n");
+            writer.write("D | 0 | Submit report | 2025-12-12T12:00\n");
+            writer.write("E | 0 | Project meeting | 2025-12-12T15:00 | 2025-12-12T22:00\n");
+        }
+        long textSize = tempFile.length();
+
+        TaskList tasks = new TaskList();
+        Storage storage = new Storage(tempFile.getPath(), tasks, new Ui());
+        storage.readFile();
+        storage.convertTo(enums.FileFormat.BINARY);
+
+        byte[] header = java.util.Arrays.copyOf(Files.readAllBytes(tempFile.toPath()), 4);
+        assertEquals("ROTM", new String(header, java.nio.charset.StandardCharsets.US_ASCII));
+        assertTrue(tempFile.length() < textSize);
+
+        // The format is picked from the header when reading
+        TaskList reloaded = new TaskList();
+        Storage binaryStorage = new Storage(tempFile.getPath(), reloaded, new Ui());
+        binaryStorage.readFile();
+        assertEquals(enums.FileFormat.BINARY, binaryStorage.getFormat());
+        assertEquals(3, reloaded.getCount());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(tasks.getTask(i).toString(), reloaded.getTask(i).toString());
+        }
+
+        // And converting back gives the original text file
+        binaryStorage.convertTo(enums.FileFormat.TEXT);
+        assertEquals("D | 0 | Submit report | 2025-12-12T12:00 | ",
+                Files.readAllLines(tempFile.toPath()).get(1));
+    }
 }